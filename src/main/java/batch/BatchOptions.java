@@ -0,0 +1,122 @@
+package batch;
+
+import org.simulation.EventConfig;
+import org.simulation.venue.VenueLayout;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kommandozeilen-Optionen der Batch-Werkzeuge.
+ * Alle Optionen sind optional; fehlende Werte werden durch Standardwerte ersetzt.
+ * <pre>
+ * --visitors N  --medics N  --security N  --ticks N  --seed N  --out DIR
+ * --replications K  --threads T
+ * --range NAME=min:max[:step] (mehrfach)  --lhs N
+ * --positions sparse|dense
+ * --venue DATEI  --grid BREITExHÖHE  --nav-budget MB
+ * </pre>
+ */
+public class BatchOptions {
+
+    private final EventConfig config = new EventConfig();
+    private long seed = System.currentTimeMillis();
+    private long maxTicks = HeadlessRunner.DEFAULT_MAX_TICKS;
+    private Path out = Path.of("results");
+    private int replications = 1;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private final List<ParameterRange> ranges = new ArrayList<>();
+    private int lhsSamples = 0;
+
+    public static BatchOptions parse(String[] args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Fehlender Wert für " + option);
+            }
+            String value = args[i + 1];
+            switch (option) {
+                case "--visitors" -> options.config.setVisitorCount(Integer.parseInt(value));
+                case "--medics" -> options.config.setMedicCount(Integer.parseInt(value));
+                case "--security" -> options.config.setSecurityCount(Integer.parseInt(value));
+                case "--ticks" -> options.maxTicks = Long.parseLong(value);
+                case "--seed" -> options.seed = Long.parseLong(value);
+                case "--out" -> options.out = Path.of(value);
+                case "--replications" -> options.replications = Integer.parseInt(value);
+                case "--threads" -> options.threads = Integer.parseInt(value);
+                case "--range" -> options.ranges.add(ParameterRange.parse(value));
+                case "--lhs" -> options.lhsSamples = Integer.parseInt(value);
+                case "--positions" -> options.config.setDensePositions(parsePositions(value));
+                case "--venue" -> options.config.setLayout(loadVenue(value));
+                case "--grid" -> parseGrid(options.config, value);
+                case "--nav-budget" -> options.config.setNavigationMemoryBudget(Long.parseLong(value) * 1024 * 1024);
+                default -> throw new IllegalArgumentException("Unbekannte Option: " + option);
+            }
+        }
+        // Passt das Gelände nicht in ein mit --grid verkleinertes Grid, schon hier abbrechen
+        options.config.getLayout();
+        return options;
+    }
+
+    private static boolean parsePositions(String value) {
+        return switch (value) {
+            case "sparse" -> false;
+            case "dense" -> true;
+            default -> throw new IllegalArgumentException("Unbekannter Positionsspeicher: " + value);
+        };
+    }
+
+    private static VenueLayout loadVenue(String value) {
+        try {
+            return VenueLayout.load(Path.of(value));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Gelände konnte nicht gelesen werden: " + value, e);
+        }
+    }
+
+    private static void parseGrid(EventConfig config, String value) {
+        String[] parts = value.split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Grid erwartet BREITExHÖHE: " + value);
+        }
+        config.setGridSize(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    public EventConfig getConfig() {
+        return config;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getMaxTicks() {
+        return maxTicks;
+    }
+
+    public Path getOut() {
+        return out;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public List<ParameterRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * @return Anzahl der Latin-Hypercube-Punkte; 0 bedeutet vollständiges Gitter
+     */
+    public int getLhsSamples() {
+        return lhsSamples;
+    }
+}
@@ -0,0 +1,93 @@
+package batch;
+
+import metrics.DefaultMetricsCollector;
+import metrics.MetricsCollector;
+import metrics.MetricsExporter;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import org.simulation.navigation.PathPlanner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Führt ein {@link Event} ohne grafische Oberfläche aus.
+ * Die Simulation läuft, bis der Tick-Horizont erreicht ist oder alle Besucher das Gelände verlassen haben.
+ * Swing, AWT und das Sound-System werden dabei nicht berührt; die Metriken landen als CSV auf der Festplatte.
+ * <p>
+ * Aufruf über die Kommandozeile:
+ * <pre>
+ * java batch.HeadlessRunner --visitors 200 --medics 5 --security 5 --ticks 3600 --seed 42 --out results
+ * </pre>
+ */
+public class HeadlessRunner {
+
+    public static final long DEFAULT_MAX_TICKS = 3600;
+
+    private HeadlessRunner() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        BatchOptions options = BatchOptions.parse(args);
+        Path out = options.getOut();
+
+        RunResult result = run(options.getConfig(), options.getSeed(), options.getMaxTicks());
+        MetricsExporter.writeSummaryCsv(result.getCollector(), out.resolve("metrics-summary.csv"));
+        MetricsExporter.writeRawCsv(result.getCollector(), out.resolve("metrics-raw.csv"));
+
+        System.out.println("Headless-Lauf beendet nach " + result.getTicks() + " Ticks (Seed " + result.getSeed()
+                + "), Metriken in " + out.toAbsolutePath());
+        System.out.printf("Wegplanung: %d Suchen in %.1f ms%n", result.getPathSearches(),
+                result.getPlanningNanos() / 1e6);
+    }
+
+    /**
+     * Baut ein Event aus der Konfiguration auf und führt es headless aus.
+     *
+     * @param config   Startparameter; der Lauf ist unabhängig vom gesetzten Flag immer headless
+     * @param seed     Seed für den Zufallsgenerator der Simulation
+     * @param maxTicks maximale Anzahl an Ticks
+     * @return Ergebnis mit ausgeführten Ticks und gesammelten Metriken
+     */
+    public static RunResult run(EventConfig config, long seed, long maxTicks) {
+        MetricsCollector collector = new DefaultMetricsCollector();
+        Event.registerDefaultMetrics(collector);
+
+        EventConfig headlessConfig = new EventConfig(config);
+        headlessConfig.setHeadless(true);
+        Event sim = new Event(seed, headlessConfig, collector);
+        sim.start();
+        return resume(sim, maxTicks);
+    }
+
+    /**
+     * Führt ein bereits gestartetes Event weiter aus, z. B. eine aus einem
+     * {@link org.simulation.EventSnapshot} wiederhergestellte Kopie.
+     *
+     * @param sim      gestartetes Event, dessen Schedule ab dem aktuellen Tick fortgesetzt wird
+     * @param maxTicks maximale Anzahl weiterer Ticks
+     * @return Ergebnis mit den in diesem Aufruf ausgeführten Ticks und dem Collector des Events
+     */
+    public static RunResult resume(Event sim, long maxTicks) {
+        PathPlanner planner = sim.getPathPlanner();
+        long searchesBefore = planner.getSearchCount();
+        long nanosBefore = planner.getPlanningNanos();
+        long ticks = 0;
+        boolean allLeft = false;
+        while (ticks < maxTicks) {
+            if (!sim.schedule.step(sim)) {
+                break;
+            }
+            ticks++;
+            if (sim.allVisitorsLeft()) {
+                allLeft = true;
+                break;
+            }
+        }
+
+        sim.finish();
+        return new RunResult(sim.seed(), ticks, allLeft, sim.getCollector(),
+                planner.getSearchCount() - searchesBefore, planner.getPlanningNanos() - nanosBefore);
+    }
+}
@@ -0,0 +1,50 @@
+package batch;
+
+/**
+ * Ganzzahliger Wertebereich {@code min..max} mit fester Schrittweite für einen {@link SweepParameter}.
+ * Textform für die Kommandozeile: {@code VISITORS=100:1000:100} (Schrittweite optional, Standard 1).
+ */
+public class ParameterRange {
+
+    private final SweepParameter parameter;
+    private final int min;
+    private final int max;
+    private final int step;
+
+    public ParameterRange(SweepParameter parameter, int min, int max, int step) {
+        if (max < min || step < 1) {
+            throw new IllegalArgumentException("Ungültiger Bereich für " + parameter + ": " + min + ":" + max + ":" + step);
+        }
+        this.parameter = parameter;
+        this.min = min;
+        this.max = max;
+        this.step = step;
+    }
+
+    public static ParameterRange parse(String text) {
+        String[] nameAndRange = text.split("=", 2);
+        if (nameAndRange.length != 2) {
+            throw new IllegalArgumentException("Erwartet NAME=min:max[:step], erhalten: " + text);
+        }
+        String[] parts = nameAndRange[1].split(":");
+        int min = Integer.parseInt(parts[0]);
+        int max = parts.length > 1 ? Integer.parseInt(parts[1]) : min;
+        int step = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+        return new ParameterRange(SweepParameter.valueOf(nameAndRange[0].trim().toUpperCase()), min, max, step);
+    }
+
+    public SweepParameter getParameter() {
+        return parameter;
+    }
+
+    /**
+     * @return Anzahl der Stufen im Bereich
+     */
+    public int levels() {
+        return (max - min) / step + 1;
+    }
+
+    public int valueAt(int level) {
+        return min + level * step;
+    }
+}
@@ -0,0 +1,152 @@
+package batch;
+
+import org.simulation.EventConfig;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Führt eine Parameterstudie über viele Konfigurationen aus.
+ * Die Versuchspunkte kommen aus einem {@link SweepDesign} (vollständiges Gitter oder Latin Hypercube)
+ * und laufen auf einem work-stealing {@link ForkJoinPool}.
+ * <p>
+ * Damit auch Studien mit tausenden Punkten mit konstantem Speicher auskommen, sind höchstens
+ * {@code 2 * threads} Läufe gleichzeitig unterwegs. Jeder Lauf wird direkt nach dem Ende auf
+ * eine Kennzahl pro Metrik verdichtet und als Zeilen im Langformat
+ * {@code point,seed,<parameter...>,metric,value} an die CSV-Datei angehängt;
+ * der {@link metrics.MetricsCollector} des Laufs ist danach nicht mehr erreichbar.
+ * <p>
+ * Aufruf über die Kommandozeile:
+ * <pre>
+ * java batch.ParameterSweep --range VISITORS=100:1000:100 --range MEDICS=2:10:2 --lhs 50 --out results
+ * </pre>
+ */
+public class ParameterSweep {
+
+    private ParameterSweep() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        BatchOptions options = BatchOptions.parse(args);
+        if (options.getRanges().isEmpty()) {
+            throw new IllegalArgumentException("Mindestens ein --range NAME=min:max[:step] erforderlich");
+        }
+
+        List<SweepPoint> points = options.getLhsSamples() > 0
+                ? SweepDesign.latinHypercube(options.getRanges(), options.getLhsSamples(), options.getSeed())
+                : SweepDesign.fullFactorial(options.getRanges());
+
+        Path file = options.getOut().resolve("sweep.csv");
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            run(options.getConfig(), points, options.getRanges(), options.getSeed(),
+                    options.getMaxTicks(), options.getThreads(), out);
+        }
+
+        System.out.println(points.size() + " Versuchspunkte beendet (Basis-Seed " + options.getSeed()
+                + "), Ergebnisse in " + file.toAbsolutePath());
+    }
+
+    /**
+     * Führt alle Versuchspunkte aus und schreibt die Ergebnisse fortlaufend in {@code out}.
+     * Die Reihenfolge der Zeilen entspricht der Fertigstellung, nicht der Nummer der Punkte.
+     *
+     * @param base     Basiskonfiguration für alle nicht variierten Parameter
+     * @param points   Versuchspunkte
+     * @param ranges   variierte Bereiche; bestimmen die Parameterspalten der CSV
+     * @param baseSeed Basis-Seed; Punkt {@code i} läuft mit {@code SeedStreams.derive(baseSeed, i)}
+     * @param maxTicks Tick-Horizont je Lauf
+     * @param threads  Parallelität des Pools
+     * @param out      Ziel der CSV-Zeilen inklusive Kopfzeile
+     */
+    public static void run(EventConfig base, List<SweepPoint> points, List<ParameterRange> ranges,
+                           long baseSeed, long maxTicks, int threads, Writer out) throws IOException {
+        List<SweepParameter> columns = new ArrayList<>();
+        for (ParameterRange range : ranges) {
+            columns.add(range.getParameter());
+        }
+        out.write(header(columns));
+        out.write(System.lineSeparator());
+        out.flush();
+
+        int parallelism = Math.max(1, threads);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (SweepPoint point : points) {
+                acquire(inFlight);
+                futures.add(pool.submit(() -> {
+                    try {
+                        runPoint(base, point, columns, baseSeed, maxTicks, out);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                ReplicationRunner.await(future);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    static String header(List<SweepParameter> columns) {
+        StringBuilder sb = new StringBuilder("point,seed");
+        for (SweepParameter column : columns) {
+            sb.append(',').append(column.name());
+        }
+        return sb.append(",metric,value").toString();
+    }
+
+    private static void runPoint(EventConfig base, SweepPoint point, List<SweepParameter> columns,
+                                 long baseSeed, long maxTicks, Writer out) {
+        long seed = SeedStreams.derive(baseSeed, point.getIndex());
+        RunResult result = HeadlessRunner.run(point.toConfig(base), seed, maxTicks);
+        Map<String, Double> summary = new TreeMap<>(ReplicationRunner.summarize(result.getCollector()));
+
+        StringBuilder prefix = new StringBuilder().append(point.getIndex()).append(',').append(seed);
+        for (SweepParameter column : columns) {
+            prefix.append(',').append(point.getValues().get(column));
+        }
+
+        StringBuilder rows = new StringBuilder();
+        rows.append(prefix).append(",Ticks,").append(result.getTicks()).append(System.lineSeparator());
+        for (Map.Entry<String, Double> entry : summary.entrySet()) {
+            rows.append(prefix).append(',').append(entry.getKey()).append(',').append(entry.getValue())
+                    .append(System.lineSeparator());
+        }
+
+        synchronized (out) {
+            try {
+                out.write(rows.toString());
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parameterstudie wurde unterbrochen", e);
+        }
+    }
+}
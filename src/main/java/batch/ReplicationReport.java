@@ -0,0 +1,87 @@
+package batch;
+
+import metrics.MetricStatistics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ergebnis einer Monte-Carlo-Studie: die verwendeten Seeds, die verdichteten Kennzahlen
+ * jedes einzelnen Laufs und die daraus berechnete Statistik je Metrik.
+ */
+public class ReplicationReport {
+
+    private final long baseSeed;
+    private final long[] seeds;
+    private final List<Map<String, Double>> perRun;
+    private final Map<String, MetricStatistics> statistics = new TreeMap<>();
+
+    public ReplicationReport(long baseSeed, long[] seeds, List<Map<String, Double>> perRun) {
+        this.baseSeed = baseSeed;
+        this.seeds = seeds.clone();
+        this.perRun = Collections.unmodifiableList(new ArrayList<>(perRun));
+
+        Map<String, List<Double>> samples = new TreeMap<>();
+        for (Map<String, Double> run : perRun) {
+            run.forEach((metric, value) -> samples.computeIfAbsent(metric, k -> new ArrayList<>()).add(value));
+        }
+        samples.forEach((metric, values) -> statistics.put(metric, MetricStatistics.of(values)));
+    }
+
+    public long getBaseSeed() {
+        return baseSeed;
+    }
+
+    public long[] getSeeds() {
+        return seeds.clone();
+    }
+
+    public int getReplications() {
+        return seeds.length;
+    }
+
+    /**
+     * @return Kennzahlen je Lauf, in Reihenfolge der Replikationen
+     */
+    public List<Map<String, Double>> getPerRun() {
+        return perRun;
+    }
+
+    public Map<String, MetricStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    public MetricStatistics get(String metric) {
+        return statistics.get(metric);
+    }
+
+    /**
+     * Schreibt eine Zeile je Metrik mit Stichprobengröße, Mittelwert, Varianz und 95-%-Konfidenzintervall.
+     */
+    public void writeCsv(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("metric,n,mean,variance,stddev,ci95_low,ci95_high");
+            out.newLine();
+            for (Map.Entry<String, MetricStatistics> entry : statistics.entrySet()) {
+                MetricStatistics s = entry.getValue();
+                out.write(String.format(Locale.ROOT, "%s,%d,%.6f,%.6f,%.6f,%.6f,%.6f",
+                        entry.getKey(), s.getN(), s.getMean(), s.getVariance(), s.getStdDev(),
+                        s.getCiLow95(), s.getCiHigh95()));
+                out.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package batch;
+
+import metrics.MetricsCollector;
+import org.simulation.EventConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Führt K unabhängige Replikationen desselben Szenarios parallel aus (Monte-Carlo).
+ * Jede Replikation besitzt ihr eigenes {@link org.simulation.Event} mit eigenem Grid, Schedule
+ * und MetricsCollector und erhält einen über {@link SeedStreams} abgeleiteten Seed.
+ * Eine einzelne Simulation bleibt dabei single-threaded; parallelisiert wird nur über die Läufe.
+ * <p>
+ * Pro Lauf wird jede Metrik auf eine Kennzahl verdichtet: Zähl-Metriken (z. B. {@code ZoneEntry_*})
+ * auf ihre Anzahl, alle anderen (z. B. {@code QueueWait_*}, {@code TimeInZone_*}, {@code PanicDuration})
+ * auf den Mittelwert ihrer Einzelwerte. Über die Läufe hinweg werden daraus Mittelwert, Varianz und
+ * Konfidenzintervall berechnet.
+ */
+public class ReplicationRunner {
+
+    static final List<String> COUNTER_PREFIXES = List.of("ZoneEntry_", "ZoneExit_", "PanicEscape_", "EventTriggered_");
+
+    private ReplicationRunner() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        BatchOptions options = BatchOptions.parse(args);
+        ReplicationReport report = run(options.getConfig(), options.getSeed(), options.getReplications(),
+                options.getMaxTicks(), options.getThreads());
+        report.writeCsv(options.getOut().resolve("replications.csv"));
+
+        System.out.println(options.getReplications() + " Replikationen beendet (Basis-Seed " + options.getSeed()
+                + "), Ergebnisse in " + options.getOut().toAbsolutePath());
+    }
+
+    /**
+     * @param config       Startparameter, für alle Replikationen identisch
+     * @param baseSeed     Basis-Seed, aus dem die Seeds der Replikationen abgeleitet werden
+     * @param replications Anzahl der Läufe (K)
+     * @param maxTicks     Tick-Horizont je Lauf
+     * @param threads      Anzahl paralleler Worker
+     * @return aggregierte Ergebnisse in Reihenfolge der Replikationen
+     */
+    public static ReplicationReport run(EventConfig config, long baseSeed, int replications,
+                                        long maxTicks, int threads) {
+        if (replications < 1) {
+            throw new IllegalArgumentException("Mindestens eine Replikation erforderlich: " + replications);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, replications)));
+        try {
+            List<Future<Map<String, Double>>> futures = new ArrayList<>();
+            long[] seeds = new long[replications];
+            for (int i = 0; i < replications; i++) {
+                long seed = SeedStreams.derive(baseSeed, i);
+                seeds[i] = seed;
+                futures.add(pool.submit(() -> summarize(HeadlessRunner.run(config, seed, maxTicks).getCollector())));
+            }
+
+            List<Map<String, Double>> perRun = new ArrayList<>();
+            for (Future<Map<String, Double>> future : futures) {
+                perRun.add(await(future));
+            }
+            return new ReplicationReport(baseSeed, seeds, perRun);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Verdichtet alle Metriken eines Laufs auf je eine Kennzahl.
+     * Metriken ohne numerische Werte werden ausgelassen.
+     */
+    static Map<String, Double> summarize(MetricsCollector collector) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Object>> entry : collector.getAllMetrics().entrySet()) {
+            String name = entry.getKey();
+            List<Object> values = entry.getValue();
+
+            if (isCounter(name)) {
+                result.put(name, (double) values.size());
+                continue;
+            }
+
+            double sum = 0;
+            int count = 0;
+            for (Object o : values) {
+                if (o instanceof Number number) {
+                    sum += number.doubleValue();
+                    count++;
+                }
+            }
+            if (count > 0) {
+                result.put(name, sum / count);
+            }
+        }
+        return result;
+    }
+
+    static boolean isCounter(String metric) {
+        for (String prefix : COUNTER_PREFIXES) {
+            if (metric.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replikationen wurden unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replikation fehlgeschlagen", e.getCause());
+        }
+    }
+}
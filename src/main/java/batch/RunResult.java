@@ -0,0 +1,62 @@
+package batch;
+
+import metrics.MetricsCollector;
+
+/**
+ * Ergebnis eines einzelnen headless Simulationslaufs.
+ * Enthält den verwendeten Seed, die Anzahl tatsächlich ausgeführter Ticks
+ * und den Collector mit allen gesammelten Metriken. Die Rechenzeit der Wegplanung steht getrennt daneben,
+ * weil sie von der Maschine abhängt und damit nicht in die reproduzierbaren Metriken gehört.
+ */
+public class RunResult {
+
+    private final long seed;
+    private final long ticks;
+    private final boolean allVisitorsLeft;
+    private final MetricsCollector collector;
+    private final long pathSearches;
+    private final long planningNanos;
+
+    public RunResult(long seed, long ticks, boolean allVisitorsLeft, MetricsCollector collector,
+                     long pathSearches, long planningNanos) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.allVisitorsLeft = allVisitorsLeft;
+        this.collector = collector;
+        this.pathSearches = pathSearches;
+        this.planningNanos = planningNanos;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return true, wenn der Lauf vor Erreichen des Tick-Horizonts endete, weil alle Besucher gegangen sind
+     */
+    public boolean isAllVisitorsLeft() {
+        return allVisitorsLeft;
+    }
+
+    public MetricsCollector getCollector() {
+        return collector;
+    }
+
+    /**
+     * @return Anzahl der Wegsuchen, die nicht aus dem Cache beantwortet wurden
+     */
+    public long getPathSearches() {
+        return pathSearches;
+    }
+
+    /**
+     * @return Rechenzeit dieser Suchen in Nanosekunden; nicht reproduzierbar
+     */
+    public long getPlanningNanos() {
+        return planningNanos;
+    }
+}
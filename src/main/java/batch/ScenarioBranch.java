@@ -0,0 +1,66 @@
+package batch;
+
+import events.FightDisturbance;
+import events.FireDisturbance;
+import events.StormDisturbance;
+import org.simulation.Event;
+import sim.util.Int2D;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ein Zweig einer What-if-Studie: Name plus die Störungen, die beim Abzweigen in die Kopie injiziert werden.
+ */
+public class ScenarioBranch {
+
+    private final String name;
+    private final List<String> labels = new ArrayList<>();
+    private final List<Event.DisturbanceFactory> factories = new ArrayList<>();
+
+    public ScenarioBranch(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Fügt eine Störung hinzu, die beim Abzweigen ausgelöst wird.
+     *
+     * @param label   Metrik-Bezeichnung, z. B. {@code "FIRE"}
+     * @param factory erzeugt die Störung für die Kopie
+     * @return dieser Zweig
+     */
+    public ScenarioBranch addDisturbance(String label, Event.DisturbanceFactory factory) {
+        labels.add(label);
+        factories.add(factory);
+        return this;
+    }
+
+    public ScenarioBranch addFire(Int2D position) {
+        return addDisturbance("FIRE", event -> new FireDisturbance(position));
+    }
+
+    public ScenarioBranch addFight(Int2D position) {
+        return addDisturbance("FIGHT", event -> new FightDisturbance(position));
+    }
+
+    public ScenarioBranch addStorm() {
+        return addDisturbance("STORM", StormDisturbance::createRandom);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Anzahl der injizierten Störungen
+     */
+    public int size() {
+        return factories.size();
+    }
+
+    void inject(Event event) {
+        for (int i = 0; i < factories.size(); i++) {
+            event.triggerDisturbance(labels.get(i), factories.get(i));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package batch;
+
+import org.simulation.Event;
+import org.simulation.EventSnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verzweigt ein vorgewärmtes {@link Event} in mehrere What-if-Szenarien.
+ * Das Event wird einmal per {@link EventSnapshot} gesichert; jeder Zweig erhält eine eigene Kopie,
+ * in die seine Störungen injiziert werden, und läuft dann headless parallel weiter.
+ * {@code Event.start()} und die Einlassphase werden dabei nicht erneut gerechnet.
+ * <p>
+ * Alle Zweige starten mit demselben Zustand des Zufallsgenerators (Common Random Numbers),
+ * Unterschiede zwischen den Zweigen gehen daher allein auf die injizierten Störungen zurück.
+ */
+public class ScenarioFork {
+
+    private ScenarioFork() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    /**
+     * @param warmed   gestartetes, headless vorgerechnetes Event; bleibt selbst unverändert
+     * @param branches Zweige mit ihren Störungen
+     * @param maxTicks maximale Anzahl weiterer Ticks je Zweig
+     * @param threads  Anzahl paralleler Worker
+     * @return Ergebnis je Zweig, in Reihenfolge der Zweige nach Namen
+     */
+    public static Map<String, RunResult> run(Event warmed, List<ScenarioBranch> branches,
+                                             long maxTicks, int threads) {
+        if (!warmed.isHeadless()) {
+            throw new IllegalArgumentException("Nur headless Events können verzweigt werden");
+        }
+        return run(EventSnapshot.capture(warmed), branches, maxTicks, threads);
+    }
+
+    /**
+     * Wie {@link #run(Event, List, long, int)}, aber ausgehend von einem bestehenden Abzug
+     * eines headless Events.
+     */
+    public static Map<String, RunResult> run(EventSnapshot snapshot, List<ScenarioBranch> branches,
+                                             long maxTicks, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, branches.size())));
+        try {
+            List<Future<RunResult>> futures = new ArrayList<>();
+            for (ScenarioBranch branch : branches) {
+                futures.add(pool.submit(() -> {
+                    Event copy = snapshot.restore();
+                    if (!copy.isHeadless()) {
+                        copy.getSoundSystem().shutdown();
+                        throw new IllegalArgumentException("Nur headless Events können verzweigt werden");
+                    }
+                    branch.inject(copy);
+                    return HeadlessRunner.resume(copy, maxTicks);
+                }));
+            }
+
+            Map<String, RunResult> results = new LinkedHashMap<>();
+            for (int i = 0; i < branches.size(); i++) {
+                results.put(branches.get(i).getName(), ReplicationRunner.await(futures.get(i)));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package batch;
+
+/**
+ * Leitet aus einem Basis-Seed unabhängige Seeds für einzelne Replikationen ab.
+ * Verwendet den SplitMix64-Mischer, damit benachbarte Indizes keine korrelierten
+ * Zufallsfolgen im Mersenne-Twister der Simulation erzeugen.
+ * Gleicher Basis-Seed und Index ergeben immer denselben Seed.
+ * <p>
+ * Diese Klasse ist nicht instanziierbar.
+ */
+public class SeedStreams {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SeedStreams() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    /**
+     * @param baseSeed Seed der gesamten Studie
+     * @param index    laufende Nummer der Replikation (ab 0)
+     * @return abgeleiteter Seed für genau diese Replikation
+     */
+    public static long derive(long baseSeed, int index) {
+        return mix(baseSeed + GOLDEN_GAMMA * (index + 1L));
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
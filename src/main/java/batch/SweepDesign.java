@@ -0,0 +1,87 @@
+package batch;
+
+import ec.util.MersenneTwisterFast;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Erzeugt die Versuchspunkte einer Parameterstudie.
+ * Unterstützt ein vollständiges Gitter über alle Bereiche sowie Latin-Hypercube-Stichproben,
+ * bei denen jeder Bereich in gleich große Schichten geteilt und jede Schicht genau einmal getroffen wird.
+ * <p>
+ * Diese Klasse ist nicht instanziierbar.
+ */
+public class SweepDesign {
+
+    private SweepDesign() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    /**
+     * Vollständiges Gitter: jede Kombination aller Stufen aller Bereiche.
+     */
+    public static List<SweepPoint> fullFactorial(List<ParameterRange> ranges) {
+        List<SweepPoint> points = new ArrayList<>();
+        int[] level = new int[ranges.size()];
+        int index = 0;
+
+        while (true) {
+            Map<SweepParameter, Integer> values = new EnumMap<>(SweepParameter.class);
+            for (int i = 0; i < ranges.size(); i++) {
+                values.put(ranges.get(i).getParameter(), ranges.get(i).valueAt(level[i]));
+            }
+            points.add(new SweepPoint(index++, values));
+
+            // Zähler über alle Dimensionen hochzählen (letzte Dimension läuft am schnellsten)
+            int d = ranges.size() - 1;
+            while (d >= 0 && ++level[d] >= ranges.get(d).levels()) {
+                level[d] = 0;
+                d--;
+            }
+            if (d < 0) {
+                return points;
+            }
+        }
+    }
+
+    /**
+     * Latin-Hypercube-Stichprobe mit {@code samples} Punkten.
+     * Jeder Bereich wird in {@code samples} Schichten zerlegt, die zufällig permutiert kombiniert werden.
+     *
+     * @param seed Seed für die Permutationen; gleicher Seed ergibt dasselbe Design
+     */
+    public static List<SweepPoint> latinHypercube(List<ParameterRange> ranges, int samples, long seed) {
+        MersenneTwisterFast random = new MersenneTwisterFast(seed);
+        int[][] strata = new int[ranges.size()][];
+
+        for (int d = 0; d < ranges.size(); d++) {
+            int[] perm = new int[samples];
+            for (int i = 0; i < samples; i++) {
+                perm[i] = i;
+            }
+            for (int i = samples - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = perm[i];
+                perm[i] = perm[j];
+                perm[j] = tmp;
+            }
+            strata[d] = perm;
+        }
+
+        List<SweepPoint> points = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            Map<SweepParameter, Integer> values = new EnumMap<>(SweepParameter.class);
+            for (int d = 0; d < ranges.size(); d++) {
+                ParameterRange range = ranges.get(d);
+                double u = (strata[d][i] + random.nextDouble()) / samples;
+                int level = Math.min(range.levels() - 1, (int) (u * range.levels()));
+                values.put(range.getParameter(), range.valueAt(level));
+            }
+            points.add(new SweepPoint(i, values));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,73 @@
+package batch;
+
+import org.simulation.EventConfig;
+import zones.Zone;
+
+/**
+ * Parameter eines {@link EventConfig}, die in einer Parameterstudie variiert werden können.
+ * Jeder Parameter weiß, wie er seinen Wert in eine Konfiguration schreibt.
+ */
+public enum SweepParameter {
+    VISITORS {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setVisitorCount(value);
+        }
+    },
+    MEDICS {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setMedicCount(value);
+        }
+    },
+    SECURITY {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setSecurityCount(value);
+        }
+    },
+    FOOD_CAPACITY {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setZoneCapacity(Zone.ZoneType.FOOD, value);
+        }
+    },
+    WC_CAPACITY {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setZoneCapacity(Zone.ZoneType.WC, value);
+        }
+    },
+    MAIN_ACT_CAPACITY {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setZoneCapacity(Zone.ZoneType.ACT_MAIN, value);
+        }
+    },
+    SIDE_ACT_CAPACITY {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setZoneCapacity(Zone.ZoneType.ACT_SIDE, value);
+        }
+    },
+    FIRE_TICK {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setFireTick(value);
+        }
+    },
+    FIGHT_TICK {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setFightTick(value);
+        }
+    },
+    STORM_TICK {
+        @Override
+        void apply(EventConfig config, int value) {
+            config.setStormTick(value);
+        }
+    };
+
+    abstract void apply(EventConfig config, int value);
+}
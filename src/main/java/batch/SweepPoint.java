@@ -0,0 +1,39 @@
+package batch;
+
+import org.simulation.EventConfig;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Ein einzelner Versuchspunkt einer Parameterstudie: laufende Nummer plus die gesetzten Parameterwerte.
+ * Nicht gesetzte Parameter behalten den Wert der Basiskonfiguration.
+ */
+public class SweepPoint {
+
+    private final int index;
+    private final Map<SweepParameter, Integer> values;
+
+    public SweepPoint(int index, Map<SweepParameter, Integer> values) {
+        this.index = index;
+        this.values = Collections.unmodifiableMap(new EnumMap<>(values));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Map<SweepParameter, Integer> getValues() {
+        return values;
+    }
+
+    /**
+     * @return Kopie der Basiskonfiguration mit den Werten dieses Punkts
+     */
+    public EventConfig toConfig(EventConfig base) {
+        EventConfig config = new EventConfig(base);
+        values.forEach((parameter, value) -> parameter.apply(config, value));
+        return config;
+    }
+}
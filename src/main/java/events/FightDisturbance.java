@@ -3,6 +3,7 @@ package events;
 import org.simulation.Agent;
 import org.simulation.Event;
 import org.simulation.Person;
+import org.simulation.ResponderPool;
 import states.EmergencyState;
 import states.PanicRunState;
 import sim.engine.SimState;
@@ -85,10 +86,8 @@ public class FightDisturbance extends Disturbance {
     }
 
     private void assignSecurityAndMedic(Event event) {
-        for (Agent agent : event.agents) {
-            if (agent instanceof Person p &&
-                    p.getType() == Person.PersonType.SECURITY &&
-                    p.getTargetPosition() == this.position) {
+        for (Person p : event.agents.getSecurity()) {
+            if (p.getTargetPosition() == this.position) {
 
                 p.setTargetPosition(this.position);
                 p.setCurrentState(new EmergencyState());
@@ -101,19 +100,13 @@ public class FightDisturbance extends Disturbance {
             }
         }
 
-        for (Agent agent : event.agents) {
-            if (agent instanceof Person p &&
-                    p.getType() == Person.PersonType.MEDIC &&
-                    p.getTargetPosition() == null) {
+        Person medic = event.getResponders().dispatch(Person.PersonType.MEDIC, this.position);
+        if (medic != null) {
+            medic.setCurrentState(new EmergencyState());
+            assignedMedic = medic;
 
-                p.setTargetPosition(this.position);
-                p.setCurrentState(new EmergencyState());
-                assignedMedic = p;
-
-                if (logger.isLoggable(Level.INFO)) {
-                    logger.info(String.format("🚑 MEDIC assigned to support at %s", position));
-                }
-                break;
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info(String.format("🚑 MEDIC assigned to support at %s", position));
             }
         }
     }
@@ -128,22 +121,14 @@ public class FightDisturbance extends Disturbance {
 
 
     private void panicNearbyAgents(Event event) {
-        for (Agent agent : event.agents) {
-            if (agent instanceof Person) continue; // Sanitäter & Security ignorieren
-
-            Int2D agentPos = event.grid.getObjectLocation(agent);
-            if (agentPos != null && position != null) {
-                int dx = agentPos.x - position.x;
-                int dy = agentPos.y - position.y;
-                double distance = Math.sqrt((double) dx * dx + dy * dy);
-
-                if (distance <= 2 && !agent.isPanicking()) {
-                    agent.setPanicking(true);
-                    agent.setCurrentState(new PanicRunState());
-
-                    if (logger.isLoggable(Level.INFO)) {
-                        logger.info(String.format("😱 Agent gerät wegen Fight in Panik bei %s", agentPos));
-                    }
+        for (Agent agent : event.getNeighborhood().visitorsWithin(position, 2)) {
+            if (!agent.isPanicking()) {
+                agent.setPanicking(true);
+                agent.setCurrentState(new PanicRunState());
+
+                if (logger.isLoggable(Level.INFO)) {
+                    logger.info(String.format("😱 Agent gerät wegen Fight in Panik bei %s",
+                            event.getPositions().getLocation(agent)));
                 }
             }
         }
@@ -155,9 +140,8 @@ public class FightDisturbance extends Disturbance {
     }
 
     public static FightDisturbance createRandom(Event sim) {
-        int x = sim.random.nextInt(sim.grid.getWidth());
-        int y = sim.random.nextInt(sim.grid.getHeight());
-        return new FightDisturbance(new Int2D(x, y));
+        // Auf einer Wand wäre die Schlägerei für Security unerreichbar
+        return new FightDisturbance(sim.randomOpenCell(sim.getDisturbanceRandom()));
     }
 
     public boolean isResolved() {
@@ -201,26 +185,25 @@ public class FightDisturbance extends Disturbance {
         event.addRestrictedArea(fightZone);
         event.grid.setObjectLocation(fightZone, loc);
 
-        long securityCount = event.agents.stream()
-                .filter(a -> a instanceof Person p && p.getType() == Person.PersonType.SECURITY)
-                .count();
-
-        int i = 0;
-        for (Agent agent : event.agents) {
-            if (agent instanceof Person p && p.getType() == Person.PersonType.SECURITY) {
-                if (i == 0) {
-                    assignSecurityToCenter(p);
-                } else {
-                    placeSecurityAtPerimeter(event, fightZone, p, i, securityCount);
-                }
-                i++;
+        // Die nächstgelegene freie Security läuft ins Zentrum, die übrigen riegeln ab
+        ResponderPool responders = event.getResponders();
+        List<Person> security = responders.idleByDistance(Person.PersonType.SECURITY, this.position);
+        long securityCount = security.size();
+
+        for (int i = 0; i < security.size(); i++) {
+            Person p = security.get(i);
+            if (i == 0) {
+                assignSecurityToCenter(responders, p);
+            } else {
+                placeSecurityAtPerimeter(event, fightZone, p, i, securityCount);
             }
         }
 
 
     }
 
-    private void assignSecurityToCenter(Person p) {
+    private void assignSecurityToCenter(ResponderPool responders, Person p) {
+        responders.markBusy(p);
         p.setTargetPosition(this.position);
         p.setCurrentState(new EmergencyState());
         if (logger.isLoggable(Level.INFO)) {
@@ -235,6 +218,7 @@ public class FightDisturbance extends Disturbance {
         Int2D ringPos = new Int2D(x, y);
 
         if (!MovementUtils.isBlocked(event, x, y, p)) {
+            event.getResponders().markBusy(p);
             p.setTargetPosition(ringPos);
             p.setCurrentState(new EmergencyState());
             if (logger.isLoggable(Level.INFO)) {
@@ -255,13 +239,13 @@ public class FightDisturbance extends Disturbance {
 
     private boolean securityPresent(Event event) {
         return assignedSecurity.stream()
-                .map(event.grid::getObjectLocation)
+                .map(event.getPositions()::getLocation)
                 .anyMatch(pos -> pos != null && pos.equals(this.position));
     }
 
     private boolean medicPresent(Event event) {
         if (assignedMedic == null) return false;
-        Int2D medicPos = event.grid.getObjectLocation(assignedMedic);
+        Int2D medicPos = event.getPositions().getLocation(assignedMedic);
         return medicPos != null && medicPos.equals(this.position);
     }
 
@@ -269,8 +253,8 @@ public class FightDisturbance extends Disturbance {
         resolved = true;
 
         releasePerimeterSecurity(event);
-        releaseAssignedSecurity();
-        releaseAssignedMedic();
+        releaseAssignedSecurity(event);
+        releaseAssignedMedic(event);
 
         if (logger.isLoggable(Level.INFO)) {
             logger.info(String.format("✅ FightDisturbance beendet durch Security und Medic bei %s", position));
@@ -278,13 +262,11 @@ public class FightDisturbance extends Disturbance {
     }
 
     private void releasePerimeterSecurity(Event event) {
-        for (Agent agent : event.agents) {
-            if (agent instanceof Person p
-                    && p.getType() == Person.PersonType.SECURITY
-                    && p.getTargetPosition() != null
+        for (Person p : event.agents.getSecurity()) {
+            if (p.getTargetPosition() != null
                     && !p.getTargetPosition().equals(this.position)) {
 
-                p.clearTarget();
+                event.getResponders().release(p);
                 p.setCurrentState(new EmergencyState());
                 if (logger.isLoggable(Level.INFO)) {
                     logger.info("SECURITY verlässt den Fight-Perimeter und kehrt zu Roaming zurück.");
@@ -293,17 +275,17 @@ public class FightDisturbance extends Disturbance {
         }
     }
 
-    private void releaseAssignedSecurity() {
+    private void releaseAssignedSecurity(Event event) {
         for (Person sec : assignedSecurity) {
-            sec.clearTarget();
+            event.getResponders().release(sec);
             sec.setCurrentState(new EmergencyState());
         }
         assignedSecurity.clear();
     }
 
-    private void releaseAssignedMedic() {
+    private void releaseAssignedMedic(Event event) {
         if (assignedMedic != null) {
-            assignedMedic.clearTarget();
+            event.getResponders().release(assignedMedic);
             assignedMedic.setCurrentState(new EmergencyState());
             assignedMedic = null;
         }
@@ -3,6 +3,7 @@ package events;
 import org.simulation.Agent;
 import org.simulation.Event;
 import org.simulation.Person;
+import org.simulation.ResponderPool;
 import org.simulation.RestrictedArea;
 import org.simulation.utils.MovementUtils;
 import sim.engine.SimState;
@@ -11,7 +12,6 @@ import states.EmergencyState;
 import states.PanicRunState;
 import states.RoamingState;
 
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -70,9 +70,8 @@ public class FireDisturbance extends Disturbance {
     }
 
     public static FireDisturbance createRandom(Event sim) {
-        int x = sim.random.nextInt(sim.grid.getWidth());
-        int y = sim.random.nextInt(sim.grid.getHeight());
-        return new FireDisturbance(new Int2D(x, y));
+        // Auf einer Wand wäre das Feuer für die Feuerwehr unerreichbar
+        return new FireDisturbance(sim.randomOpenCell(sim.getDisturbanceRandom()));
     }
 
     public void resolve(Event event) {
@@ -87,12 +86,10 @@ public class FireDisturbance extends Disturbance {
         }
 
         // Security freigeben
-        for (Agent agent : event.agents) {
-            if (agent instanceof Person p
-                    && p.getType() == Person.PersonType.SECURITY
-                    && p.getCurrentState() instanceof states.EmergencyState) {
+        for (Person p : event.agents.getSecurity()) {
+            if (p.getCurrentState() instanceof states.EmergencyState) {
 
-                p.clearTarget();
+                event.getResponders().release(p);
                 p.setCurrentState(new RoamingState());
                 logger.info("🔄 SECURITY verlässt Feuer-Einsatz und kehrt zu Roaming zurück.");
             }
@@ -128,24 +125,25 @@ public class FireDisturbance extends Disturbance {
         event.addRestrictedArea(fireZone);
         event.grid.setObjectLocation(fireZone, loc);
 
-        List<Person> securityAgents = event.agents.stream()
-                .filter(a -> a instanceof Person p && p.getType() == Person.PersonType.SECURITY)
-                .map(a -> (Person) a)
-                .toList();
-
-        int total = securityAgents.size();
+        // Jede Ringposition bekommt die ihr nächstgelegene freie Security
+        ResponderPool responders = event.getResponders();
+        int total = responders.idleCount(Person.PersonType.SECURITY);
 
         for (int i = 0; i < total; i++) {
-            Person p = securityAgents.get(i);
             Int2D newPos = computeSecurityPosition(fireZone, i, total);
-            assignSecurityPosition(event, p, newPos);
+            Person p = responders.nearestIdle(Person.PersonType.SECURITY, newPos);
+            if (p == null) {
+                break;
+            }
+            assignSecurityPosition(event, responders, p, newPos);
         }
     }
 
-    private void assignSecurityPosition(Event event, Person p, Int2D newPos) {
+    private void assignSecurityPosition(Event event, ResponderPool responders, Person p, Int2D newPos) {
         boolean blocked = MovementUtils.isBlocked(event, newPos.x, newPos.y, p);
 
         if (!blocked) {
+            responders.markBusy(p);
             p.setTargetPosition(newPos);
             p.setCurrentState(new EmergencyState());
             logInfo("SECURITY positioniert sich bei %s", newPos);
@@ -176,20 +174,11 @@ public class FireDisturbance extends Disturbance {
     }
 
     private void panicNearbyAgents(Event event) {
-        for (Agent agent : event.agents) {
-            Int2D agentPos = event.grid.getObjectLocation(agent);
-            if (agentPos != null && position != null) {
-                double distance = agentPos.distance(position);
-
-                if (distance <= panicRadius &&
-                        agent instanceof Person p &&
-                        p.getType() == Person.PersonType.VISITOR) {
-                    agent.setPanicking(true);
-                    agent.setCurrentState(new PanicRunState());
-                    if (logger.isLoggable(Level.INFO)) {
-                        logger.info(String.format("😱 Visitor gerät in Panik bei %s", agentPos));
-                    }
-                }
+        for (Agent agent : event.getNeighborhood().visitorsWithin(position, panicRadius)) {
+            agent.setPanicking(true);
+            agent.setCurrentState(new PanicRunState());
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info(String.format("😱 Visitor gerät in Panik bei %s", event.getPositions().getLocation(agent)));
             }
         }
     }
@@ -47,8 +47,8 @@ public class StormDisturbance extends Disturbance {
     public static StormDisturbance createRandom(Event sim) {
         StormDisturbance storm = new StormDisturbance();
 
-        int x = sim.random.nextInt(sim.grid.getWidth());
-        int y = sim.random.nextInt(sim.grid.getHeight());
+        int x = sim.getDisturbanceRandom().nextInt(sim.grid.getWidth());
+        int y = sim.getDisturbanceRandom().nextInt(sim.grid.getHeight());
         sim.grid.setObjectLocation(storm, new Int2D(x, y));
 
         return storm;
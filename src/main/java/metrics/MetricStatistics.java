@@ -0,0 +1,81 @@
+package metrics;
+
+import java.util.List;
+
+/**
+ * Beschreibt die Verteilung einer Kennzahl über mehrere unabhängige Simulationsläufe.
+ * Berechnet Mittelwert, Stichprobenvarianz und ein 95-%-Konfidenzintervall
+ * auf Basis der Student-t-Verteilung.
+ */
+public class MetricStatistics {
+
+    // Zweiseitige 97,5-%-Quantile der t-Verteilung für 1 bis 30 Freiheitsgrade
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_975 = 1.960;
+
+    private final int n;
+    private final double mean;
+    private final double variance;
+
+    public MetricStatistics(int n, double mean, double variance) {
+        this.n = n;
+        this.mean = mean;
+        this.variance = variance;
+    }
+
+    /**
+     * Berechnet die Statistik aus den Einzelwerten der Läufe (Welford-Verfahren).
+     */
+    public static MetricStatistics of(List<Double> samples) {
+        int n = 0;
+        double mean = 0;
+        double m2 = 0;
+        for (double x : samples) {
+            n++;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+        }
+        return new MetricStatistics(n, mean, n > 1 ? m2 / (n - 1) : 0.0);
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * @return halbe Breite des 95-%-Konfidenzintervalls um den Mittelwert (0 bei weniger als zwei Läufen)
+     */
+    public double getHalfWidth95() {
+        if (n < 2) {
+            return 0.0;
+        }
+        int df = n - 1;
+        double t = df <= T_975.length ? T_975[df - 1] : Z_975;
+        return t * Math.sqrt(variance / n);
+    }
+
+    public double getCiLow95() {
+        return mean - getHalfWidth95();
+    }
+
+    public double getCiHigh95() {
+        return mean + getHalfWidth95();
+    }
+}
@@ -3,6 +3,7 @@ package metrics;
 import org.simulation.Agent;
 import zones.Zone;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
@@ -13,7 +14,7 @@ import java.util.Map;
  *
  * @author cb-235866
  */
-public interface MetricsCollector {
+public interface MetricsCollector extends Serializable {
     void registerMetric(String name);
 
     void recordMetric(String metricName, Object value);
@@ -0,0 +1,105 @@
+package metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Schreibt die Inhalte eines {@link MetricsCollector} als CSV-Dateien auf die Festplatte.
+ * Im Gegensatz zum {@link MetricsViewer} kommt der Export ohne Swing aus und eignet sich
+ * daher für Batch-Läufe auf Servern ohne Display.
+ * <p>
+ * Diese Klasse ist nicht instanziierbar.
+ */
+public class MetricsExporter {
+
+    public static final String SUMMARY_HEADER = "metric,count,sum,mean,min,max";
+
+    private MetricsExporter() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    /**
+     * Schreibt pro Metrik eine Zeile mit Anzahl, Summe, Mittelwert, Minimum und Maximum.
+     * Nicht-numerische Werte werden nur gezählt. Metriken sind alphabetisch sortiert,
+     * damit Dateien aus verschiedenen Läufen direkt vergleichbar sind.
+     *
+     * @param collector Quelle der Messwerte
+     * @param file      Zieldatei (wird überschrieben)
+     */
+    public static void writeSummaryCsv(MetricsCollector collector, Path file) throws IOException {
+        createParent(file);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(SUMMARY_HEADER);
+            out.newLine();
+            for (Map.Entry<String, List<Object>> entry : sorted(collector).entrySet()) {
+                out.write(summaryLine(entry.getKey(), entry.getValue()));
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Schreibt alle Einzelwerte im Format {@code metric,index,value}.
+     *
+     * @param collector Quelle der Messwerte
+     * @param file      Zieldatei (wird überschrieben)
+     */
+    public static void writeRawCsv(MetricsCollector collector, Path file) throws IOException {
+        createParent(file);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("metric,index,value");
+            out.newLine();
+            for (Map.Entry<String, List<Object>> entry : sorted(collector).entrySet()) {
+                List<Object> values = entry.getValue();
+                for (int i = 0; i < values.size(); i++) {
+                    out.write(entry.getKey() + "," + i + "," + values.get(i));
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Baut eine Zusammenfassungszeile im Format von {@link #SUMMARY_HEADER}.
+     */
+    public static String summaryLine(String metric, List<Object> values) {
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (Object o : values) {
+            if (o instanceof Number n) {
+                double v = n.doubleValue();
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            return metric + "," + values.size() + ",,,,";
+        }
+        return String.format(Locale.ROOT, "%s,%d,%.4f,%.4f,%.4f,%.4f",
+                metric, values.size(), sum, sum / count, min, max);
+    }
+
+    private static Map<String, List<Object>> sorted(MetricsCollector collector) {
+        return new TreeMap<>(collector.getAllMetrics());
+    }
+
+    private static void createParent(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+}
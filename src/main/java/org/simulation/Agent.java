@@ -1,6 +1,7 @@
 package org.simulation;
 
 import states.IStates;
+import states.QueueingState;
 import states.RoamingState;
 import org.simulation.utils.MovementUtils;
 import sim.engine.SimState;
@@ -30,6 +31,7 @@ public class Agent implements Steppable {
     private boolean isWatchingMain = false;
     private boolean isWatchingSide = false;
     private boolean isInQueue = false;
+    private Zone queuedZone;
     private boolean isPanicking = false;
     private boolean isWC = false;
     private Zone currentZone = null;
@@ -39,11 +41,23 @@ public class Agent implements Steppable {
     private Stoppable stopper;
     private boolean alarmed = false;
     private Zone assignedEmergencyExit;
+    private boolean suspended = false;
+    // Von der AgentRegistry gepflegt: ID sowie Position in der Gesamt- und der Rollenliste
+    int registryId = -1;
+    int registryIndex = -1;
+    int roleIndex = -1;
     private static final Logger logger = Logger.getLogger(Agent.class.getName());
 
     //Aufenthaltsdauer in Exit-Zone (in Ticks)
     private static final int EXIT_DURATION_TICKS = 3;
 
+    /**
+     * @return fortlaufende ID aus der {@link AgentRegistry} oder -1, solange der Agent nie eingetragen war
+     */
+    public int getId() {
+        return registryId;
+    }
+
     // Getter & Setter
     public int getPanicTicks() {
         return panicTicks;
@@ -78,7 +92,7 @@ public class Agent implements Steppable {
     public void resetFlags() { // Setzt Zustand zurück - wichtig für State wechsel
         isWatchingMain = false;
         isWatchingSide = false;
-        isInQueue = false;
+        setInQueue(false);
         isPanicking = false;
         isHungry = false;
         isWC = false;
@@ -134,9 +148,30 @@ public class Agent implements Steppable {
     }
 
     public void setInQueue(boolean inQueue) {
+        if (!inQueue) {
+            leaveQueue();
+        }
         this.isInQueue = inQueue;
     }
 
+    /**
+     * Stellt den Agenten in die Warteschlange einer Zone; zählt dort zur Last, bis er die Schlange verlässt.
+     */
+    public void joinQueue(Zone zone) {
+        leaveQueue();
+        queuedZone = zone;
+        zone.joinQueue(this);
+        isInQueue = true;
+    }
+
+    private void leaveQueue() {
+        if (queuedZone != null) {
+            Zone zone = queuedZone;
+            queuedZone = null;
+            zone.leaveQueue(this);
+        }
+    }
+
     public boolean isPanicking() {
         return isPanicking;
     }
@@ -150,9 +185,54 @@ public class Agent implements Steppable {
     }
 
     public void setCurrentState(IStates state) {
+        // Ein schlafender Agent muss auf den neuen Zustand (z. B. Panik) sofort reagieren können
+        if (suspended && state != currentState) {
+            resume();
+        }
+        // Wer von außen in einen anderen Zustand versetzt wird, gibt seinen Platz in der Warteschlange frei
+        if (!(state instanceof QueueingState)) {
+            setInQueue(false);
+        }
         this.currentState = state;
     }
 
+    /**
+     * Legt den Agenten für {@code ticks} Ticks schlafen, statt ihn in jedem Tick nur warten zu lassen.
+     * Der nächste Schritt erfolgt {@code ticks} Ticks nach dem aktuellen; ein Zustandswechsel von außen
+     * über {@link #setCurrentState(IStates)} weckt ihn vorher auf.
+     *
+     * @return false, wenn der Agent nicht über den Schedule läuft (z. B. in Tests) und weiter direkt aufgerufen wird
+     */
+    public boolean suspendFor(long ticks) {
+        if (stopper == null || event == null || ticks <= 1) {
+            return false;
+        }
+        stopper.stop();
+        stopper = event.schedule.scheduleRepeating(event.schedule.getTime() + ticks, this, 1);
+        suspended = true;
+        return true;
+    }
+
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Weckt einen schlafenden Agenten, damit er im nächsten Tick wieder handelt (z. B. wenn seine
+     * Warteschlange vorrückt). Wache Agenten bleiben unberührt.
+     */
+    public void wakeUp() {
+        if (suspended) {
+            resume();
+        }
+    }
+
+    private void resume() {
+        stopper.stop();
+        stopper = event.schedule.scheduleRepeating(this);
+        suspended = false;
+    }
+
     public Int2D getTargetPosition() {
         return targetPosition;
     }
@@ -164,16 +244,13 @@ public class Agent implements Steppable {
         }
 
         if (event != null) {
-            for (RestrictedArea ra : event.getRestrictedAreas()) {
-                if (ra.isActive()
-                        && ra.isInside(position.x, position.y)
-                        && (!(this instanceof Person person) || person.getType() == Person.PersonType.VISITOR)) {
-
-                    if (logger.isLoggable(Level.INFO)) {
-                        logger.info(String.format("Ziel liegt in Sperrzone und wird ignoriert: %s", position));
-                    }
-                    return;
+            if (event.isRestricted(position.x, position.y)
+                    && (!(this instanceof Person person) || person.getType() == Person.PersonType.VISITOR)) {
+
+                if (logger.isLoggable(Level.INFO)) {
+                    logger.info(String.format("Ziel liegt in Sperrzone und wird ignoriert: %s", position));
                 }
+                return;
             }
         }
 
@@ -226,35 +303,37 @@ public class Agent implements Steppable {
     @Override
     public void step(SimState state) {
         Event sim = (Event) state;
+        suspended = false;
         currentState = currentState.act(this, sim);
         if (!sim.agents.contains(this)) return;
 
-        Int2D pos = sim.grid.getObjectLocation(this);
+        PositionStore positions = sim.getPositions();
+        Int2D pos = positions.getLocation(this);
         if (pos == null) return;
 
-        sim.grid.setObjectLocation(this, pos);
-
         if (targetPosition == null) {
-            int dx = sim.random.nextInt(3) - 1;
-            int dy = sim.random.nextInt(3) - 1;
-            sim.grid.setObjectLocation(this, new Int2D(
-                    Math.max(0, Math.min(sim.grid.getWidth() - 1, pos.x + dx)),
-                    Math.max(0, Math.min(sim.grid.getHeight() - 1, pos.y + dy))
-            ));
+            MovementUtils.randomMove(this, sim);
         }
 
         Zone zone = sim.getZoneByPosition(pos);
         if (currentState == null) {
             // Agent entfernt sich aus der Simulation (wurde von ExitFinalizedState oder QueueingState entschieden)
             if (stopper != null) stopper.stop();
-            sim.grid.remove(this);
+            positions.remove(this);
             sim.agents.remove(this);
             System.out.println("Agent verlässt Simulation aus " + (zone != null ? zone.getType() : "unbekannt"));
         }
     }
 
     public boolean tryEnterZone(Zone targetZone) {
-        if (!targetZone.isFull()) {
+        if (currentZone == targetZone && targetZone.contains(this)) {
+            // Schon drin, z. B. nach dem Einlass aus der Warteschlange
+            clearTarget();
+            setInQueue(false);
+            return true;
+        }
+        // Freie Plätze gehen zuerst an die Warteschlange; niemand überholt die Wartenden
+        if (targetZone.admits(this)) {
             if (currentZone != null) {
                 event.getCollector().recordZoneExit(this, currentZone);
                 currentZone.leave(this);
@@ -263,17 +342,17 @@ public class Agent implements Steppable {
             event.getCollector().recordZoneEntry(this, targetZone);
             currentZone = targetZone;
             clearTarget();
-            isInQueue = false;
+            setInQueue(false);
 
             if (targetZone.getType() == Zone.ZoneType.EMERGENCY_EXIT || targetZone.getType() == Zone.ZoneType.EXIT) {
-                event.schedule.scheduleOnce(
-                        event.schedule.getTime() + EXIT_DURATION_TICKS,
+                event.getTimers().scheduleAt(
+                        (long) event.schedule.getTime() + EXIT_DURATION_TICKS,
                         new Steppable() {
                             @Override
                             public void step(SimState sim) {
                                 leaveCurrentZone();
                                 if (stopper != null) stopper.stop();
-                                event.grid.remove(Agent.this);
+                                event.getPositions().remove(Agent.this);
                                 event.agents.remove(Agent.this);
                                 System.out.println("Agent hat die Zone " + targetZone.getType() + " verlassen und wurde entfernt.");
                             }
@@ -0,0 +1,199 @@
+package org.simulation;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Verzeichnis aller Agenten eines {@link Event}.
+ * Ersetzt die frühere {@code ArrayList}: Enthalten-Prüfung und Entfernen kosten O(1), weil jeder Agent
+ * seine Position im Verzeichnis kennt und beim Entfernen der letzte Agent in die Lücke rückt.
+ * Dadurch ändert sich nach einem Entfernen die Iterationsreihenfolge, bleibt aber deterministisch.
+ * <p>
+ * Jeder Agent erhält beim ersten Eintragen eine fortlaufende ID, die er danach behält.
+ * Zusätzlich gibt es Sichten nach Rolle: Besucher (einfache {@link Agent}s und {@link Person}en vom Typ
+ * VISITOR), Security und Sanitäter.
+ */
+public class AgentRegistry extends AbstractCollection<Agent> implements Serializable {
+
+    private final List<Agent> all = new ArrayList<>();
+    private final Map<Person.PersonType, List<Agent>> byRole = new EnumMap<>(Person.PersonType.class);
+    private final List<Agent> byId = new ArrayList<>();
+    private int modCount = 0;
+
+    public AgentRegistry() {
+        for (Person.PersonType type : Person.PersonType.values()) {
+            byRole.put(type, new ArrayList<>());
+        }
+    }
+
+    @Override
+    public boolean add(Agent agent) {
+        if (contains(agent)) {
+            return false;
+        }
+        if (agent.registryId < 0) {
+            agent.registryId = byId.size();
+            byId.add(agent);
+        } else {
+            while (byId.size() <= agent.registryId) {
+                byId.add(null);
+            }
+            byId.set(agent.registryId, agent);
+        }
+
+        agent.registryIndex = all.size();
+        all.add(agent);
+        List<Agent> role = byRole.get(roleOf(agent));
+        agent.roleIndex = role.size();
+        role.add(agent);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Agent agent)) {
+            return false;
+        }
+        int index = agent.registryIndex;
+        // Identitätsprüfung, falls der Agent in einem anderen Verzeichnis eingetragen ist
+        return index >= 0 && index < all.size() && all.get(index) == agent;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        Agent agent = (Agent) o;
+        swapRemove(all, agent.registryIndex, true);
+        swapRemove(byRole.get(roleOf(agent)), agent.roleIndex, false);
+        byId.set(agent.registryId, null);
+        agent.registryIndex = -1;
+        agent.roleIndex = -1;
+        modCount++;
+        return true;
+    }
+
+    private static void swapRemove(List<Agent> list, int index, boolean registryIndex) {
+        int last = list.size() - 1;
+        Agent moved = list.get(last);
+        list.set(index, moved);
+        list.remove(last);
+        if (moved != null && index != last) {
+            if (registryIndex) {
+                moved.registryIndex = index;
+            } else {
+                moved.roleIndex = index;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Agent agent : all) {
+            agent.registryIndex = -1;
+            agent.roleIndex = -1;
+            byId.set(agent.registryId, null);
+        }
+        all.clear();
+        for (List<Agent> role : byRole.values()) {
+            role.clear();
+        }
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return all.size();
+    }
+
+    @Override
+    public Iterator<Agent> iterator() {
+        return new Iterator<>() {
+            private int cursor = 0;
+            private int lastReturned = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < all.size();
+            }
+
+            @Override
+            public Agent next() {
+                checkForComodification();
+                if (cursor >= all.size()) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = cursor;
+                return all.get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+                checkForComodification();
+                AgentRegistry.this.remove(all.get(lastReturned));
+                // Der letzte Agent ist in die Lücke gerückt und muss noch besucht werden
+                cursor = lastReturned;
+                lastReturned = -1;
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        };
+    }
+
+    /**
+     * @return Agent mit dieser ID oder {@code null}, falls er nicht (mehr) eingetragen ist
+     */
+    public Agent getById(int id) {
+        return id >= 0 && id < byId.size() ? byId.get(id) : null;
+    }
+
+    /**
+     * @return Besucher (einfache Agenten und Personen vom Typ VISITOR); nur lesbar
+     */
+    public List<Agent> getVisitors() {
+        return Collections.unmodifiableList(byRole.get(Person.PersonType.VISITOR));
+    }
+
+    /**
+     * @return Personen vom Typ SECURITY; nur lesbar
+     */
+    public List<Person> getSecurity() {
+        return persons(Person.PersonType.SECURITY);
+    }
+
+    /**
+     * @return Personen vom Typ MEDIC; nur lesbar
+     */
+    public List<Person> getMedics() {
+        return persons(Person.PersonType.MEDIC);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Person> persons(Person.PersonType type) {
+        // Security und Sanitäter sind immer Personen
+        return Collections.unmodifiableList((List<Person>) (List<?>) byRole.get(type));
+    }
+
+    private static Person.PersonType roleOf(Agent agent) {
+        return agent instanceof Person p ? p.getType() : Person.PersonType.VISITOR;
+    }
+}
@@ -0,0 +1,53 @@
+package org.simulation;
+
+import sim.util.Int2D;
+
+/**
+ * Vorab angelegte {@link Int2D}-Instanzen für jede Zelle eines Grids.
+ * {@code Int2D} ist unveränderlich; Bewegungen können deshalb die gemeinsame Instanz einer Zelle
+ * verwenden, statt pro Schritt ein neues Objekt zu erzeugen. Nur Koordinaten außerhalb des Grids
+ * werden weiterhin neu angelegt.
+ * <p>
+ * Auf sehr großen Grids würde die Tabelle mehr Speicher kosten als sie spart; oberhalb von
+ * {@value #MAX_CELLS} Zellen wird deshalb nicht vorab angelegt ({@link #supports}).
+ */
+public final class CellTable {
+
+    public static final int MAX_CELLS = 1 << 20;
+
+    private final int width;
+    private final int height;
+    private final Int2D[] cells;
+
+    public CellTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new Int2D[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                cells[y * width + x] = new Int2D(x, y);
+            }
+        }
+    }
+
+    /**
+     * @return gemeinsame Instanz der Zelle bzw. neue Instanz außerhalb des Grids
+     */
+    public Int2D get(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return new Int2D(x, y);
+        }
+        return cells[y * width + x];
+    }
+
+    /**
+     * @return {@code true}, wenn sich für ein Grid dieser Größe eine Tabelle lohnt
+     */
+    public static boolean supports(int width, int height) {
+        return (long) width * height <= MAX_CELLS;
+    }
+
+    public boolean fits(int width, int height) {
+        return this.width == width && this.height == height;
+    }
+}
@@ -0,0 +1,113 @@
+package org.simulation;
+
+import java.io.Serializable;
+
+/**
+ * Laufend mitgezählte Agentendichte pro Zelle eines {@link Event}.
+ * Jeder Zug über den {@link PositionStore} des Events passt die Zähler der alten und der neuen Zelle an;
+ * die Abfrage einer Zelle ist damit ein einzelner Array-Zugriff, ohne {@code event.agents} zu durchlaufen.
+ * <p>
+ * Für Rechtecksummen gibt es zusätzlich eine Summentabelle (summed-area table), die einmal pro Tick vor
+ * den Agenten neu aufgebaut wird. {@link #sum} beantwortet damit beliebige Rechtecke in O(1), sieht aber
+ * den Stand zu Beginn des Ticks; {@link #countAt} ist immer aktuell.
+ */
+public class CrowdDensity implements Serializable {
+
+    private final int width;
+    private final int height;
+    private final int[] counts;
+    // (width + 1) x (height + 1), Zeile und Spalte 0 sind Null
+    private final int[] prefix;
+    private int total = 0;
+
+    public CrowdDensity(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.counts = new int[width * height];
+        this.prefix = new int[(width + 1) * (height + 1)];
+    }
+
+    /**
+     * Verschiebt einen Agenten zwischen zwei Zellen. Zellen außerhalb des Rasters werden nicht gezählt,
+     * darunter {@link PositionStore#NOT_PLACED} für „nicht platziert“.
+     */
+    void moved(int fromX, int fromY, int toX, int toY) {
+        add(fromX, fromY, -1);
+        add(toX, toY, 1);
+    }
+
+    private void add(int x, int y, int delta) {
+        if (contains(x, y)) {
+            counts[y * width + x] += delta;
+            total += delta;
+        }
+    }
+
+    /**
+     * Baut die Summentabelle aus den aktuellen Zählern neu auf.
+     */
+    public void rebuild() {
+        int stride = width + 1;
+        for (int y = 0; y < height; y++) {
+            int row = 0;
+            for (int x = 0; x < width; x++) {
+                row += counts[y * width + x];
+                prefix[(y + 1) * stride + x + 1] = prefix[y * stride + x + 1] + row;
+            }
+        }
+    }
+
+    /**
+     * @return aktuelle Anzahl Agenten auf der Zelle; 0 außerhalb des Rasters
+     */
+    public int countAt(int x, int y) {
+        return contains(x, y) ? counts[y * width + x] : 0;
+    }
+
+    /**
+     * Summe über das Rechteck mit den Ecken (minX, minY) und (maxX, maxY) einschließlich,
+     * beschnitten auf das Raster. Stand der letzten {@link #rebuild()}.
+     *
+     * @return Anzahl Agenten im Rechteck
+     */
+    public int sum(int minX, int minY, int maxX, int maxY) {
+        minX = Math.max(0, minX);
+        minY = Math.max(0, minY);
+        maxX = Math.min(width - 1, maxX);
+        maxY = Math.min(height - 1, maxY);
+        if (minX > maxX || minY > maxY) {
+            return 0;
+        }
+        int stride = width + 1;
+        return prefix[(maxY + 1) * stride + maxX + 1]
+                - prefix[minY * stride + maxX + 1]
+                - prefix[(maxY + 1) * stride + minX]
+                + prefix[minY * stride + minX];
+    }
+
+    /**
+     * @return Anzahl Agenten im Quadrat mit Radius {@code radius} um die Zelle (Stand der letzten {@link #rebuild()})
+     */
+    public int sumAround(int x, int y, int radius) {
+        return sum(x - radius, y - radius, x + radius, y + radius);
+    }
+
+    /**
+     * @return aktuelle Anzahl gezählter Agenten im Raster
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
@@ -0,0 +1,199 @@
+package org.simulation;
+
+import sim.util.Int2D;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link PositionStore} in primitiven Arrays, adressiert über die Agenten-ID aus dem {@link AgentRegistry}.
+ * x und y liegen in getrennten {@code int[]}; die Agenten einer Zelle bilden eine doppelt verkettete
+ * Liste über die Arrays {@code next} und {@code prev}. Ein Zug kostet damit ein paar Array-Schreibzugriffe,
+ * ohne Hash-Maps und ohne neue Objekte.
+ * Positionen außerhalb des Grids werden auf den Rand gesetzt.
+ * <p>
+ * Agenten müssen vor dem Platzieren im Registry eingetragen sein. Die GUI zeichnet nur das
+ * {@code SparseGrid2D}; dieser Speicher ist deshalb für headless Läufe gedacht.
+ */
+public class DensePositions implements PositionStore {
+
+    private static final int NONE = -1;
+
+    private final int width;
+    private final int height;
+    private final int[] cellHead;
+    private final int[] cellCount;
+
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int[] next = new int[0];
+    private int[] prev = new int[0];
+    private Agent[] agents = new Agent[0];
+    private transient CellTable cells;
+
+    public DensePositions(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cellHead = new int[width * height];
+        this.cellCount = new int[width * height];
+        Arrays.fill(cellHead, NONE);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public Int2D getLocation(Agent agent) {
+        int id = agent.getId();
+        if (!isPlaced(id)) {
+            return null;
+        }
+        if (!CellTable.supports(width, height)) {
+            return new Int2D(xs[id], ys[id]);
+        }
+        if (cells == null) {
+            cells = new CellTable(width, height);
+        }
+        return cells.get(xs[id], ys[id]);
+    }
+
+    @Override
+    public int getX(Agent agent) {
+        int id = agent.getId();
+        return isPlaced(id) ? xs[id] : NOT_PLACED;
+    }
+
+    @Override
+    public int getY(Agent agent) {
+        int id = agent.getId();
+        return isPlaced(id) ? ys[id] : NOT_PLACED;
+    }
+
+    @Override
+    public void setLocation(Agent agent, int x, int y) {
+        int id = agent.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("Agent muss vor dem Platzieren im AgentRegistry eingetragen sein");
+        }
+        // Anders als das unbeschränkte SparseGrid2D kennt das Array nur Zellen des Grids
+        x = Math.max(0, Math.min(width - 1, x));
+        y = Math.max(0, Math.min(height - 1, y));
+        ensureCapacity(id);
+        if (isPlaced(id)) {
+            if (xs[id] == x && ys[id] == y) {
+                return;
+            }
+            unlink(id);
+        }
+        xs[id] = x;
+        ys[id] = y;
+        agents[id] = agent;
+        link(id);
+    }
+
+    @Override
+    public void remove(Agent agent) {
+        int id = agent.getId();
+        if (isPlaced(id)) {
+            unlink(id);
+            xs[id] = NONE;
+            ys[id] = NONE;
+            agents[id] = null;
+        }
+    }
+
+    @Override
+    public int countAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return 0;
+        }
+        return cellCount[y * width + x];
+    }
+
+    @Override
+    public void collectWithin(int centerX, int centerY, double radius, List<Agent> out) {
+        int r = (int) Math.floor(radius);
+        double limit = radius * radius;
+        int minX = Math.max(0, centerX - r);
+        int maxX = Math.min(width - 1, centerX + r);
+        int minY = Math.max(0, centerY - r);
+        int maxY = Math.min(height - 1, centerY + r);
+        for (int y = minY; y <= maxY; y++) {
+            long dy = (long) y - centerY;
+            for (int x = minX; x <= maxX; x++) {
+                long dx = (long) x - centerX;
+                if (dx * dx + dy * dy > limit) {
+                    continue;
+                }
+                for (int id = cellHead[y * width + x]; id != NONE; id = next[id]) {
+                    out.add(agents[id]);
+                }
+            }
+        }
+    }
+
+    private boolean isPlaced(int id) {
+        return id >= 0 && id < xs.length && xs[id] != NONE;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < xs.length) {
+            return;
+        }
+        int capacity = Math.max(id + 1, Math.max(16, xs.length * 2));
+        int old = xs.length;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        agents = Arrays.copyOf(agents, capacity);
+        Arrays.fill(xs, old, capacity, NONE);
+        Arrays.fill(ys, old, capacity, NONE);
+    }
+
+    // Hängt den Agenten hinten an die Liste seiner Zelle an, damit die Reihenfolge der Ankunft entspricht
+    private void link(int id) {
+        int cell = ys[id] * width + xs[id];
+        next[id] = NONE;
+        int head = cellHead[cell];
+        if (head == NONE) {
+            prev[id] = id;
+            cellHead[cell] = id;
+        } else {
+            // prev des Kopfes zeigt auf das Listenende
+            int tail = prev[head];
+            next[tail] = id;
+            prev[id] = tail;
+            prev[head] = id;
+        }
+        cellCount[cell]++;
+    }
+
+    private void unlink(int id) {
+        int cell = ys[id] * width + xs[id];
+        int head = cellHead[cell];
+        if (head == id) {
+            int successor = next[id];
+            if (successor != NONE) {
+                prev[successor] = prev[id];
+            }
+            cellHead[cell] = successor;
+        } else {
+            int predecessor = prev[id];
+            next[predecessor] = next[id];
+            if (next[id] != NONE) {
+                prev[next[id]] = predecessor;
+            } else {
+                prev[head] = predecessor;
+            }
+        }
+        cellCount[cell]--;
+    }
+}
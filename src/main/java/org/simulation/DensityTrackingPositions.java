@@ -0,0 +1,96 @@
+package org.simulation;
+
+import sim.util.Int2D;
+
+import java.util.List;
+
+/**
+ * {@link PositionStore}, der Züge an einen anderen Speicher weiterreicht und dabei die
+ * {@link CrowdDensity} des Events nachführt. Die Dichte sieht damit jede Bewegung, unabhängig davon,
+ * ob darunter das {@code SparseGrid2D} oder die dichten Arrays liegen.
+ */
+public class DensityTrackingPositions implements PositionStore {
+
+    private final PositionStore delegate;
+    private final CrowdDensity density;
+
+    public DensityTrackingPositions(PositionStore delegate, CrowdDensity density) {
+        this.delegate = delegate;
+        this.density = density;
+    }
+
+    /**
+     * @return Speicher, der die Positionen tatsächlich hält
+     */
+    public PositionStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public int getWidth() {
+        return delegate.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return delegate.getHeight();
+    }
+
+    @Override
+    public Int2D getLocation(Agent agent) {
+        return delegate.getLocation(agent);
+    }
+
+    @Override
+    public int getX(Agent agent) {
+        return delegate.getX(agent);
+    }
+
+    @Override
+    public int getY(Agent agent) {
+        return delegate.getY(agent);
+    }
+
+    @Override
+    public void setLocation(Agent agent, int x, int y) {
+        int beforeX = delegate.getX(agent);
+        int beforeY = delegate.getY(agent);
+        delegate.setLocation(agent, x, y);
+        track(agent, beforeX, beforeY);
+    }
+
+    @Override
+    public void setLocation(Agent agent, Int2D location) {
+        int beforeX = delegate.getX(agent);
+        int beforeY = delegate.getY(agent);
+        delegate.setLocation(agent, location);
+        track(agent, beforeX, beforeY);
+    }
+
+    // Der Delegat kann die Zielzelle anpassen (z. B. auf den Rand setzen), deshalb zählt die tatsächliche Position
+    private void track(Agent agent, int beforeX, int beforeY) {
+        int afterX = delegate.getX(agent);
+        int afterY = delegate.getY(agent);
+        if (beforeX != afterX || beforeY != afterY) {
+            density.moved(beforeX, beforeY, afterX, afterY);
+        }
+    }
+
+    @Override
+    public void remove(Agent agent) {
+        int beforeX = delegate.getX(agent);
+        int beforeY = delegate.getY(agent);
+        delegate.remove(agent);
+        density.moved(beforeX, beforeY, NOT_PLACED, NOT_PLACED);
+    }
+
+    @Override
+    public int countAt(int x, int y) {
+        return delegate.countAt(x, y);
+    }
+
+    @Override
+    public void collectWithin(int centerX, int centerY, double radius, List<Agent> out) {
+        delegate.collectWithin(centerX, centerY, radius, out);
+    }
+}
@@ -1,23 +1,40 @@
 package org.simulation;
 
 import events.Disturbance;
+import events.FightDisturbance;
+import events.FireDisturbance;
+import events.StormDisturbance;
 
 import metrics.DefaultMetricsCollector;
 import metrics.MetricsCollector;
 import metrics.MetricsViewer;
 import sounds.EventSoundSystem;
 import sounds.SoundType;
+import ec.util.MersenneTwisterFast;
+import sim.engine.Schedule;
 import sim.engine.SimState;
 import sim.engine.Steppable;
 import sim.engine.Stoppable;
 import sim.field.grid.SparseGrid2D;
 import sim.util.Bag;
 import sim.util.Int2D;
+import org.simulation.navigation.ExitDistanceFields;
+import org.simulation.navigation.FlowFields;
+import org.simulation.navigation.PathPlanner;
+import org.simulation.venue.VenueLayout;
 import zones.*;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 
 /**
@@ -35,34 +52,71 @@ import java.util.List;
  */
 public class Event extends SimState {
 
+    private static final int DISTURBANCE_STREAM = 1;
+
     private final int visitorCount;
     private final int medicCount;
     private final int securityCount;
+    private final boolean headless;
+    private final EventConfig config;
+    private int spawnedVisitors = 0;
     public SparseGrid2D grid;
-    public final List<Zone> zones = new ArrayList<>();
-    public final List<Agent> agents = new ArrayList<>();
+    public final ZoneIndex zones = new ZoneIndex();
+    public final AgentRegistry agents = new AgentRegistry();
     private final List<Disturbance> disturbances = new ArrayList<>();
     private MetricsCollector metricsCollector;
 
-    private final EventSoundSystem soundSystem;
+    // Hält einen Thread-Pool und wird deshalb nicht mit in Snapshots geschrieben
+    private transient EventSoundSystem soundSystem;
     private FireStation fireStation;
-    private final transient List<RestrictedArea> restrictedAreas = new ArrayList<>();
+    private final List<RestrictedArea> restrictedAreas = new ArrayList<>();
+    private RestrictedAreaMask restrictedMask;
+    private WallMask walls;
 
     private boolean stormAlertTriggered = false; // NEU
 
+    // Eigener Zufallsstrom für Störungen, damit deren Platzierung das Verhalten der Agenten nicht verschiebt
+    private MersenneTwisterFast disturbanceRandom;
+    // Von außen (GUI-Thread) eingereichte Störungen; werden zu Beginn des nächsten Ticks übernommen
+    private final Queue<PendingCommand> pendingCommands = new ConcurrentLinkedQueue<>();
+    private final List<ExternalCommand> commandLog = new ArrayList<>();
+    // Einmalige Timer (Spawns, Ausgänge, Löscharbeiten) laufen über ein Zeitrad statt einzeln über den Schedule
+    private TimerWheel timers = new TimerWheel();
+    private ResponderPool responders = new ResponderPool(this);
+    private ExitDistanceFields exitFields = new ExitDistanceFields(this);
+    private FlowFields flowFields = new FlowFields(this);
+    private PathPlanner pathPlanner = new PathPlanner(this);
+    private RouteRegistry routes = new RouteRegistry(0, 0);
+    private final NeighborhoodQuery neighborhood = new NeighborhoodQuery(this);
+    private PositionStore positions = new SparsePositions(this);
+    private CrowdDensity density = new CrowdDensity(0, 0);
+    // Wird nicht gesichert, sondern nach dem Wiederherstellen bei Bedarf neu angelegt
+    private transient CellTable cells;
+    private final Queue<ExternalCommand> replayCommands = new ArrayDeque<>();
+
     public Event(long seed, int visitorCount, int medicCount, int securityCount,
                  MetricsCollector collector) {
+        this(seed, new EventConfig(visitorCount, medicCount, securityCount), collector);
+    }
+
+    public Event(long seed, EventConfig config, MetricsCollector collector) {
         super(seed);
         this.metricsCollector = collector;
-        this.visitorCount = visitorCount;
-        this.medicCount = medicCount;
-        this.securityCount = securityCount;
-        this.soundSystem = new EventSoundSystem();
+        this.visitorCount = config.getVisitorCount();
+        this.medicCount = config.getMedicCount();
+        this.securityCount = config.getSecurityCount();
+        this.headless = config.isHeadless();
+        this.config = new EventConfig(config);
+        // Headless Läufe (Batch, Build-Server) brauchen weder Audio noch dessen Thread-Pool
+        this.soundSystem = headless ? null : new EventSoundSystem();
     }
 
-    public static void main(String[] args) {
-        MetricsCollector collector = new DefaultMetricsCollector();
-
+    /**
+     * Registriert alle Standard-Metriken, die von Zonen, Panik und Störungen erzeugt werden.
+     *
+     * @param collector Ziel-Collector
+     */
+    public static void registerDefaultMetrics(MetricsCollector collector) {
         for (Zone.ZoneType type : Zone.ZoneType.values()) {
             collector.registerMetric("ZoneEntry_" + type);
             collector.registerMetric("ZoneExit_" + type);
@@ -71,10 +125,16 @@ public class Event extends SimState {
             collector.registerMetric("QueueWait_" + type);
             collector.registerMetric("PanicDuration");
         }
+        collector.registerMetric(PathPlanner.METRIC);
 
         for (String evt : List.of("FIRE", "FIGHT", "STORM")) {
             collector.registerMetric("EventTriggered_" + evt);
         }
+    }
+
+    public static void main(String[] args) {
+        MetricsCollector collector = new DefaultMetricsCollector();
+        registerDefaultMetrics(collector);
 
         Event sim = new Event(System.currentTimeMillis(), 15, 5, 5, collector);
         sim.start();
@@ -94,80 +154,93 @@ public class Event extends SimState {
     @Override
     public void start() {
         super.start();
+        disturbanceRandom = new MersenneTwisterFast(new int[]{(int) seed(), (int) (seed() >>> 32), DISTURBANCE_STREAM});
+        pendingCommands.clear();
+        commandLog.clear();
+        replayCommands.clear();
+        // Läuft in jedem Tick vor allen Agenten (Ordering -1)
+        schedule.scheduleRepeating(Schedule.EPOCH, -1, new Steppable() {
+            @Override
+            public void step(SimState state) {
+                Event event = (Event) state;
+                event.applyPendingCommands();
+                // Summentabelle der Dichte einmal pro Tick, mit dem Stand nach dem letzten Tick
+                event.density.rebuild();
+            }
+        }, 1);
+        timers = new TimerWheel();
+        schedule.scheduleRepeating(Schedule.EPOCH, 0, timers, 1);
+        responders = new ResponderPool(this);
+        exitFields = new ExitDistanceFields(this);
+        flowFields = new FlowFields(this);
+        pathPlanner = new PathPlanner(this, config.getNavigationMemoryBudget());
+
+        VenueLayout layout = config.getLayout();
+        grid = new SparseGrid2D(layout.getWidth(), layout.getHeight());
+        density = new CrowdDensity(grid.getWidth(), grid.getHeight());
+        positions = new DensityTrackingPositions(config.isDensePositions()
+                ? new DensePositions(grid.getWidth(), grid.getHeight())
+                : new SparsePositions(this), density);
+
+        restrictedMask = new RestrictedAreaMask(grid.getWidth(), grid.getHeight());
+        // Wände sind eine eigene Ebene: für alle Agenten unpassierbar, nicht nur teurer wie Sperrzonen
+        walls = new WallMask(grid.getWidth(), grid.getHeight());
+        for (VenueLayout.Wall wall : layout.getWalls()) {
+            walls.add(wall.minX(), wall.minY(), wall.maxX(), wall.maxY());
+        }
 
-        grid = new SparseGrid2D(100, 100);
-
-        Zone foodZone = new Zone(Zone.ZoneType.FOOD, new Int2D(5, 15), 3);
-        Zone wcZone = new Zone(Zone.ZoneType.WC, new Int2D(90, 25), 3);
-        Zone actMain = new Zone(Zone.ZoneType.ACT_MAIN, new Int2D(50, 45), 20);
-        Zone actSide = new Zone(Zone.ZoneType.ACT_SIDE, new Int2D(15, 85), 15);
-        Zone normalExit = new Zone(Zone.ZoneType.EXIT, new Int2D(60, 90), Integer.MAX_VALUE);
-        Zone emergencyNorth = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(50, 5), 5);
-        Zone emergencyEast = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(95, 50), 5);
-        Zone emergencyWest = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(5, 50), 5);
-
-        zones.addAll(List.of(
-                foodZone, wcZone, actMain, actSide, normalExit,
-                emergencyNorth, emergencyEast, emergencyWest
-        ));
-
-        EmergencyRouteStraight emergencyRouteStraight = new EmergencyRouteStraight(new Int2D(50, 10));
-        grid.setObjectLocation(emergencyRouteStraight, emergencyRouteStraight.getPosition());
-        schedule.scheduleRepeating(emergencyRouteStraight);
-
-
-        //   Zone emergencySouth = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(30, 95), Integer.MAX_VALUE); // Süden (links vom normalen Exit)
-        emergencyEast = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(95, 50), Integer.MAX_VALUE);    // Osten
-
-
-        EmergencyRouteRechts emergencyRouteRight = new EmergencyRouteRechts(new Int2D(83, 50));
-        grid.setObjectLocation(emergencyRouteRight, emergencyRouteRight.getPosition());
-        schedule.scheduleRepeating(emergencyRouteRight);
-
-        emergencyWest = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(5, 50), Integer.MAX_VALUE);     // Westen
-
-        EmergencyRouteLinks emergencyRouteLinks = new EmergencyRouteLinks(new Int2D(9, 50));
-        grid.setObjectLocation(emergencyRouteLinks, emergencyRouteLinks.getPosition());
-        schedule.scheduleRepeating(emergencyRouteLinks);
-
-        //  Zone emergencyNorthEast = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(85, 15), Integer.MAX_VALUE); // Nordosten
-        //  Zone emergencySouthWest = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(95, 95), Integer.MAX_VALUE); // Südost
-
-        zones.addAll(List.of(foodZone, wcZone, actMain, actSide, normalExit,
-                emergencyNorth, emergencyEast, emergencyWest));
+        // Ein erneuter Start (z. B. Neustart in der GUI) beginnt mit leerer Zonenliste
+        zones.clear();
+        for (VenueLayout.ZoneSpec spec : layout.getZones()) {
+            Zone zone = new Zone(spec.type(), cell(spec.x(), spec.y()),
+                    config.getZoneCapacity(spec.type(), spec.capacity()), spec.width(), spec.height());
+            zone.setServiceInterval(config.getServiceInterval(spec.type()));
+            zones.add(zone);
+        }
 
+        routes = new RouteRegistry(grid.getWidth(), grid.getHeight());
+        for (VenueLayout.RouteSpec spec : layout.getRoutes()) {
+            Int2D marker = cell(spec.x(), spec.y());
+            EmergencyRoute route = switch (spec.kind()) {
+                case STRAIGHT -> new EmergencyRouteStraight(marker);
+                case RIGHT -> new EmergencyRouteRechts(marker);
+                case LEFT -> new EmergencyRouteLinks(marker);
+            };
+            if (spec.rallyX() == spec.x() && spec.rallyY() == spec.y()) {
+                routes.add(route);
+            } else {
+                routes.add(route, cell(spec.rallyX(), spec.rallyY()));
+            }
+        }
+        for (EmergencyRoute route : routes.getRoutes()) {
+            grid.setObjectLocation(route, route.getPosition());
+            schedule.scheduleRepeating(route);
+        }
 
         // Alle Zonen im Grid sichtbar machen
         for (Zone z : zones) {
             grid.setObjectLocation(z, z.getPosition().x, z.getPosition().y);
         }
 
-        EmergencyRouteStraight routeStraight = new EmergencyRouteStraight(new Int2D(50, 10));
-        EmergencyRouteRechts routeRight = new EmergencyRouteRechts(new Int2D(83, 50));
-        EmergencyRouteLinks routeLinks = new EmergencyRouteLinks(new Int2D(9, 50));
-
-        grid.setObjectLocation(routeStraight, routeStraight.getPosition());
-        grid.setObjectLocation(routeRight, routeRight.getPosition());
-        grid.setObjectLocation(routeLinks, routeLinks.getPosition());
-
-        schedule.scheduleRepeating(routeStraight);
-        schedule.scheduleRepeating(routeRight);
-        schedule.scheduleRepeating(routeLinks);
-
-        fireStation = new FireStation(new Int2D(95, 70), this);
-        grid.setObjectLocation(fireStation, fireStation.getPosition().x,
-                fireStation.getPosition().y);
-        System.out.println("Feuerwache wurde bei " + fireStation.getPosition() + " erstellt");
-        Int2D eingang = new Int2D(60, 90); // Eingang Zone
+        if (layout.getFireStation() != null) {
+            fireStation = new FireStation(layout.getFireStation(), this);
+            grid.setObjectLocation(fireStation, fireStation.getPosition().x,
+                    fireStation.getPosition().y);
+            System.out.println("Feuerwache wurde bei " + fireStation.getPosition() + " erstellt");
+        } else {
+            fireStation = null;
+        }
+        Int2D eingang = layout.getEntrance(); // Eingang Zone
 
         for (int i = 0; i < visitorCount; i++) {
-            schedule.scheduleOnce(i, new Steppable() {
+            timers.scheduleAt(i, new Steppable() {
                 @Override
                 public void step(SimState state) {
                     Agent agent = new Agent();
                     agent.setEvent((Event) state);
+                    ((Event) state).spawnedVisitors++;
                     ((Event) state).agents.add(agent);
-                    ((Event) state).grid.setObjectLocation(agent, eingang);
+                    ((Event) state).positions.setLocation(agent, eingang);
                     Stoppable stopper = state.schedule.scheduleRepeating(agent);
                     agent.setStopper(stopper);
                 }
@@ -181,7 +254,7 @@ public class Event extends SimState {
             Person medic = new Person(Person.PersonType.MEDIC);
             medic.setEvent(this);
             agents.add(medic);
-            grid.setObjectLocation(medic, pos.x, pos.y);
+            positions.setLocation(medic, pos.x, pos.y);
             Stoppable stopper = schedule.scheduleRepeating(medic);
             medic.setStopper(stopper);
         }
@@ -192,32 +265,174 @@ public class Event extends SimState {
             Person security = new Person(Person.PersonType.SECURITY);
             security.setEvent(this);
             agents.add(security);
-            grid.setObjectLocation(security, pos.x, pos.y);
+            positions.setLocation(security, pos.x, pos.y);
             Stoppable stopper = schedule.scheduleRepeating(security);
             security.setStopper(stopper);
         }
         // RestrictedAreas ins Grid setzen → damit sie gezeichnet werden können
         for (RestrictedArea ra : restrictedAreas) {
             grid.setObjectLocation(ra, new Int2D(ra.getCenterX(), ra.getCenterY()));
+            ra.attach(restrictedMask);
         }
 
+        scheduleConfiguredDisturbances();
+
         System.out.println(
                 medicCount + " Sanitäter und " + securityCount + " Security-Personen wurden zur Simulation hinzugefügt.");
     }
 
+    /**
+     * Plant die in der Konfiguration hinterlegten Störungen zu ihrem festen Tick ein,
+     * damit Batch-Läufe ohne Buttons reproduzierbar Feuer, Schlägereien oder Sturm erleben.
+     */
+    private void scheduleConfiguredDisturbances() {
+        scheduleDisturbanceAt(config.getFireTick(), "FIRE", defaultDisturbanceFactory("FIRE"));
+        scheduleDisturbanceAt(config.getFightTick(), "FIGHT", defaultDisturbanceFactory("FIGHT"));
+        scheduleDisturbanceAt(config.getStormTick(), "STORM", defaultDisturbanceFactory("STORM"));
+    }
+
+    private void scheduleDisturbanceAt(long tick, String label, DisturbanceFactory factory) {
+        if (tick < 0) {
+            return;
+        }
+        schedule.scheduleOnce(tick, new Steppable() {
+            @Override
+            public void step(SimState state) {
+                ((Event) state).triggerDisturbance(label, factory);
+            }
+        });
+    }
+
+    /**
+     * Erzeugt sofort eine Störung, setzt sie ins Grid und zählt sie als ausgelöstes Ereignis.
+     *
+     * @param label   Metrik-Bezeichnung, z. B. {@code "FIRE"}
+     * @param factory erzeugt die Störung für dieses Event
+     * @return die gestartete Störung
+     */
+    public Disturbance triggerDisturbance(String label, DisturbanceFactory factory) {
+        Disturbance disturbance = factory.create(this);
+        spawn(disturbance);
+        if (metricsCollector != null) {
+            metricsCollector.recordEventTriggered(label);
+        }
+        return disturbance;
+    }
+
+    /**
+     * Reicht eine Störung von außerhalb des Simulations-Threads ein (z. B. aus einem Button der {@link EventUI}).
+     * Sie wird nicht sofort, sondern zu Beginn des nächsten Ticks vor allen Agenten ausgelöst
+     * und mit diesem Tick im {@link #getCommandLog() Befehlsprotokoll} vermerkt.
+     * Damit hängt der Verlauf nur noch vom Tick ab, nicht vom Zeitpunkt des Klicks.
+     *
+     * @param label   Metrik-Bezeichnung, z. B. {@code "FIRE"}
+     * @param factory erzeugt die Störung im Simulations-Thread
+     */
+    public void enqueueDisturbance(String label, DisturbanceFactory factory) {
+        pendingCommands.add(new PendingCommand(label, factory));
+    }
+
+    private void applyPendingCommands() {
+        long now = (long) schedule.getTime();
+        while (!replayCommands.isEmpty() && replayCommands.peek().getTick() <= now) {
+            String label = replayCommands.poll().getLabel();
+            pendingCommands.add(new PendingCommand(label, defaultDisturbanceFactory(label)));
+        }
+
+        PendingCommand command;
+        while ((command = pendingCommands.poll()) != null) {
+            synchronized (commandLog) {
+                commandLog.add(new ExternalCommand(now, command.label));
+            }
+            triggerDisturbance(command.label, command.factory);
+        }
+    }
+
+    /**
+     * @return Kopie aller bisher übernommenen externen Befehle in Reihenfolge ihrer Ausführung
+     */
+    public List<ExternalCommand> getCommandLog() {
+        synchronized (commandLog) {
+            return Collections.unmodifiableList(new ArrayList<>(commandLog));
+        }
+    }
+
+    /**
+     * Plant die Befehle eines früheren Laufs zu ihren protokollierten Ticks erneut ein.
+     * Muss nach {@link #start()} und vor dem ersten Schritt aufgerufen werden; bei gleichem Seed
+     * verläuft die Simulation dann identisch zum protokollierten Lauf.
+     *
+     * @param log Befehlsprotokoll, z. B. aus {@link #getCommandLog()}
+     */
+    public void replayCommands(List<ExternalCommand> log) {
+        // Kein eigener Schedule-Eintrag je Befehl: zusätzliche Einträge würden die Reihenfolge
+        // gleichzeitig geplanter Agenten verschieben. Die Befehle übernimmt applyPendingCommands.
+        List<ExternalCommand> sorted = new ArrayList<>(log);
+        sorted.sort(Comparator.comparingLong(ExternalCommand::getTick));
+        for (ExternalCommand command : sorted) {
+            defaultDisturbanceFactory(command.getLabel()); // unbekannte Befehle sofort ablehnen
+        }
+        replayCommands.addAll(sorted);
+    }
+
+    /**
+     * @return Fabrik für eine zufällig platzierte Störung der Art {@code FIRE}, {@code FIGHT} oder {@code STORM}
+     */
+    public static DisturbanceFactory defaultDisturbanceFactory(String label) {
+        return switch (label) {
+            case "FIRE" -> FireDisturbance::createRandom;
+            case "FIGHT" -> FightDisturbance::createRandom;
+            case "STORM" -> StormDisturbance::createRandom;
+            default -> throw new IllegalArgumentException("Unbekannte Störung: " + label);
+        };
+    }
+
+    /**
+     * @return Zufallsgenerator für Ort und Zeitpunkt von Störungen; aus dem Seed abgeleitet,
+     * aber unabhängig von {@link #random}
+     */
+    public MersenneTwisterFast getDisturbanceRandom() {
+        return disturbanceRandom;
+    }
+
+    private static class PendingCommand implements Serializable {
+        private final String label;
+        private final DisturbanceFactory factory;
+
+        PendingCommand(String label, DisturbanceFactory factory) {
+            this.label = label;
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Erzeugt eine Störung für ein laufendes Event (z. B. {@code FireDisturbance::createRandom}).
+     */
+    public interface DisturbanceFactory extends Serializable {
+        Disturbance create(Event event);
+    }
+
     // Getter-Methode, um eine Zone nach Typ zu finden
     public Zone getZoneByType(Zone.ZoneType type) {
-        return zones.stream()
-                .filter(z -> z.getType() == type)
-                .findFirst()
-                .orElse(null);
+        return zones.getFirstByType(type);
+    }
+
+    /**
+     * Wählt unter allen Zonen eines Typs die günstigste für einen Agenten: Schrittabstand laut Flussfeld
+     * plus {@link EventConfig#getZoneLoadWeight()} je Besucher in der Zone oder ihrer Warteschlange.
+     * Ist keine Zone erreichbar oder gibt es noch kein Grid, gilt wie bisher die erste Zone des Typs.
+     */
+    public Zone selectZone(Zone.ZoneType type, Int2D from) {
+        if (from == null || grid == null) {
+            return zones.getFirstByType(type);
+        }
+        Zone best = zones.leastLoaded(type, from,
+                zone -> flowFields.distance(zone.getPosition(), from.x, from.y), config.getZoneLoadWeight());
+        return best != null ? best : zones.getFirstByType(type);
     }
 
     public Zone getZoneByPosition(Int2D pos) {
-        return zones.stream()
-                .filter(z -> z.getPosition().equals(pos))
-                .findFirst()
-                .orElse(null);
+        return zones.getByPosition(pos);
     }
 
     public MetricsCollector getCollector() {
@@ -238,41 +453,122 @@ public class Event extends SimState {
         disturbance.setStopper(stopper);
     }
 
+    /**
+     * Nächster nicht voller Ausgang oder Notausgang, gemessen in Schritten um Sperrzonen herum.
+     */
     public Zone getNearestAvailableExit(Int2D fromPosition) {
-        return zones.stream()
-                .filter(z -> (z.getType() == Zone.ZoneType.EXIT || z.getType() == Zone.ZoneType.EMERGENCY_EXIT) && !z.isFull())
-                .min((z1, z2) -> {
-                    int d1 = Math.abs(z1.getPosition().x - fromPosition.x) + Math.abs(
-                            z1.getPosition().y - fromPosition.y);
-                    int d2 = Math.abs(z2.getPosition().x - fromPosition.x) + Math.abs(
-                            z2.getPosition().y - fromPosition.y);
-                    return Integer.compare(d1, d2);
-                })
-                .orElse(null);
+        List<Zone> exits = new ArrayList<>(zones.getByType(Zone.ZoneType.EXIT));
+        exits.addAll(zones.getByType(Zone.ZoneType.EMERGENCY_EXIT));
+        return exitFields.nearest(exits, fromPosition, true);
     }
 
+    /**
+     * Nächster Notausgang, gemessen in Schritten um Sperrzonen herum.
+     */
     public Zone getNearestAvailableEmergencyExit(Int2D fromPosition) {
-        return zones.stream()
-                .filter(z -> z.getType() == Zone.ZoneType.EMERGENCY_EXIT)
-                .min((z1, z2) -> {
-                    int d1 = Math.abs(z1.getPosition().x - fromPosition.x) + Math.abs(z1.getPosition().y - fromPosition.y);
-                    int d2 = Math.abs(z2.getPosition().x - fromPosition.x) + Math.abs(z2.getPosition().y - fromPosition.y);
-                    return Integer.compare(d1, d2);
-                })
-                .orElse(null);
+        return exitFields.nearest(zones.getByType(Zone.ZoneType.EMERGENCY_EXIT), fromPosition, false);
+    }
+
+    /**
+     * @return gemeinsame {@link Int2D}-Instanz dieser Zelle des aktuellen Grids
+     */
+    public Int2D cell(int x, int y) {
+        if (!CellTable.supports(grid.getWidth(), grid.getHeight())) {
+            return new Int2D(x, y);
+        }
+        CellTable table = cells;
+        if (table == null || !table.fits(grid.getWidth(), grid.getHeight())) {
+            table = new CellTable(grid.getWidth(), grid.getHeight());
+            cells = table;
+        }
+        return table.get(x, y);
+    }
+
+    /**
+     * @return Speicher der Agentenpositionen; Standard ist das {@code SparseGrid2D}
+     */
+    public PositionStore getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return laufend mitgezählte Agentendichte pro Zelle
+     */
+    public CrowdDensity getDensity() {
+        return density;
+    }
+
+    /**
+     * @return Umkreissuche nach Agenten
+     */
+    public NeighborhoodQuery getNeighborhood() {
+        return neighborhood;
+    }
+
+    /**
+     * @return Notfallrouten samt Sammelpunkten
+     */
+    public RouteRegistry getEmergencyRoutes() {
+        return routes;
     }
 
+    /**
+     * @return Abstandsfelder der Ausgänge
+     */
+    public ExitDistanceFields getExitFields() {
+        return exitFields;
+    }
+
+    /**
+     * @return Flussfelder zu den Zonenpositionen
+     */
+    public FlowFields getFlowFields() {
+        return flowFields;
+    }
+
+    /**
+     * @return A*-Wegplanung für Einsatzkräfte samt gemeinsamem Wege-Cache
+     */
+    public PathPlanner getPathPlanner() {
+        return pathPlanner;
+    }
+
+
+    /**
+     * Zieht zufällige Zellen, bis eine nicht auf einer Wand liegt, z. B. für den Ort einer Störung.
+     */
+    public Int2D randomOpenCell(MersenneTwisterFast rng) {
+        int x;
+        int y;
+        do {
+            x = rng.nextInt(grid.getWidth());
+            y = rng.nextInt(grid.getHeight());
+        } while (isWall(x, y));
+        return cell(x, y);
+    }
 
     private Int2D getRandomFreePosition() {
         Int2D pos;
         do {
-            int x = random.nextInt(grid.getWidth());
-            int y = random.nextInt(grid.getHeight());
-            pos = new Int2D(x, y);
+            pos = randomOpenCell(random);
         } while (getZoneByPosition(pos) != null);
         return pos;
     }
 
+    /**
+     * @return Zeitrad für einmalige Timer dieses Events
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * @return Einsatzverwaltung für Security und Sanitäter
+     */
+    public ResponderPool getResponders() {
+        return responders;
+    }
+
     public EventSoundSystem getSoundSystem() {
         return soundSystem;
     }
@@ -280,9 +576,9 @@ public class Event extends SimState {
     public void triggerFireAlarm(Int2D fireLocation) {
         if (soundSystem != null) {
             soundSystem.playSound(SoundType.FIRE_ALARM, -1);
-            System.out.println("FEUERALARM ausgelöst bei " + fireLocation);
-            dispatchFireTruckToFire(fireLocation);
         }
+        System.out.println("FEUERALARM ausgelöst bei " + fireLocation);
+        dispatchFireTruckToFire(fireLocation);
     }
 
     public void triggerStormAlert() {
@@ -297,17 +593,48 @@ public class Event extends SimState {
         return stormAlertTriggered;
     }
 
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getVisitorCount() {
+        return visitorCount;
+    }
+
+    /**
+     * Prüft, ob alle geplanten Besucher bereits erschienen sind und das Gelände wieder verlassen haben.
+     * Sicherheitskräfte und Sanitäter zählen nicht als Besucher.
+     *
+     * @return true, wenn kein Besucher mehr auf dem Gelände ist
+     */
+    public boolean allVisitorsLeft() {
+        if (spawnedVisitors < visitorCount) {
+            return false;
+        }
+        return agents.getVisitors().isEmpty();
+    }
+
     @Override
     public void finish() {
         super.finish();
 
-        SwingUtilities.invokeLater(() -> MetricsViewer.show(metricsCollector));
+        if (!headless) {
+            SwingUtilities.invokeLater(() -> MetricsViewer.show(metricsCollector));
+        }
 
         if (soundSystem != null) {
             soundSystem.shutdown();
         }
     }
 
+    /**
+     * Baut nach dem Wiederherstellen aus einem {@link EventSnapshot} das nicht serialisierte Sound-System neu auf.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        soundSystem = headless ? null : new EventSoundSystem();
+    }
+
     public FireStation getFireStation() {
         return fireStation;
     }
@@ -321,6 +648,49 @@ public class Event extends SimState {
 
     public void addRestrictedArea(RestrictedArea ra) {
         restrictedAreas.add(ra);
+        if (restrictedMask != null) {
+            ra.attach(restrictedMask);
+        }
+    }
+
+    /**
+     * @return Zähler, der sich bei jeder Änderung der aktiven Sperrzonen erhöht
+     */
+    public long getRestrictedAreaVersion() {
+        return restrictedMask == null ? -1 : restrictedMask.getVersion();
+    }
+
+    /**
+     * @return von Sperrzonen-Änderungen seit {@code sinceVersion} berührte Rechtecke, oder {@code null},
+     * wenn sie nicht mehr protokolliert sind und das ganze Grid neu verglichen werden muss
+     */
+    public List<RestrictedAreaMask.Change> getRestrictedAreaChanges(long sinceVersion) {
+        return restrictedMask == null ? null : restrictedMask.changesSince(sinceVersion);
+    }
+
+    /**
+     * Prüft, ob eine Zelle in einer aktiven Sperrzone liegt.
+     * Innerhalb des Grids genügt ein Blick ins Raster; nur vor {@link #start()} oder für Zellen
+     * außerhalb des Grids werden die Sperrzonen einzeln geprüft.
+     */
+    public boolean isRestricted(int x, int y) {
+        if (restrictedMask != null && restrictedMask.contains(x, y)) {
+            return restrictedMask.isBlocked(x, y);
+        }
+        for (RestrictedArea ra : restrictedAreas) {
+            if (ra.isActive() && ra.isInside(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prüft, ob eine Zelle eine Wand des Geländes ist. Wände gelten für alle Agenten, auch für
+     * Einsatzkräfte, die Sperrzonen betreten dürfen.
+     */
+    public boolean isWall(int x, int y) {
+        return walls != null && walls.isWall(x, y);
     }
 
     public List<RestrictedArea> getRestrictedAreas() {
@@ -0,0 +1,236 @@
+package org.simulation;
+
+import org.simulation.navigation.HierarchicalPathfinder;
+import org.simulation.navigation.PathPlanner;
+import org.simulation.venue.VenueLayout;
+import zones.Zone;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bündelt die Startparameter eines {@link Event}.
+ * Wird vom grafischen Startdialog ebenso wie von headless Batch-Läufen verwendet,
+ * damit ein Event ohne fest verdrahtete Werte aufgebaut werden kann.
+ * Die Standardwerte entsprechen dem Startdialog der {@link EventUI}.
+ */
+public class EventConfig implements Serializable {
+
+    private int visitorCount = 200;
+    private int medicCount = 5;
+    private int securityCount = 5;
+    private boolean headless = false;
+    private boolean densePositions = false;
+    private int gridWidth = 100;
+    private int gridHeight = 100;
+    private long navigationMemoryBudget = PathPlanner.DEFAULT_MEMORY_BUDGET;
+    private int zoneLoadWeight = 10;
+    // null = Standardgelände; unveränderlich und deshalb zwischen Kopien geteilt
+    private VenueLayout layout;
+    private final Map<Zone.ZoneType, Integer> zoneCapacities = new EnumMap<>(Zone.ZoneType.class);
+    private final Map<Zone.ZoneType, Integer> serviceIntervals = new EnumMap<>(Zone.ZoneType.class);
+    // Tick, zu dem eine Störung automatisch ausgelöst wird; negativ = keine
+    private long fireTick = -1;
+    private long fightTick = -1;
+    private long stormTick = -1;
+
+    public EventConfig() {
+        zoneCapacities.put(Zone.ZoneType.FOOD, 3);
+        zoneCapacities.put(Zone.ZoneType.WC, 3);
+        zoneCapacities.put(Zone.ZoneType.ACT_MAIN, 20);
+        zoneCapacities.put(Zone.ZoneType.ACT_SIDE, 15);
+    }
+
+    public EventConfig(int visitorCount, int medicCount, int securityCount) {
+        this();
+        this.visitorCount = visitorCount;
+        this.medicCount = medicCount;
+        this.securityCount = securityCount;
+    }
+
+    /**
+     * Kopiert alle Werte einer bestehenden Konfiguration.
+     */
+    public EventConfig(EventConfig other) {
+        this.visitorCount = other.visitorCount;
+        this.medicCount = other.medicCount;
+        this.securityCount = other.securityCount;
+        this.headless = other.headless;
+        this.densePositions = other.densePositions;
+        this.gridWidth = other.gridWidth;
+        this.gridHeight = other.gridHeight;
+        this.navigationMemoryBudget = other.navigationMemoryBudget;
+        this.zoneLoadWeight = other.zoneLoadWeight;
+        this.layout = other.layout;
+        this.zoneCapacities.putAll(other.zoneCapacities);
+        this.serviceIntervals.putAll(other.serviceIntervals);
+        this.fireTick = other.fireTick;
+        this.fightTick = other.fightTick;
+        this.stormTick = other.stormTick;
+    }
+
+    public int getVisitorCount() {
+        return visitorCount;
+    }
+
+    public void setVisitorCount(int visitorCount) {
+        this.visitorCount = visitorCount;
+    }
+
+    public int getMedicCount() {
+        return medicCount;
+    }
+
+    public void setMedicCount(int medicCount) {
+        this.medicCount = medicCount;
+    }
+
+    public int getSecurityCount() {
+        return securityCount;
+    }
+
+    public void setSecurityCount(int securityCount) {
+        this.securityCount = securityCount;
+    }
+
+    /**
+     * Im headless Modus wird weder ein Sound-System angelegt noch am Ende
+     * der Swing-Dialog mit den Metriken geöffnet.
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Legt Agentenpositionen in primitiven Arrays statt im {@code SparseGrid2D} ab ({@link DensePositions}).
+     * Spart Hash-Maps und Objekte bei sehr vielen Agenten; die GUI zeigt die Agenten dann nicht an.
+     */
+    public boolean isDensePositions() {
+        return densePositions;
+    }
+
+    public void setDensePositions(boolean densePositions) {
+        this.densePositions = densePositions;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    /**
+     * Größe des Geländes in Zellen. Die Standardzonen liegen im Bereich bis 100x100; auf größeren
+     * Grids bleibt der Rest frei begehbar. Ein kleineres Grid, in das das Gelände nicht passt, wird von
+     * {@link #getLayout()} abgelehnt.
+     */
+    public void setGridSize(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Grid muss mindestens 1x1 groß sein: " + width + "x" + height);
+        }
+        this.gridWidth = width;
+        this.gridHeight = height;
+    }
+
+    /**
+     * @return Gelände des Events in der konfigurierten Gridgröße; ohne eigenes Layout das Standardgelände
+     */
+    public VenueLayout getLayout() {
+        VenueLayout base = layout != null ? layout : VenueLayout.standard();
+        return base.withSize(gridWidth, gridHeight);
+    }
+
+    /**
+     * Setzt ein eigenes Gelände. Gridgröße und Zonenkapazitäten werden aus dem Layout übernommen;
+     * {@link #setGridSize} und {@link #setZoneCapacity} können sie danach wieder überschreiben.
+     */
+    public void setLayout(VenueLayout layout) {
+        this.layout = layout;
+        this.gridWidth = layout.getWidth();
+        this.gridHeight = layout.getHeight();
+        zoneCapacities.clear();
+    }
+
+    /**
+     * Speicherbudget in Bytes für die hierarchische Wegsuche auf großen Grids ({@link HierarchicalPathfinder}).
+     */
+    public long getNavigationMemoryBudget() {
+        return navigationMemoryBudget;
+    }
+
+    public void setNavigationMemoryBudget(long navigationMemoryBudget) {
+        this.navigationMemoryBudget = navigationMemoryBudget;
+    }
+
+    /**
+     * Umweg in Schritten, den ein Besucher je Person in einer Zone oder ihrer Warteschlange in Kauf nimmt,
+     * um eine weniger belastete Zone desselben Typs zu wählen ({@link Event#selectZone}).
+     * 0 wählt immer die nächstgelegene Zone.
+     */
+    public int getZoneLoadWeight() {
+        return zoneLoadWeight;
+    }
+
+    public void setZoneLoadWeight(int zoneLoadWeight) {
+        if (zoneLoadWeight < 0) {
+            throw new IllegalArgumentException("Lastgewicht darf nicht negativ sein: " + zoneLoadWeight);
+        }
+        this.zoneLoadWeight = zoneLoadWeight;
+    }
+
+    /**
+     * @return Kapazität der Zone dieses Typs oder {@code defaultCapacity}, falls nicht konfiguriert
+     */
+    public int getZoneCapacity(Zone.ZoneType type, int defaultCapacity) {
+        return zoneCapacities.getOrDefault(type, defaultCapacity);
+    }
+
+    public void setZoneCapacity(Zone.ZoneType type, int capacity) {
+        zoneCapacities.put(type, capacity);
+    }
+
+    /**
+     * @return Ticks zwischen zwei Einlässen aus der Warteschlange einer Zone dieses Typs (Standard 1)
+     */
+    public int getServiceInterval(Zone.ZoneType type) {
+        return serviceIntervals.getOrDefault(type, 1);
+    }
+
+    public void setServiceInterval(Zone.ZoneType type, int ticks) {
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Einlassintervall muss mindestens 1 Tick sein: " + ticks);
+        }
+        serviceIntervals.put(type, ticks);
+    }
+
+    public long getFireTick() {
+        return fireTick;
+    }
+
+    public void setFireTick(long fireTick) {
+        this.fireTick = fireTick;
+    }
+
+    public long getFightTick() {
+        return fightTick;
+    }
+
+    public void setFightTick(long fightTick) {
+        this.fightTick = fightTick;
+    }
+
+    public long getStormTick() {
+        return stormTick;
+    }
+
+    public void setStormTick(long stormTick) {
+        this.stormTick = stormTick;
+    }
+}
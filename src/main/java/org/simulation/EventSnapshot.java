@@ -0,0 +1,164 @@
+package org.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unveränderlicher Speicherabzug eines laufenden {@link Event}.
+ * Enthält Grid, Agenten samt Zuständen, Zonen, Sperrzonen, Störungen, Schedule, Zufallsgenerator
+ * und MetricsCollector als serialisierte Bytes im Speicher.
+ * <p>
+ * Jeder Aufruf von {@link #restore()} liefert eine unabhängige Kopie, die ab dem Tick des Abzugs
+ * weiterläuft. Damit lässt sich z. B. die Einlassphase einmal vorrechnen und danach beliebig oft
+ * mit unterschiedlichen Störungen fortsetzen. Anders als MASONs {@code writeToCheckpoint} wird nicht
+ * komprimiert, weil der Abzug im Normalfall nur im Speicher lebt.
+ * Das Sound-System wird nicht gesichert und beim Wiederherstellen neu angelegt (headless: keines).
+ * <p>
+ * Objekte, die {@link ForkShared} implementieren (z. B. die Notfallrouten), werden nicht kopiert:
+ * Im Abzug steht nur ein Verweis, und alle Kopien teilen sich dieselbe Instanz.
+ */
+public final class EventSnapshot {
+
+    private final byte[] data;
+    private final List<Object> shared;
+    private final double time;
+
+    private EventSnapshot(byte[] data, List<Object> shared, double time) {
+        this.data = data;
+        this.shared = shared;
+        this.time = time;
+    }
+
+    /**
+     * Erstellt einen Abzug des aktuellen Zustands. Das Event läuft danach unverändert weiter.
+     *
+     * @param event laufendes Event (nach {@link Event#start()})
+     * @return Abzug zum aktuellen Schedule-Zeitpunkt
+     */
+    public static EventSnapshot capture(Event event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        List<Object> shared = new ArrayList<>();
+        try (SharingOutputStream out = new SharingOutputStream(bytes, shared)) {
+            out.writeObject(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Event konnte nicht gesichert werden", e);
+        }
+        return new EventSnapshot(bytes.toByteArray(), List.copyOf(shared), event.schedule.getTime());
+    }
+
+    /**
+     * Kann parallel aus mehreren Threads aufgerufen werden.
+     *
+     * @return neue, von allen anderen Kopien unabhängige Instanz des gesicherten Events
+     */
+    public Event restore() {
+        try (SharingInputStream in = new SharingInputStream(new ByteArrayInputStream(data), shared)) {
+            return (Event) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Event konnte nicht wiederhergestellt werden", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Event konnte nicht wiederhergestellt werden", e);
+        }
+    }
+
+    /**
+     * Schreibt den Abzug auf die Festplatte, z. B. um eine Vorlaufphase über mehrere Prozesse zu teilen.
+     * Die gemeinsam genutzten Objekte werden dabei mitgeschrieben.
+     */
+    public void writeTo(Path file) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeDouble(time);
+            out.writeObject(new ArrayList<>(shared));
+            out.writeObject(data);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static EventSnapshot readFrom(Path file) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            double time = in.readDouble();
+            List<Object> shared = (List<Object>) in.readObject();
+            byte[] data = (byte[]) in.readObject();
+            return new EventSnapshot(data, List.copyOf(shared), time);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Ungültige Snapshot-Datei: " + file, e);
+        }
+    }
+
+    /**
+     * @return Schedule-Zeit (Tick), zu der der Abzug erstellt wurde
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * @return Größe des Abzugs in Bytes (ohne gemeinsam genutzte Objekte)
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * @return Anzahl der Objekte, die sich alle Kopien teilen
+     */
+    public int getSharedCount() {
+        return shared.size();
+    }
+
+    // Platzhalter für ein ForkShared-Objekt im Datenstrom
+    private record SharedRef(int index) implements Serializable {
+    }
+
+    private static final class SharingOutputStream extends ObjectOutputStream {
+        private final Map<Object, SharedRef> refs = new IdentityHashMap<>();
+        private final List<Object> shared;
+
+        SharingOutputStream(OutputStream out, List<Object> shared) throws IOException {
+            super(out);
+            this.shared = shared;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (!(obj instanceof ForkShared)) {
+                return obj;
+            }
+            return refs.computeIfAbsent(obj, o -> {
+                shared.add(o);
+                return new SharedRef(shared.size() - 1);
+            });
+        }
+    }
+
+    private static final class SharingInputStream extends ObjectInputStream {
+        private final List<Object> shared;
+
+        SharingInputStream(InputStream in, List<Object> shared) throws IOException {
+            super(in);
+            this.shared = shared;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            return obj instanceof SharedRef ref ? shared.get(ref.index()) : obj;
+        }
+    }
+}
@@ -17,6 +17,9 @@ import sim.portrayal.grid.SparseGridPortrayal2D;
 import sim.portrayal.simple.OvalPortrayal2D;
 import sim.portrayal.simple.RectanglePortrayal2D;
 import sim.util.Int2D;
+import zones.EmergencyRoute;
+import zones.EmergencyRouteLinks;
+import zones.EmergencyRouteRechts;
 import zones.FireStation;
 import zones.Zone;
 
@@ -52,12 +55,32 @@ public class EventUI extends GUIState {
     BufferedImage backgroundImage;
     private static final Logger logger = Logger.getLogger(EventUI.class.getName());
     private static final String PATH_EMERGENCY_RECHTS = "/images/EmergencyRouteRECHTS.png";
-    // Emergency route anonymous objects and visibility flag
+    // Emergency route anonymous objects and visibility flag; die drei Objekte tragen nur die Darstellung
+    // je Routenart, angezeigt wird ein eigener Marker je Route des geladenen Geländes
     private final Object emergencyRouteRight = new Object();
     private final Object emergencyRouteLeft = new Object();
     private final Object emergencyRouteStraight = new Object();
     private boolean emergencyRoutesVisible = false;
 
+    /**
+     * Blendet beim ersten Notfall für jede Notfallroute des Geländes das Pfeilsymbol ihrer Art an ihrer
+     * Position ein.
+     */
+    private void showEmergencyRoutes(Event event) {
+        if (emergencyRoutesVisible) {
+            return;
+        }
+        for (EmergencyRoute route : event.getEmergencyRoutes().getRoutes()) {
+            Object template = route instanceof EmergencyRouteRechts ? emergencyRouteRight
+                    : route instanceof EmergencyRouteLinks ? emergencyRouteLeft : emergencyRouteStraight;
+            Object marker = new Object();
+            gridPortrayal.setPortrayalForObject(marker, gridPortrayal.getPortrayalForObject(template));
+            event.grid.setObjectLocation(marker, route.getPosition());
+        }
+        emergencyRoutesVisible = true;
+        display.repaint();
+    }
+
     public EventUI(SimState state) {
         super(state);
     }
@@ -97,7 +120,9 @@ public class EventUI extends GUIState {
                 int medics = Integer.parseInt(medicField.getText());
                 int security = Integer.parseInt(securityField.getText());
 
-                Event sim = new Event(System.currentTimeMillis(), visitors, medics, security, collector);
+                long seed = System.currentTimeMillis();
+                System.out.println("Seed: " + seed);
+                Event sim = new Event(seed, visitors, medics, security, collector);
                 EventUI gui = new EventUI(sim);
                 Console console = new Console(gui);
                 console.setVisible(true);
@@ -112,6 +137,8 @@ public class EventUI extends GUIState {
 
     public void start() {
         super.start();
+        // Neues Grid: Routenmarker werden beim nächsten Notfall erneut eingeblendet
+        emergencyRoutesVisible = false;
         setupPortrayals();
     }
 
@@ -497,7 +524,6 @@ public class EventUI extends GUIState {
 
         // Reference to the simulation
         Event event = (Event) state;
-        MetricsCollector collector = event.getCollector();
 
         // Panel for buttons
         JPanel buttonPanel = new JPanel(new FlowLayout());
@@ -505,43 +531,25 @@ public class EventUI extends GUIState {
         // Fire Button
         JButton fireButton = new JButton("🔥 Fire");
         fireButton.addActionListener(e -> {
-            event.spawn(FireDisturbance.createRandom(event));
-            collector.recordEventTriggered("FIRE");
-            if (!emergencyRoutesVisible) {
-                event.grid.setObjectLocation(emergencyRouteRight, new Int2D(83, 50));
-                event.grid.setObjectLocation(emergencyRouteLeft, new Int2D(14, 50));
-                event.grid.setObjectLocation(emergencyRouteStraight, new Int2D(50, 15));
-                emergencyRoutesVisible = true;
-                display.repaint();
-            }
+            // Wird erst im nächsten Tick übernommen und mit diesem Tick protokolliert
+            event.enqueueDisturbance("FIRE", Event.defaultDisturbanceFactory("FIRE"));
+            showEmergencyRoutes(event);
         });
 
         // Fight Button
         JButton fightButton = new JButton("🥊 Fight");
         fightButton.addActionListener(e -> {
-            event.spawn(FightDisturbance.createRandom(event));
-            collector.recordEventTriggered("FIGHT");
-            if (!emergencyRoutesVisible) {
-                event.grid.setObjectLocation(emergencyRouteRight, new Int2D(83, 50));
-                event.grid.setObjectLocation(emergencyRouteLeft, new Int2D(14, 50));
-                event.grid.setObjectLocation(emergencyRouteStraight, new Int2D(50, 15));
-                emergencyRoutesVisible = true;
-                display.repaint();
-            }
+            // Wird erst im nächsten Tick übernommen und mit diesem Tick protokolliert
+            event.enqueueDisturbance("FIGHT", Event.defaultDisturbanceFactory("FIGHT"));
+            showEmergencyRoutes(event);
         });
 
         // Storm Button
         JButton stormButton = new JButton("🌩️ Storm");
         stormButton.addActionListener(e -> {
-            event.spawn(StormDisturbance.createRandom(event));
-            collector.recordEventTriggered("STORM");
-            if (!emergencyRoutesVisible) {
-                event.grid.setObjectLocation(emergencyRouteRight, new Int2D(83, 50));
-                event.grid.setObjectLocation(emergencyRouteLeft, new Int2D(14, 50));
-                event.grid.setObjectLocation(emergencyRouteStraight, new Int2D(50, 15));
-                emergencyRoutesVisible = true;
-                display.repaint();
-            }
+            // Wird erst im nächsten Tick übernommen und mit diesem Tick protokolliert
+            event.enqueueDisturbance("STORM", Event.defaultDisturbanceFactory("STORM"));
+            showEmergencyRoutes(event);
         });
         // Add buttons to panel
         buttonPanel.add(fireButton);
@@ -0,0 +1,35 @@
+package org.simulation;
+
+import java.io.Serializable;
+
+/**
+ * Eintrag im Befehlsprotokoll eines {@link Event}: Eine von außen (GUI, Skript) ausgelöste Störung
+ * mit dem Tick, in dem sie tatsächlich in die Simulation übernommen wurde.
+ * Über {@link Event#replayCommands(java.util.List)} lässt sich ein Lauf damit exakt wiederholen.
+ */
+public class ExternalCommand implements Serializable {
+
+    private final long tick;
+    private final String label;
+
+    public ExternalCommand(long tick, String label) {
+        this.tick = tick;
+        this.label = label;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return Art der Störung, z. B. {@code "FIRE"}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return tick + "," + label;
+    }
+}
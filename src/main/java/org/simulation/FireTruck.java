@@ -1,13 +1,13 @@
 package org.simulation;
 
 import events.FireDisturbance;
+import org.simulation.navigation.PathFollower;
 import states.RoamingState;
 import sounds.EventSoundSystem;
 import sounds.SoundType;
 import sim.engine.SimState;
 import sim.engine.Steppable;
 import sim.engine.Stoppable;
-import sim.util.Bag;
 import sim.util.Int2D;
 
 import java.awt.Color;
@@ -27,8 +27,11 @@ public class FireTruck implements Steppable {
     private boolean arrivedAtFire = false;
     private final Event event;
     private Stoppable stopper;
-    private final EventSoundSystem soundSystem;
+    // Audio überlebt keinen Snapshot; nach dem Wiederherstellen fährt das Auto lautlos weiter
+    private final transient EventSoundSystem soundSystem;
     private int moveSpeed = 1; // Geschwindigkeit: 1 Feld pro Step
+    // Umfährt andere Gefahrenbereiche per A* statt in gerader Linie zu fahren
+    private final PathFollower route = new PathFollower();
     private int stepCounter = 0;
 
     public FireTruck(Int2D startPosition, Int2D firePosition, Event event) {
@@ -65,16 +68,15 @@ public class FireTruck implements Steppable {
             return;
         }
 
-        int dx = Integer.compare(targetPosition.x, currentPosition.x);
-        int dy = Integer.compare(targetPosition.y, currentPosition.y);
-
-        int newX = currentPosition.x + (dx * moveSpeed);
-        int newY = currentPosition.y + (dy * moveSpeed);
-
-        newX = Math.max(0, Math.min(event.grid.getWidth() - 1, newX));
-        newY = Math.max(0, Math.min(event.grid.getHeight() - 1, newY));
+        Int2D newPosition = currentPosition;
+        for (int i = 0; i < moveSpeed; i++) {
+            Int2D next = route.next(event, newPosition, targetPosition);
+            if (next == null) {
+                break;
+            }
+            newPosition = next;
+        }
 
-        Int2D newPosition = new Int2D(newX, newY);
         event.grid.setObjectLocation(this, newPosition);
         currentPosition = newPosition;
 
@@ -89,7 +91,7 @@ public class FireTruck implements Steppable {
         System.out.println("Feuerwehrauto beginnt mit Löscharbeiten!");
 
         int duration = 10 + event.random.nextInt(6); // 10–15
-        event.schedule.scheduleOnce(event.schedule.getTime() + duration, new Steppable() {
+        event.getTimers().scheduleAt((long) event.schedule.getTime() + duration, new Steppable() {
             @Override
             public void step(SimState state) {
                 extinguishFire();
@@ -99,28 +101,11 @@ public class FireTruck implements Steppable {
 
 
     private void resetPanicForAgentsNear(Int2D position, int radius) {
-        int startX = Math.max(0, position.x - radius);
-        int endX = Math.min(event.grid.getWidth() - 1, position.x + radius);
-        int startY = Math.max(0, position.y - radius);
-        int endY = Math.min(event.grid.getHeight() - 1, position.y + radius);
-
-        for (int x = startX; x <= endX; x++) {
-            for (int y = startY; y <= endY; y++) {
-                double distance = position.distance(new Int2D(x, y));
-                if (distance <= radius) {
-                    Bag objects = event.grid.getObjectsAtLocation(x, y);
-                    if (objects != null) {
-                        for (Object obj : objects) {
-                            if (obj instanceof Agent agent) {
-                                if (agent.isPanicking()) {
-                                    agent.setPanicking(false);
-                                    agent.setCurrentState(new RoamingState());
-                                    System.out.println("Panik-Agent bei " + new Int2D(x, y) + " beruhigt.");
-                                }
-                            }
-                        }
-                    }
-                }
+        for (Agent agent : event.getNeighborhood().agentsWithin(position, radius)) {
+            if (agent.isPanicking()) {
+                agent.setPanicking(false);
+                agent.setCurrentState(new RoamingState());
+                System.out.println("Panik-Agent bei " + event.getPositions().getLocation(agent) + " beruhigt.");
             }
         }
     }
@@ -0,0 +1,9 @@
+package org.simulation;
+
+/**
+ * Markiert Objekte, die sich nach dem Erzeugen nicht mehr verändern und deshalb von allen
+ * aus einem {@link EventSnapshot} wiederhergestellten Kopien gemeinsam genutzt werden dürfen.
+ * Solche Objekte werden beim Sichern nicht mit serialisiert, sondern nur per Referenz im Abzug gehalten.
+ */
+public interface ForkShared {
+}
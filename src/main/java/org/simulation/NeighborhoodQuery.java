@@ -0,0 +1,73 @@
+package org.simulation;
+
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Umkreissuche nach Agenten eines {@link Event} für Störungen und Feuerwehr.
+ * Statt alle Agenten nach ihrem Abstand zu fragen, werden über den {@link PositionStore}
+ * nur die Zellen im Umkreis besucht. Die Kosten hängen damit von der
+ * Fläche des Umkreises und der Zahl der Agenten darin ab, nicht von der Größe der Menge.
+ * <p>
+ * Die Zwischenspeicher werden wiederverwendet; das Ergebnis einer Abfrage ist nur bis zur nächsten
+ * Abfrage gültig und darf nicht verändert werden.
+ */
+public class NeighborhoodQuery implements Serializable {
+
+    private final Event event;
+    private transient List<Agent> candidates;
+    private transient List<Agent> result;
+
+    public NeighborhoodQuery(Event event) {
+        this.event = event;
+    }
+
+    /**
+     * @return alle eingetragenen Agenten, deren Zelle höchstens {@code radius} vom Mittelpunkt entfernt ist
+     */
+    public List<Agent> agentsWithin(Int2D center, double radius) {
+        return query(center, radius, false);
+    }
+
+    /**
+     * @return wie {@link #agentsWithin}, aber nur Besucher (ohne Security und Sanitäter)
+     */
+    public List<Agent> visitorsWithin(Int2D center, double radius) {
+        return query(center, radius, true);
+    }
+
+    private List<Agent> query(Int2D center, double radius, boolean visitorsOnly) {
+        if (result == null) {
+            candidates = new ArrayList<>();
+            result = new ArrayList<>();
+        }
+        result.clear();
+        if (center == null || event.grid == null || radius < 0) {
+            return result;
+        }
+
+        PositionStore positions = event.getPositions();
+        candidates.clear();
+        positions.collectWithin(center.x, center.y, radius, candidates);
+        double limit = radius * radius;
+        for (Agent agent : candidates) {
+            if (!event.agents.contains(agent)) {
+                continue;
+            }
+            if (visitorsOnly && agent instanceof Person p && p.getType() != Person.PersonType.VISITOR) {
+                continue;
+            }
+            Int2D pos = positions.getLocation(agent);
+            long dx = (long) pos.x - center.x;
+            long dy = (long) pos.y - center.y;
+            if (dx * dx + dy * dy <= limit) {
+                result.add(agent);
+            }
+        }
+        candidates.clear();
+        return result;
+    }
+}
@@ -89,7 +89,7 @@ public class Person extends Agent {
     }
 
     private boolean checkExitAndRemove(Event sim) {
-        Int2D pos = sim.grid.getObjectLocation(this);
+        Int2D pos = sim.getPositions().getLocation(this);
         if (pos == null) return false;
 
         Zone currentZone = sim.getZoneByPosition(pos);
@@ -100,7 +100,7 @@ public class Person extends Agent {
             logIf(true, "👋 Person erreicht Ausgang und wird entfernt: %s", pos);
 
             if (getStopper() != null) getStopper().stop();
-            sim.grid.remove(this);
+            sim.getPositions().remove(this);
             sim.agents.remove(this);
             return true;
         }
@@ -108,7 +108,7 @@ public class Person extends Agent {
     }
 
     private void logAgentStatus(Event sim) {
-        Int2D pos = sim.grid.getObjectLocation(this);
+        Int2D pos = sim.getPositions().getLocation(this);
         logIf(true,
                 "👤 Person @ %s | Type: %s | State: %s | Target: %s",
                 pos,
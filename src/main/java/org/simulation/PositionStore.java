@@ -0,0 +1,71 @@
+package org.simulation;
+
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Speicher für die Positionen der Agenten eines {@link Event}.
+ * Zustände, Störungen und Bewegungslogik lesen und setzen Agentenpositionen nur über diese
+ * Schnittstelle; Zonen, Störungen und andere Marker liegen weiterhin direkt im {@code SparseGrid2D}.
+ * <ul>
+ *   <li>{@link SparsePositions}: Standard, legt Agenten in MASONs {@code SparseGrid2D} ab (nötig für die GUI)</li>
+ *   <li>{@link DensePositions}: primitive Arrays nach Agenten-ID, für große headless Läufe</li>
+ * </ul>
+ */
+public interface PositionStore extends Serializable {
+
+    /**
+     * Ergebnis von {@link #getX} und {@link #getY} für nicht platzierte Agenten; liegt außerhalb jedes Grids.
+     */
+    int NOT_PLACED = Integer.MIN_VALUE;
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * @return Position des Agenten oder {@code null}, falls er nicht platziert ist
+     */
+    Int2D getLocation(Agent agent);
+
+    /**
+     * x-Koordinate des Agenten, ohne ein {@code Int2D} anzulegen – auch auf Grids, für die keine
+     * {@link CellTable} vorab angelegt wird.
+     *
+     * @return x-Koordinate oder {@link #NOT_PLACED}
+     */
+    default int getX(Agent agent) {
+        Int2D location = getLocation(agent);
+        return location != null ? location.x : NOT_PLACED;
+    }
+
+    /**
+     * @return y-Koordinate oder {@link #NOT_PLACED}
+     * @see #getX
+     */
+    default int getY(Agent agent) {
+        Int2D location = getLocation(agent);
+        return location != null ? location.y : NOT_PLACED;
+    }
+
+    void setLocation(Agent agent, int x, int y);
+
+    default void setLocation(Agent agent, Int2D location) {
+        setLocation(agent, location.x, location.y);
+    }
+
+    void remove(Agent agent);
+
+    /**
+     * @return Anzahl der Agenten auf der Zelle
+     */
+    int countAt(int x, int y);
+
+    /**
+     * Hängt alle Agenten an {@code out} an, deren Zelle höchstens {@code radius} vom Mittelpunkt entfernt ist.
+     * Die Reihenfolge ist deterministisch, aber nicht festgelegt.
+     */
+    void collectWithin(int centerX, int centerY, double radius, List<Agent> out);
+}
@@ -0,0 +1,137 @@
+package org.simulation;
+
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Einsatzverwaltung für Security und Sanitäter eines {@link Event}.
+ * Merkt sich anhand der Agenten-ID, wer gerade einer Störung zugeteilt ist, und liefert bei einer
+ * Alarmierung den nächstgelegenen freien Einsatzkräfte-Agenten.
+ * <p>
+ * Frei ist, wer nicht als belegt markiert ist und kein Ziel hat. Gesucht wird nur in der Rollen-Sicht des
+ * {@link AgentRegistry}; die Kosten hängen also von der Zahl der Einsatzkräfte ab, nicht von der Zahl der
+ * Besucher. Bei gleichem Abstand gewinnt, wer zuerst eingetragen wurde.
+ */
+public class ResponderPool implements Serializable {
+
+    private final Event event;
+    private final BitSet busy = new BitSet();
+
+    public ResponderPool(Event event) {
+        this.event = event;
+    }
+
+    /**
+     * @param role SECURITY oder MEDIC
+     * @param from Einsatzort
+     * @return nächstgelegene freie Einsatzkraft oder {@code null}, falls keine verfügbar ist
+     */
+    public Person nearestIdle(Person.PersonType role, Int2D from) {
+        Person best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (Person p : responders(role)) {
+            if (!isIdle(p)) {
+                continue;
+            }
+            long distance = distanceSq(p, from);
+            if (distance < bestDistance) {
+                best = p;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return alle freien Einsatzkräfte der Rolle, aufsteigend nach Abstand zum Einsatzort
+     */
+    public List<Person> idleByDistance(Person.PersonType role, Int2D from) {
+        List<Person> idle = new ArrayList<>();
+        for (Person p : responders(role)) {
+            if (isIdle(p)) {
+                idle.add(p);
+            }
+        }
+        // Stabile Sortierung: bei gleichem Abstand bleibt die Eintragungsreihenfolge erhalten
+        idle.sort(Comparator.comparingLong(p -> distanceSq(p, from)));
+        return idle;
+    }
+
+    /**
+     * Schickt die nächstgelegene freie Einsatzkraft zum Einsatzort und markiert sie als belegt.
+     *
+     * @return alarmierte Einsatzkraft oder {@code null}, falls keine verfügbar ist
+     */
+    public Person dispatch(Person.PersonType role, Int2D target) {
+        Person p = nearestIdle(role, target);
+        if (p != null) {
+            markBusy(p);
+            p.setTargetPosition(target);
+        }
+        return p;
+    }
+
+    /**
+     * Markiert eine Einsatzkraft als belegt. Nicht eingetragene Agenten (ohne ID) werden ignoriert.
+     */
+    public void markBusy(Person p) {
+        if (p.getId() >= 0) {
+            busy.set(p.getId());
+        }
+    }
+
+    /**
+     * Gibt eine Einsatzkraft wieder frei und löscht ihr Ziel. Den Folgezustand setzt der Aufrufer.
+     */
+    public void release(Person p) {
+        if (p.getId() >= 0) {
+            busy.clear(p.getId());
+        }
+        p.clearTarget();
+    }
+
+    public boolean isBusy(Person p) {
+        return p.getId() >= 0 && busy.get(p.getId());
+    }
+
+    public boolean isIdle(Person p) {
+        return !isBusy(p) && p.getTargetPosition() == null;
+    }
+
+    /**
+     * @return Anzahl freier Einsatzkräfte der Rolle
+     */
+    public int idleCount(Person.PersonType role) {
+        int count = 0;
+        for (Person p : responders(role)) {
+            if (isIdle(p)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<Person> responders(Person.PersonType role) {
+        return switch (role) {
+            case SECURITY -> event.agents.getSecurity();
+            case MEDIC -> event.agents.getMedics();
+            default -> throw new IllegalArgumentException("Keine Einsatzkraft-Rolle: " + role);
+        };
+    }
+
+    private long distanceSq(Person p, Int2D from) {
+        Int2D pos = event.getPositions().getLocation(p);
+        if (pos == null) {
+            // Nicht platzierte Agenten nur wählen, wenn sonst niemand frei ist
+            return Long.MAX_VALUE - 1;
+        }
+        long dx = (long) pos.x - from.x;
+        long dy = (long) pos.y - from.y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -1,5 +1,7 @@
 package org.simulation;
 
+import java.io.Serializable;
+
 /**
  * Repräsentiert eine eingeschränkte Zone (Restricted Area) im Eventgelände.
  * Diese kann aktiviert oder deaktiviert werden und besitzt einen Mittelpunkt sowie einen Radius.
@@ -7,11 +9,13 @@ package org.simulation;
  *
  * @author Dorothea Ziegler
  */
-public class RestrictedArea {
+public class RestrictedArea implements Serializable {
     private boolean active = true;
     private final int centerX;
     private final int centerY;
     private final int radius;
+    // Raster des Events, in das die Zone eingetragen ist; null, solange sie keinem Event gehört
+    private RestrictedAreaMask mask;
 
     public RestrictedArea(int centerX, int centerY, int radius) {
         this.centerX = centerX;
@@ -36,6 +40,9 @@ public class RestrictedArea {
     }
 
     public void deactivate() {
+        if (active && mask != null) {
+            mask.remove(this);
+        }
         this.active = false;
     }
 
@@ -46,7 +53,21 @@ public class RestrictedArea {
     }
 
     public void activate() {
+        if (!active && mask != null) {
+            mask.add(this);
+        }
         this.active = true;
     }
 
+    /**
+     * Trägt die Zone in das Raster eines Events ein. Spätere Aktivierungen und Deaktivierungen
+     * werden dort nachgeführt.
+     */
+    void attach(RestrictedAreaMask mask) {
+        this.mask = mask;
+        if (active) {
+            mask.add(this);
+        }
+    }
+
 }
\ No newline at end of file
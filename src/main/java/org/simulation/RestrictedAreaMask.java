@@ -0,0 +1,116 @@
+package org.simulation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rasterbild aller aktiven {@link RestrictedArea}s eines {@link Event}.
+ * Speichert pro Zelle, wie viele aktive Sperrzonen sie überdecken. Eine Sperrzone trägt sich beim
+ * Aktivieren ein und beim Deaktivieren wieder aus; die Prüfung, ob eine Zelle gesperrt ist, ist damit
+ * ein einzelner Array-Zugriff – unabhängig davon, wie viele Störungen es bisher gab.
+ * <p>
+ * Jede Änderung wird mit ihrem umschließenden Rechteck protokolliert ({@link #changesSince}); Abnehmer wie
+ * die Flussfelder prüfen damit nur die berührten Zellen statt des ganzen Grids. Das Protokoll ist auf
+ * {@value #MAX_LOGGED_CHANGES} Einträge begrenzt; wer weiter zurückliegt, muss das Raster neu lesen.
+ */
+public class RestrictedAreaMask implements Serializable {
+
+    public static final int MAX_LOGGED_CHANGES = 1024;
+
+    /**
+     * Von einer Änderung berührtes Rechteck, Grenzen einschließlich und innerhalb des Rasters.
+     */
+    public record Change(int minX, int minY, int maxX, int maxY) implements Serializable {
+    }
+
+    private final int width;
+    private final int height;
+    private final int[] counts;
+    private long version = 0;
+    // Änderung mit Version v liegt an Index v - firstLoggedVersion
+    private final List<Change> changes = new ArrayList<>();
+    private long firstLoggedVersion = 1;
+
+    public RestrictedAreaMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.counts = new int[width * height];
+    }
+
+    void add(RestrictedArea ra) {
+        apply(ra, 1);
+    }
+
+    void remove(RestrictedArea ra) {
+        apply(ra, -1);
+    }
+
+    private void apply(RestrictedArea ra, int delta) {
+        int r = ra.getRadius();
+        int minX = Math.max(0, ra.getCenterX() - r);
+        int maxX = Math.min(width - 1, ra.getCenterX() + r);
+        int minY = Math.max(0, ra.getCenterY() - r);
+        int maxY = Math.min(height - 1, ra.getCenterY() + r);
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                if (ra.isInside(x, y)) {
+                    counts[y * width + x] += delta;
+                }
+            }
+        }
+        logChange(minX, minY, maxX, maxY);
+    }
+
+    private void logChange(int minX, int minY, int maxX, int maxY) {
+        version++;
+        if (changes.size() == MAX_LOGGED_CHANGES) {
+            // Älteste Hälfte verwerfen statt bei jedem Eintrag umzukopieren
+            changes.subList(0, MAX_LOGGED_CHANGES / 2).clear();
+            firstLoggedVersion += MAX_LOGGED_CHANGES / 2;
+        }
+        // Leere Rechtecke (Sperrzone ganz außerhalb) zählen als Änderung ohne berührte Zellen
+        changes.add(minX <= maxX && minY <= maxY ? new Change(minX, minY, maxX, maxY) : null);
+    }
+
+    /**
+     * @return berührte Rechtecke aller Änderungen nach {@code sinceVersion} in ihrer Reihenfolge, oder
+     * {@code null}, wenn diese nicht mehr vollständig protokolliert sind
+     */
+    public List<Change> changesSince(long sinceVersion) {
+        if (sinceVersion >= version) {
+            return List.of();
+        }
+        if (sinceVersion + 1 < firstLoggedVersion || sinceVersion < 0) {
+            return null;
+        }
+        List<Change> result = new ArrayList<>();
+        for (Change change : changes.subList((int) (sinceVersion + 1 - firstLoggedVersion), changes.size())) {
+            if (change != null) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Zähler, der sich bei jeder Aktivierung oder Deaktivierung einer Sperrzone erhöht
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return {@code true}, wenn die Zelle innerhalb des Rasters liegt
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * @return {@code true}, wenn mindestens eine aktive Sperrzone die Zelle überdeckt
+     */
+    public boolean isBlocked(int x, int y) {
+        return counts[y * width + x] > 0;
+    }
+}
@@ -0,0 +1,102 @@
+package org.simulation;
+
+import sim.util.Int2D;
+import zones.EmergencyRoute;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Verzeichnis der Notfallrouten eines {@link Event}.
+ * Zu jeder Route gehört ein Sammelpunkt, den panische Agenten zuerst ansteuern; er kann von der
+ * Position des Markers abweichen.
+ * <p>
+ * Für jede Zelle des Grids wird beim ersten Bedarf der nächstgelegene Sammelpunkt (Manhattan-Distanz)
+ * vorberechnet, sodass eine Abfrage danach nur noch ein Array-Zugriff ist. Bei gleichem Abstand gewinnt
+ * die zuerst eingetragene Route.
+ */
+public class RouteRegistry implements Serializable {
+
+    private final int width;
+    private final int height;
+    private final List<EmergencyRoute> routes = new ArrayList<>();
+    private final List<Int2D> rallyPoints = new ArrayList<>();
+    // Index der nächsten Route je Zelle; wird nach Änderungen bzw. nach dem Wiederherstellen neu berechnet
+    private transient int[] nearestByCell;
+
+    public RouteRegistry(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Trägt eine Route ein, deren Sammelpunkt die Position des Markers ist.
+     */
+    public void add(EmergencyRoute route) {
+        add(route, route.getPosition());
+    }
+
+    public void add(EmergencyRoute route, Int2D rallyPoint) {
+        routes.add(route);
+        rallyPoints.add(rallyPoint);
+        nearestByCell = null;
+    }
+
+    /**
+     * @return alle Routen in Eintragungsreihenfolge; nur lesbar
+     */
+    public List<EmergencyRoute> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+
+    /**
+     * @return Sammelpunkt der nächstgelegenen Route oder {@code null}, falls keine eingetragen ist
+     */
+    public Int2D nearestRallyPoint(Int2D from) {
+        int index = nearestIndex(from);
+        return index < 0 ? null : rallyPoints.get(index);
+    }
+
+    /**
+     * @return nächstgelegene Route oder {@code null}, falls keine eingetragen ist
+     */
+    public EmergencyRoute nearestRoute(Int2D from) {
+        int index = nearestIndex(from);
+        return index < 0 ? null : routes.get(index);
+    }
+
+    private int nearestIndex(Int2D from) {
+        if (routes.isEmpty()) {
+            return -1;
+        }
+        if (from.x < 0 || from.y < 0 || from.x >= width || from.y >= height) {
+            return scan(from.x, from.y);
+        }
+        if (nearestByCell == null) {
+            int[] cells = new int[width * height];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    cells[y * width + x] = scan(x, y);
+                }
+            }
+            nearestByCell = cells;
+        }
+        return nearestByCell[from.y * width + from.x];
+    }
+
+    private int scan(int x, int y) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < rallyPoints.size(); i++) {
+            Int2D p = rallyPoints.get(i);
+            int d = Math.abs(p.x - x) + Math.abs(p.y - y);
+            if (d < bestDistance) {
+                best = i;
+                bestDistance = d;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,86 @@
+package org.simulation;
+
+import sim.field.grid.Grid2D;
+import sim.util.Bag;
+import sim.util.Int2D;
+import sim.util.IntBag;
+
+import java.util.List;
+
+/**
+ * {@link PositionStore}, der Agenten wie bisher im {@code SparseGrid2D} des Events ablegt.
+ * Das Grid wird bei jedem Zugriff neu vom Event gelesen, sodass auch ein nachträglich gesetztes
+ * Grid verwendet wird.
+ */
+public class SparsePositions implements PositionStore {
+
+    private final Event event;
+    private transient Bag objects;
+    private transient IntBag xs;
+    private transient IntBag ys;
+
+    public SparsePositions(Event event) {
+        this.event = event;
+    }
+
+    @Override
+    public int getWidth() {
+        return event.grid.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return event.grid.getHeight();
+    }
+
+    @Override
+    public Int2D getLocation(Agent agent) {
+        return event.grid.getObjectLocation(agent);
+    }
+
+    @Override
+    public void setLocation(Agent agent, int x, int y) {
+        event.grid.setObjectLocation(agent, event.cell(x, y));
+    }
+
+    @Override
+    public void setLocation(Agent agent, Int2D location) {
+        event.grid.setObjectLocation(agent, location);
+    }
+
+    @Override
+    public void remove(Agent agent) {
+        event.grid.remove(agent);
+    }
+
+    @Override
+    public int countAt(int x, int y) {
+        int count = 0;
+        Bag bag = event.grid.getObjectsAtLocation(x, y);
+        if (bag != null) {
+            for (int i = 0; i < bag.numObjs; i++) {
+                if (bag.objs[i] instanceof Agent) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void collectWithin(int centerX, int centerY, double radius, List<Agent> out) {
+        if (objects == null) {
+            objects = new Bag();
+            xs = new IntBag();
+            ys = new IntBag();
+        }
+        event.grid.getRadialNeighbors(centerX, centerY, radius, Grid2D.BOUNDED, true,
+                Grid2D.CENTER, true, objects, xs, ys);
+        for (int i = 0; i < objects.numObjs; i++) {
+            if (objects.objs[i] instanceof Agent agent) {
+                out.add(agent);
+            }
+        }
+        objects.clear();
+    }
+}
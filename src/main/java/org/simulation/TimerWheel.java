@@ -0,0 +1,132 @@
+package org.simulation;
+
+import sim.engine.SimState;
+import sim.engine.Steppable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Zweistufiges Zeitrad für einmalige Timer (Besucher-Spawns, Verlassen eines Ausgangs, Löschdauer).
+ * Statt jeden Timer einzeln in MASONs Heap-basierten {@code Schedule} zu legen, hängt das Rad selbst
+ * als ein einziger, jeden Tick wiederholter Steppable im Schedule und feuert die fälligen Timer.
+ * <ul>
+ *   <li>Stufe 0: 256 Slots à 1 Tick für Timer der nächsten 255 Ticks – Einfügen und Feuern in O(1)</li>
+ *   <li>Stufe 1: 64 Slots à 256 Ticks; ein Slot wird beim Erreichen seines Blocks in Stufe 0 verteilt</li>
+ *   <li>Überlauf: Prioritätswarteschlange für alles jenseits von ca. 16.000 Ticks</li>
+ * </ul>
+ * Timer mit gleichem Tick feuern in der Reihenfolge, in der sie eingeplant wurden.
+ */
+public class TimerWheel implements Steppable {
+
+    private static final int LEVEL0_BITS = 8;
+    private static final int LEVEL0_SLOTS = 1 << LEVEL0_BITS;
+    private static final int LEVEL1_SLOTS = 64;
+
+    private final List<List<Timer>> level0 = new ArrayList<>(LEVEL0_SLOTS);
+    private final List<List<Timer>> level1 = new ArrayList<>(LEVEL1_SLOTS);
+    private final PriorityQueue<Timer> overflow = new PriorityQueue<>(Timer.ORDER);
+
+    // Zuletzt abgearbeiteter Tick
+    private long now = -1;
+    private long sequence = 0;
+    private int size = 0;
+
+    public TimerWheel() {
+        for (int i = 0; i < LEVEL0_SLOTS; i++) {
+            level0.add(new ArrayList<>());
+        }
+        for (int i = 0; i < LEVEL1_SLOTS; i++) {
+            level1.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Plant einen Timer für einen festen Tick ein.
+     *
+     * @param tick      Tick, in dem der Timer feuert; muss nach dem zuletzt abgearbeiteten Tick liegen
+     * @param steppable wird im Tick {@code tick} einmal ausgeführt
+     */
+    public void scheduleAt(long tick, Steppable steppable) {
+        if (tick <= now) {
+            throw new IllegalArgumentException("Tick " + tick + " liegt nicht nach dem aktuellen Tick " + now);
+        }
+        insert(new Timer(tick, sequence++, steppable));
+        size++;
+    }
+
+    /**
+     * @return Anzahl noch nicht gefeuerter Timer
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void step(SimState state) {
+        long target = (long) state.schedule.getTime();
+        while (now < target) {
+            advance(state);
+        }
+    }
+
+    private void advance(SimState state) {
+        now++;
+
+        // Neuer 256er-Block: zugehörigen Slot der Stufe 1 und nahe Überlauf-Timer nach unten verteilen
+        if ((now & (LEVEL0_SLOTS - 1)) == 0) {
+            List<Timer> block = level1.get((int) ((now >> LEVEL0_BITS) % LEVEL1_SLOTS));
+            List<Timer> cascade = new ArrayList<>(block);
+            block.clear();
+            for (Timer timer : cascade) {
+                insert(timer);
+            }
+            while (!overflow.isEmpty()
+                    && (overflow.peek().tick >> LEVEL0_BITS) - (now >> LEVEL0_BITS) < LEVEL1_SLOTS) {
+                insert(overflow.poll());
+            }
+        }
+
+        List<Timer> slot = level0.get((int) (now & (LEVEL0_SLOTS - 1)));
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timer> due = new ArrayList<>(slot);
+        slot.clear();
+        // Nach Stufenwechseln kann die Einfügereihenfolge im Slot durcheinander sein
+        due.sort(Timer.ORDER);
+        size -= due.size();
+        for (Timer timer : due) {
+            timer.steppable.step(state);
+        }
+    }
+
+    private void insert(Timer timer) {
+        long delta = timer.tick - now;
+        if (delta < LEVEL0_SLOTS) {
+            level0.get((int) (timer.tick & (LEVEL0_SLOTS - 1))).add(timer);
+        } else if ((timer.tick >> LEVEL0_BITS) - (now >> LEVEL0_BITS) < LEVEL1_SLOTS) {
+            level1.get((int) ((timer.tick >> LEVEL0_BITS) % LEVEL1_SLOTS)).add(timer);
+        } else {
+            overflow.add(timer);
+        }
+    }
+
+    private static class Timer implements Serializable {
+        static final Comparator<Timer> ORDER = (Comparator<Timer> & Serializable)
+                (a, b) -> a.tick != b.tick ? Long.compare(a.tick, b.tick) : Long.compare(a.sequence, b.sequence);
+
+        private final long tick;
+        private final long sequence;
+        private final Steppable steppable;
+
+        Timer(long tick, long sequence, Steppable steppable) {
+            this.tick = tick;
+            this.sequence = sequence;
+            this.steppable = steppable;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.simulation;
+
+import java.io.Serializable;
+
+/**
+ * Rasterbild der Wände eines {@link Event}.
+ * Anders als die {@link RestrictedAreaMask} ändert sich das Raster nach dem Start nicht und gilt für alle
+ * Agenten: weder Besucher noch Einsatzkräfte betreten eine Wandzelle, und kein Planer führt einen Weg hindurch.
+ */
+public class WallMask implements Serializable {
+
+    private final int width;
+    private final int height;
+    private final boolean[] walls;
+
+    public WallMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.walls = new boolean[width * height];
+    }
+
+    /**
+     * Sperrt ein Rechteck dauerhaft, Grenzen einschließlich. Teile außerhalb des Rasters werden ignoriert.
+     */
+    public void add(int minX, int minY, int maxX, int maxY) {
+        for (int y = Math.max(0, minY); y <= Math.min(height - 1, maxY); y++) {
+            for (int x = Math.max(0, minX); x <= Math.min(width - 1, maxX); x++) {
+                walls[y * width + x] = true;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, wenn die Zelle eine Wand ist; Zellen außerhalb des Rasters sind keine
+     */
+    public boolean isWall(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && walls[y * width + x];
+    }
+}
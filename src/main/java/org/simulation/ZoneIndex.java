@@ -0,0 +1,351 @@
+package org.simulation;
+
+import org.simulation.navigation.DistanceField;
+import sim.util.Int2D;
+import zones.Zone;
+import zones.ZoneLoadListener;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * Liste aller Zonen eines {@link Event} mit Index für die Suche nach Position und Typ.
+ * Ersetzt die frühere {@code ArrayList}, die bei jeder Abfrage komplett durchlaufen wurde.
+ * <p>
+ * Jede Änderung der Liste markiert den Index als veraltet; neu aufgebaut wird er erst bei der
+ * nächsten Abfrage. Da die Zonen im Normalfall nur in {@link Event#start()} angelegt werden, geschieht
+ * das einmal pro Lauf. Danach kostet eine Abfrage nach Position einen Array-Zugriff.
+ * Das Raster enthält jede Zelle der Grundfläche einer Zone, nicht nur ihre Position.
+ * Überlappen sich Zonen oder haben sie denselben Typ, gewinnt wie bisher die zuerst eingetragene.
+ * <p>
+ * Zusätzlich hält der Index die Zonen jedes Typs nach ihrer Last geordnet ({@link Zone#getLoad()}).
+ * Die Zonen melden jede Änderung selbst; das Umsortieren kostet O(log k) bei k Zonen des Typs.
+ * Außerdem liegen die Zonen jedes Typs nach ihrer Lage in Eimern von {@value #BUCKET_SIZE} Zellen
+ * Kantenlänge. Beides zusammen begrenzt in {@link #leastLoaded} die Zahl der teuren Abstandsabfragen.
+ */
+public class ZoneIndex extends AbstractList<Zone> implements RandomAccess, Serializable, ZoneLoadListener {
+
+    /**
+     * Kantenlänge der Eimer, in die die Zonen eines Typs nach ihrer Position einsortiert werden.
+     */
+    public static final int BUCKET_SIZE = 16;
+
+    private final List<Zone> zones = new ArrayList<>();
+    private final Map<Zone.ZoneType, List<Zone>> byType = new EnumMap<>(Zone.ZoneType.class);
+    // Je Typ: Last << 32 | Index in byType, aufsteigend
+    private final Map<Zone.ZoneType, TreeSet<Long>> byLoad = new EnumMap<>(Zone.ZoneType.class);
+    private final Map<Zone, Long> loadKeys = new IdentityHashMap<>();
+    private final Map<Zone.ZoneType, Buckets> byArea = new EnumMap<>(Zone.ZoneType.class);
+    // Zelle → Zone innerhalb des Rechtecks, das alle Zonen umschließt
+    private Zone[] cells = new Zone[0];
+    private int minX;
+    private int minY;
+    private int width;
+    private int height;
+    private boolean dirty = false;
+
+    @Override
+    public Zone get(int index) {
+        return zones.get(index);
+    }
+
+    @Override
+    public int size() {
+        return zones.size();
+    }
+
+    @Override
+    public void add(int index, Zone zone) {
+        zones.add(index, zone);
+        changed();
+    }
+
+    @Override
+    public Zone set(int index, Zone zone) {
+        Zone old = zones.set(index, zone);
+        changed();
+        return old;
+    }
+
+    @Override
+    public Zone remove(int index) {
+        Zone old = zones.remove(index);
+        changed();
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        zones.clear();
+        changed();
+    }
+
+    private void changed() {
+        modCount++;
+        dirty = true;
+    }
+
+    /**
+     * @return Zähler, der sich bei jeder Änderung der Liste erhöht
+     */
+    public long getVersion() {
+        return modCount;
+    }
+
+    /**
+     * @return erste Zone, deren Grundfläche diese Zelle enthält, oder {@code null}
+     */
+    public Zone getByPosition(Int2D pos) {
+        if (pos == null) {
+            return null;
+        }
+        ensureIndex();
+        int x = pos.x - minX;
+        int y = pos.y - minY;
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return null;
+        }
+        return cells[y * width + x];
+    }
+
+    /**
+     * @return erste Zone dieses Typs oder {@code null}
+     */
+    public Zone getFirstByType(Zone.ZoneType type) {
+        List<Zone> list = getByType(type);
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    /**
+     * @return alle Zonen dieses Typs in Eintragungsreihenfolge; nur lesbar
+     */
+    public List<Zone> getByType(Zone.ZoneType type) {
+        ensureIndex();
+        List<Zone> list = byType.get(type);
+        return list == null ? List.of() : Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Wählt die Zone eines Typs mit den geringsten Kosten {@code Abstand + loadWeight * Last}.
+     * Bei gleichen Kosten gewinnt die zuerst eingetragene Zone.
+     * <p>
+     * Der Abstand ist teuer (auf dem Gelände z. B. ein Flussfeld je Zone), deshalb wird er nur für Zonen
+     * abgefragt, die noch gewinnen können. Kein Weg ist kürzer als der Chebyshev-Abstand zur Grundfläche;
+     * zusammen mit der Last ergibt das eine untere Schranke je Zone. Die Eimer werden ringweise um
+     * {@code from} durchsucht, bis schon die Schranke des nächsten Rings mit der kleinsten Last des Typs
+     * über den besten Kosten liegt. Abgefragt werden damit nur Zonen in der Nähe des besten Kandidaten,
+     * auch wenn alle Zonen gleich belastet sind. Das Ergebnis ist dasselbe wie beim Prüfen aller Zonen.
+     *
+     * @param from       Position des Agenten
+     * @param distance   Abstand von {@code from} zur Zone, mindestens der Chebyshev-Abstand zu ihrer
+     *                   Grundfläche; {@link DistanceField#UNREACHABLE} für unerreichbare Zonen
+     * @param loadWeight Kosten je Besucher in der Zone oder ihrer Warteschlange, in Schritten
+     * @return günstigste erreichbare Zone oder {@code null}
+     */
+    public Zone leastLoaded(Zone.ZoneType type, Int2D from, ToIntFunction<Zone> distance, int loadWeight) {
+        ensureIndex();
+        TreeSet<Long> ordered = byLoad.get(type);
+        if (ordered == null) {
+            return null;
+        }
+        List<Zone> candidates = byType.get(type);
+        Buckets buckets = byArea.get(type);
+        long minLoadCost = (long) loadWeight * (ordered.first() >>> 32);
+        int cx = Math.max(0, Math.min(buckets.columns - 1, Math.floorDiv(from.x - buckets.minX, BUCKET_SIZE)));
+        int cy = Math.max(0, Math.min(buckets.rows - 1, Math.floorDiv(from.y - buckets.minY, BUCKET_SIZE)));
+        int rings = Math.max(Math.max(cx, buckets.columns - 1 - cx), Math.max(cy, buckets.rows - 1 - cy));
+        Zone best = null;
+        long bestCost = Long.MAX_VALUE;
+        int bestIndex = Integer.MAX_VALUE;
+        for (int r = 0; r <= rings; r++) {
+            // Positionen im Ring r liegen mindestens (r - 1) Eimer plus eine Zelle entfernt,
+            // Grundflächen reichen höchstens maxExtent Zellen näher heran
+            long ringBound = r == 0 ? 0 : (long) (r - 1) * BUCKET_SIZE + 1 - buckets.maxExtent;
+            if (ringBound + minLoadCost > bestCost) {
+                break;
+            }
+            for (int y = cy - r; y <= cy + r; y++) {
+                if (y < 0 || y >= buckets.rows) {
+                    continue;
+                }
+                // Innere Zeilen des Rings bestehen nur aus dem linken und rechten Eimer
+                int step = r == 0 || y == cy - r || y == cy + r ? 1 : 2 * r;
+                for (int x = cx - r; x <= cx + r; x += step) {
+                    if (x < 0 || x >= buckets.columns) {
+                        continue;
+                    }
+                    for (int index : buckets.cells[y * buckets.columns + x]) {
+                        Zone zone = candidates.get(index);
+                        long loadCost = (long) loadWeight * zone.getLoad();
+                        long bound = chebyshev(zone, from) + loadCost;
+                        if (bound > bestCost || (bound == bestCost && index > bestIndex)) {
+                            continue;
+                        }
+                        int d = distance.applyAsInt(zone);
+                        if (d == DistanceField.UNREACHABLE) {
+                            continue;
+                        }
+                        long cost = d + loadCost;
+                        if (cost < bestCost || (cost == bestCost && index < bestIndex)) {
+                            best = zone;
+                            bestCost = cost;
+                            bestIndex = index;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Chebyshev-Abstand von einer Zelle zur Grundfläche einer Zone
+    private static int chebyshev(Zone zone, Int2D from) {
+        Int2D p = zone.getPosition();
+        int dx = Math.max(0, Math.max(p.x - from.x, from.x - (p.x + zone.getWidth() - 1)));
+        int dy = Math.max(0, Math.max(p.y - from.y, from.y - (p.y + zone.getHeight() - 1)));
+        return Math.max(dx, dy);
+    }
+
+    @Override
+    public void loadChanged(Zone zone) {
+        Long old = loadKeys.get(zone);
+        if (dirty || old == null) {
+            return;
+        }
+        TreeSet<Long> ordered = byLoad.get(zone.getType());
+        ordered.remove(old);
+        long key = loadKey(zone, (int) (long) old);
+        ordered.add(key);
+        loadKeys.put(zone, key);
+    }
+
+    private static long loadKey(Zone zone, int indexInType) {
+        return ((long) zone.getLoad() << 32) | indexInType;
+    }
+
+    private void ensureIndex() {
+        if (!dirty) {
+            return;
+        }
+        byType.clear();
+        byLoad.clear();
+        loadKeys.clear();
+        byArea.clear();
+        for (Zone zone : zones) {
+            List<Zone> list = byType.computeIfAbsent(zone.getType(), t -> new ArrayList<>());
+            if (!loadKeys.containsKey(zone)) {
+                long key = loadKey(zone, list.size());
+                byLoad.computeIfAbsent(zone.getType(), t -> new TreeSet<>()).add(key);
+                loadKeys.put(zone, key);
+                zone.setLoadListener(this);
+            }
+            list.add(zone);
+        }
+        byLoad.forEach((type, ordered) -> byArea.put(type, new Buckets(byType.get(type), ordered)));
+        rebuildCells();
+        dirty = false;
+    }
+
+    private void rebuildCells() {
+        if (zones.isEmpty()) {
+            cells = new Zone[0];
+            width = 0;
+            height = 0;
+            return;
+        }
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        minX = Integer.MAX_VALUE;
+        minY = Integer.MAX_VALUE;
+        for (Zone zone : zones) {
+            Int2D p = zone.getPosition();
+            minX = Math.min(minX, p.x);
+            minY = Math.min(minY, p.y);
+            maxX = Math.max(maxX, p.x + zone.getWidth() - 1);
+            maxY = Math.max(maxY, p.y + zone.getHeight() - 1);
+        }
+        width = maxX - minX + 1;
+        height = maxY - minY + 1;
+        cells = new Zone[width * height];
+        for (Zone zone : zones) {
+            int x0 = zone.getPosition().x - minX;
+            int y0 = zone.getPosition().y - minY;
+            for (int y = y0; y < y0 + zone.getHeight(); y++) {
+                for (int x = x0; x < x0 + zone.getWidth(); x++) {
+                    if (cells[y * width + x] == null) {
+                        cells[y * width + x] = zone;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Zonen eines Typs nach der Lage ihrer Position; jeder Eimer hält die Indizes in {@code byType}
+     * aufsteigend. Doppelt eingetragene Zonen stehen nur einmal darin.
+     */
+    private static final class Buckets implements Serializable {
+
+        final int minX;
+        final int minY;
+        final int columns;
+        final int rows;
+        // Größte Ausdehnung einer Grundfläche über ihre Position hinaus
+        final int maxExtent;
+        final int[][] cells;
+
+        Buckets(List<Zone> zones, TreeSet<Long> ordered) {
+            int[] indices = new int[ordered.size()];
+            int n = 0;
+            for (long key : ordered) {
+                indices[n++] = (int) key;
+            }
+            Arrays.sort(indices);
+            int lowX = Integer.MAX_VALUE;
+            int lowY = Integer.MAX_VALUE;
+            int highX = Integer.MIN_VALUE;
+            int highY = Integer.MIN_VALUE;
+            int extent = 0;
+            for (int index : indices) {
+                Zone zone = zones.get(index);
+                lowX = Math.min(lowX, zone.getPosition().x);
+                lowY = Math.min(lowY, zone.getPosition().y);
+                highX = Math.max(highX, zone.getPosition().x);
+                highY = Math.max(highY, zone.getPosition().y);
+                extent = Math.max(extent, Math.max(zone.getWidth(), zone.getHeight()) - 1);
+            }
+            minX = lowX;
+            minY = lowY;
+            columns = (highX - lowX) / BUCKET_SIZE + 1;
+            rows = (highY - lowY) / BUCKET_SIZE + 1;
+            maxExtent = extent;
+            int[] counts = new int[columns * rows];
+            for (int index : indices) {
+                counts[cell(zones.get(index))]++;
+            }
+            cells = new int[columns * rows][];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new int[counts[i]];
+                counts[i] = 0;
+            }
+            for (int index : indices) {
+                int c = cell(zones.get(index));
+                cells[c][counts[c]++] = index;
+            }
+        }
+
+        private int cell(Zone zone) {
+            return (zone.getPosition().y - minY) / BUCKET_SIZE * columns + (zone.getPosition().x - minX) / BUCKET_SIZE;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.simulation.navigation;
+
+import org.simulation.Event;
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Schrittabstand jeder Zelle des Grids zu einem Ziel, berechnet per Breitensuche.
+ * Agenten bewegen sich pro Tick um eine Zelle in eine der acht Richtungen; genau so wird gezählt.
+ * Zellen in aktiven Sperrzonen werden nicht durchquert und gelten als unerreichbar,
+ * das Ziel selbst (bei einem Zielbereich jede seiner Zellen) ist immer erreichbar.
+ */
+public class DistanceField implements Serializable {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int width;
+    private final int height;
+    private final int[] distances;
+
+    private DistanceField(int width, int height, int[] distances) {
+        this.width = width;
+        this.height = height;
+        this.distances = distances;
+    }
+
+    /**
+     * Berechnet das Feld für ein Ziel auf dem Grid des Events.
+     *
+     * @param event  Event mit Grid und Sperrzonen
+     * @param target Zielzelle
+     */
+    public static DistanceField compute(Event event, Int2D target) {
+        return compute(event, target.x, target.y, target.x, target.y);
+    }
+
+    /**
+     * Berechnet das Feld zu einem rechteckigen Zielbereich (Grenzen einschließlich), z. B. der Grundfläche
+     * einer Zone: jede Zelle des Bereichs hat Abstand 0, gemessen wird zur nächstgelegenen davon.
+     */
+    public static DistanceField compute(Event event, int minX, int minY, int maxX, int maxY) {
+        int width = event.grid.getWidth();
+        int height = event.grid.getHeight();
+        int[] distances = new int[width * height];
+        Arrays.fill(distances, UNREACHABLE);
+
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        for (int y = Math.max(0, minY); y <= Math.min(height - 1, maxY); y++) {
+            for (int x = Math.max(0, minX); x <= Math.min(width - 1, maxX); x++) {
+                int start = y * width + x;
+                distances[start] = 0;
+                queue[tail++] = start;
+            }
+        }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int cx = cell % width;
+            int cy = cell / width;
+            int next = distances[cell] + 1;
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = cx + dx;
+                    int ny = cy + dy;
+                    if ((dx == 0 && dy == 0) || nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                        continue;
+                    }
+                    int n = ny * width + nx;
+                    if (distances[n] == UNREACHABLE && !event.isRestricted(nx, ny) && !event.isWall(nx, ny)) {
+                        distances[n] = next;
+                        queue[tail++] = n;
+                    }
+                }
+            }
+        }
+        return new DistanceField(width, height, distances);
+    }
+
+    /**
+     * Übergibt das Abstandsarray an ein {@link FlowField}, das es danach selbst pflegt.
+     */
+    int[] distances() {
+        return distances;
+    }
+
+    /**
+     * @return Anzahl Schritte bis zum Ziel oder {@link #UNREACHABLE}, auch für Zellen außerhalb des Grids
+     */
+    public int distance(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return UNREACHABLE;
+        }
+        return distances[y * width + x];
+    }
+}
@@ -0,0 +1,78 @@
+package org.simulation.navigation;
+
+import org.simulation.Event;
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Auswahl des nächstgelegenen Ausgangs bzw. Notausgangs eines {@link Event} nach Schrittabstand.
+ * Die Abstände stammen aus den {@link FlowFields} des Events, die beim ersten Bedarf berechnet und bei
+ * Änderungen der Sperrzonen nachgezogen werden; die Frage nach dem nächsten Ausgang kostet damit pro
+ * Ausgang einen Array-Zugriff.
+ * <p>
+ * Kann ein Ausgang wegen Sperrzonen von einer Zelle aus nicht erreicht werden (z. B. weil der Agent
+ * selbst in einer Sperrzone steht), wird wie bisher die Manhattan-Distanz verwendet.
+ */
+public class ExitDistanceFields implements Serializable {
+
+    private final Event event;
+
+    public ExitDistanceFields(Event event) {
+        this.event = event;
+    }
+
+    /**
+     * @param candidates Ausgänge, in Vorrangreihenfolge bei gleichem Abstand
+     * @param from       Standort des Agenten
+     * @param skipFull   volle Ausgänge überspringen
+     * @return nächstgelegener Ausgang oder {@code null}, falls keiner in Frage kommt
+     */
+    public Zone nearest(List<Zone> candidates, Int2D from, boolean skipFull) {
+        Zone best = null;
+        int bestDistance = DistanceField.UNREACHABLE;
+        for (Zone z : candidates) {
+            if (skipFull && z.isFull()) {
+                continue;
+            }
+            int d = distance(z, from);
+            if (d < bestDistance) {
+                best = z;
+                bestDistance = d;
+            }
+        }
+        return best != null ? best : nearestByManhattan(candidates, from, skipFull);
+    }
+
+    /**
+     * @return Schrittabstand von {@code from} zum Ausgang oder {@link DistanceField#UNREACHABLE}
+     */
+    public int distance(Zone exit, Int2D from) {
+        if (event.grid == null) {
+            return DistanceField.UNREACHABLE;
+        }
+        return event.getFlowFields().distance(exit.getPosition(), from.x, from.y);
+    }
+
+    private static Zone nearestByManhattan(List<Zone> candidates, Int2D from, boolean skipFull) {
+        Zone best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (Zone z : candidates) {
+            if (skipFull && z.isFull()) {
+                continue;
+            }
+            long d = manhattan(z, from);
+            if (d < bestDistance) {
+                best = z;
+                bestDistance = d;
+            }
+        }
+        return best;
+    }
+
+    private static long manhattan(Zone z, Int2D from) {
+        return (long) Math.abs(z.getPosition().x - from.x) + Math.abs(z.getPosition().y - from.y);
+    }
+}
@@ -0,0 +1,335 @@
+package org.simulation.navigation;
+
+import org.simulation.Event;
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.PriorityQueue;
+
+/**
+ * Vorberechnetes Flussfeld zu einer Zielzelle oder einem rechteckigen Zielbereich: für jede Zelle die Richtung des nächsten Schritts
+ * auf einem kürzesten Weg um aktive Sperrzonen herum. Ein Zug eines Agenten ist damit ein einzelner
+ * Array-Zugriff statt einer eigenen Wegsuche.
+ * <p>
+ * Grundlage ist dasselbe Schrittmaß wie beim {@link DistanceField} (acht Nachbarn, Kosten 1).
+ * Unter mehreren gleich kurzen Schritten wird der gewählt, der luftlinienmäßig am nächsten zum Ziel
+ * führt; im freien Gelände entspricht das der bisherigen direkten Bewegung. Bei einem Zielbereich
+ * führt das Feld zur nächstgelegenen Zelle des Bereichs, jede davon ist Ziel.
+ * <p>
+ * Ändern sich Sperrzonen, repariert {@link #repair} nur den betroffenen Teil des Feldes statt es neu zu
+ * berechnen.
+ */
+public class FlowField implements Serializable {
+
+    /**
+     * Keine Richtung: Ziel erreicht, Zelle unerreichbar oder außerhalb des Grids.
+     */
+    public static final int NONE = -1;
+
+    private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    private final int width;
+    private final int height;
+    private final Int2D target;
+    // Zielbereich, Grenzen einschließlich
+    private final int targetMinX;
+    private final int targetMinY;
+    private final int targetMaxX;
+    private final int targetMaxY;
+    private final int[] distances;
+    private final byte[] directions;
+
+    private FlowField(int width, int height, Int2D target, int targetWidth, int targetHeight, int[] distances) {
+        this.width = width;
+        this.height = height;
+        this.target = target;
+        this.targetMinX = target.x;
+        this.targetMinY = target.y;
+        this.targetMaxX = target.x + targetWidth - 1;
+        this.targetMaxY = target.y + targetHeight - 1;
+        this.distances = distances;
+        this.directions = new byte[width * height];
+        for (int cell = 0; cell < directions.length; cell++) {
+            updateDirection(cell);
+        }
+    }
+
+    /**
+     * Berechnet das Feld für ein Ziel auf dem Grid des Events.
+     */
+    public static FlowField compute(Event event, Int2D target) {
+        return compute(event, target, 1, 1);
+    }
+
+    /**
+     * Berechnet das Feld für einen Zielbereich von {@code targetWidth} x {@code targetHeight} Zellen
+     * ab {@code target} (z. B. die Grundfläche einer Zone).
+     */
+    public static FlowField compute(Event event, Int2D target, int targetWidth, int targetHeight) {
+        DistanceField field = DistanceField.compute(event, target.x, target.y,
+                target.x + targetWidth - 1, target.y + targetHeight - 1);
+        return new FlowField(event.grid.getWidth(), event.grid.getHeight(), target, targetWidth, targetHeight,
+                field.distances());
+    }
+
+    public Int2D getTarget() {
+        return target;
+    }
+
+    /**
+     * @return Richtung des nächsten Schritts (für {@link #dx}/{@link #dy}) oder {@link #NONE}
+     */
+    public int direction(int x, int y) {
+        return contains(x, y) ? directions[y * width + x] : NONE;
+    }
+
+    /**
+     * @return Anzahl Schritte bis zum Ziel oder {@link DistanceField#UNREACHABLE}
+     */
+    public int distance(int x, int y) {
+        return contains(x, y) ? distances[y * width + x] : DistanceField.UNREACHABLE;
+    }
+
+    public static int dx(int direction) {
+        return DX[direction];
+    }
+
+    public static int dy(int direction) {
+        return DY[direction];
+    }
+
+    /**
+     * Gleicht das Feld an geänderte Sperrzonen an.
+     * Zuerst werden alle Zellen verworfen, deren sämtliche kürzeste Wege über eine neu gesperrte Zelle
+     * liefen; danach werden Abstände ausgehend vom Rand dieses Bereichs und von freigegebenen Zellen
+     * neu vergeben. Felder, die von der Änderung nicht berührt werden, kosten nur die Prüfung der
+     * geänderten Zellen.
+     *
+     * @param restricted    aktueller Sperrstatus je Zelle (Index {@code y * width + x})
+     * @param blocked       neu gesperrte Zellen
+     * @param blockedCount  Anzahl gültiger Einträge in {@code blocked}
+     * @param freed         freigegebene Zellen
+     * @param freedCount    Anzahl gültiger Einträge in {@code freed}
+     * @param scratch       Arbeitsspeicher, der über Reparaturen und Felder hinweg wiederverwendet wird
+     */
+    void repair(boolean[] restricted, int[] blocked, int blockedCount, int[] freed, int freedCount,
+                Scratch scratch) {
+        if (!isAffected(restricted, blocked, blockedCount, freed, freedCount)) {
+            return;
+        }
+        scratch.ensure(width * height);
+        boolean[] changed = scratch.changed;
+        int[] changedCells = scratch.changedCells;
+        int changedCount = 0;
+
+        // 1. Zellen ohne gültigen Vorgänger mehr verwerfen, in Reihenfolge wachsender Abstände
+        int[] queue = scratch.queue;
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < blockedCount; i++) {
+            int cell = blocked[i];
+            if (!isTarget(cell) && distances[cell] != DistanceField.UNREACHABLE && !changed[cell]) {
+                changed[cell] = true;
+                queue[tail++] = cell;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int cx = cell % width;
+            int cy = cell / width;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!contains(nx, ny)) {
+                    continue;
+                }
+                int n = ny * width + nx;
+                if (!changed[n] && !isTarget(n) && distances[n] == distances[cell] + 1
+                        && !hasValidPredecessor(n, restricted, changed)) {
+                    changed[n] = true;
+                    queue[tail++] = n;
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            distances[queue[i]] = DistanceField.UNREACHABLE;
+            changedCells[changedCount++] = queue[i];
+        }
+
+        // 2. Verworfene und freigegebene Zellen von ihren gültigen Nachbarn aus neu bewerten
+        PriorityQueue<Long> open = new PriorityQueue<>();
+        for (int i = 0; i < tail; i++) {
+            seed(queue[i], restricted, open);
+        }
+        for (int i = 0; i < freedCount; i++) {
+            seed(freed[i], restricted, open);
+        }
+
+        // 3. Verbesserte Abstände weitergeben (Dijkstra mit Kantengewicht 1)
+        while (!open.isEmpty()) {
+            long entry = open.poll();
+            int distance = (int) (entry >>> 32);
+            int cell = (int) entry;
+            if (distances[cell] != distance) {
+                continue;
+            }
+            if (!changed[cell]) {
+                changed[cell] = true;
+                changedCells[changedCount++] = cell;
+            }
+            int cx = cell % width;
+            int cy = cell / width;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!contains(nx, ny)) {
+                    continue;
+                }
+                int n = ny * width + nx;
+                if (isPassable(n, restricted) && distances[n] > distance + 1) {
+                    distances[n] = distance + 1;
+                    open.add(((long) (distance + 1) << 32) | n);
+                }
+            }
+        }
+
+        // 4. Richtungen der geänderten Zellen und ihrer Nachbarn auffrischen
+        for (int i = 0; i < changedCount; i++) {
+            int cell = changedCells[i];
+            // Markierung für die nächste Reparatur zurücksetzen; nur berührte Zellen, nicht das ganze Array
+            changed[cell] = false;
+            int cx = cell % width;
+            int cy = cell / width;
+            updateDirection(cell);
+            for (int d = 0; d < DX.length; d++) {
+                if (contains(cx + DX[d], cy + DY[d])) {
+                    updateDirection((cy + DY[d]) * width + cx + DX[d]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Arbeitsspeicher für {@link #repair}; einmal in Gridgröße angelegt und danach wiederverwendet.
+     * Nach jeder Reparatur ist {@code changed} wieder vollständig {@code false}.
+     */
+    static final class Scratch {
+        private boolean[] changed = new boolean[0];
+        private int[] changedCells = new int[0];
+        private int[] queue = new int[0];
+
+        void ensure(int size) {
+            if (changed.length != size) {
+                changed = new boolean[size];
+                changedCells = new int[size];
+                queue = new int[size];
+            }
+        }
+    }
+
+    private boolean isAffected(boolean[] restricted, int[] blocked, int blockedCount, int[] freed, int freedCount) {
+        for (int i = 0; i < blockedCount; i++) {
+            if (!isTarget(blocked[i]) && distances[blocked[i]] != DistanceField.UNREACHABLE) {
+                return true;
+            }
+        }
+        for (int i = 0; i < freedCount; i++) {
+            if (bestFromNeighbours(freed[i], restricted) != DistanceField.UNREACHABLE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasValidPredecessor(int cell, boolean[] restricted, boolean[] invalid) {
+        int cx = cell % width;
+        int cy = cell / width;
+        for (int d = 0; d < DX.length; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            if (!contains(nx, ny)) {
+                continue;
+            }
+            int n = ny * width + nx;
+            if (!invalid[n] && isPassable(n, restricted) && distances[n] == distances[cell] - 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void seed(int cell, boolean[] restricted, PriorityQueue<Long> open) {
+        if (!isPassable(cell, restricted)) {
+            return;
+        }
+        int best = bestFromNeighbours(cell, restricted);
+        if (best < distances[cell]) {
+            distances[cell] = best;
+            open.add(((long) best << 32) | cell);
+        }
+    }
+
+    private int bestFromNeighbours(int cell, boolean[] restricted) {
+        int cx = cell % width;
+        int cy = cell / width;
+        int best = DistanceField.UNREACHABLE;
+        for (int d = 0; d < DX.length; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            if (!contains(nx, ny)) {
+                continue;
+            }
+            int n = ny * width + nx;
+            if (isPassable(n, restricted) && distances[n] != DistanceField.UNREACHABLE) {
+                best = Math.min(best, distances[n] + 1);
+            }
+        }
+        return best;
+    }
+
+    // Das Ziel ist immer begehbar, auch wenn es in einer Sperrzone liegt
+    private boolean isPassable(int cell, boolean[] restricted) {
+        return isTarget(cell) || !restricted[cell];
+    }
+
+    private boolean isTarget(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        return x >= targetMinX && y >= targetMinY && x <= targetMaxX && y <= targetMaxY;
+    }
+
+    private void updateDirection(int cell) {
+        int distance = distances[cell];
+        if (isTarget(cell) || distance == DistanceField.UNREACHABLE) {
+            directions[cell] = NONE;
+            return;
+        }
+        int cx = cell % width;
+        int cy = cell / width;
+        int best = NONE;
+        long bestLine = Long.MAX_VALUE;
+        for (int d = 0; d < DX.length; d++) {
+            int nx = cx + DX[d];
+            int ny = cy + DY[d];
+            if (!contains(nx, ny) || distances[ny * width + nx] != distance - 1) {
+                continue;
+            }
+            // Luftlinie zur nächstgelegenen Zelle des Zielbereichs
+            long ex = (long) nx - Math.max(targetMinX, Math.min(targetMaxX, nx));
+            long ey = (long) ny - Math.max(targetMinY, Math.min(targetMaxY, ny));
+            long line = ex * ex + ey * ey;
+            // Gleich weit (nur bei Zielbereichen möglich): gerader Schritt vor diagonalem
+            if (line < bestLine || (line == bestLine && (DX[d] == 0 || DY[d] == 0)
+                    && DX[best] != 0 && DY[best] != 0)) {
+                best = d;
+                bestLine = line;
+            }
+        }
+        directions[cell] = (byte) best;
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
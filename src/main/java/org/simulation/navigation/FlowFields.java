@@ -0,0 +1,174 @@
+package org.simulation.navigation;
+
+import org.simulation.Event;
+import org.simulation.RestrictedAreaMask;
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Flussfelder eines {@link Event} zu seinen Zonen (Bereiche, Ausgänge, Notausgänge).
+ * Jedes Feld führt zur nächstgelegenen Zelle der Grundfläche einer Zone; alle Ziele innerhalb derselben
+ * Zone teilen sich ein Feld. Ein Feld wird beim ersten Bedarf berechnet und danach behalten.
+ * Ändern sich die aktiven Sperrzonen, vergleicht der Cache nur in den von der {@link RestrictedAreaMask}
+ * protokollierten Rechtecken den neuen Sperrstatus mit dem alten und lässt jedes Feld nur die geänderten
+ * Zellen nachziehen; Felder, die davon nicht berührt werden, bleiben unverändert. Der Aufwand hängt damit
+ * von der Größe der Änderung ab, nicht von der Größe des Grids.
+ * <p>
+ * Andere Ziele (Einsatzorte, Warteplätze, Fluchtpunkte) bekommen kein Feld, dafür gilt weiterhin die
+ * direkte Bewegung.
+ */
+public class FlowFields implements Serializable {
+
+    private final Event event;
+    private final Map<Int2D, FlowField> fields = new LinkedHashMap<>();
+    // Sperrstatus (Sperrzonen und Wände), auf den alle Felder abgeglichen sind
+    private boolean[] restricted;
+    private int width;
+    private int height;
+    private long areaVersion;
+    // Geänderte Zellen des letzten Abgleichs; wachsen bei Bedarf und werden wiederverwendet
+    private int[] blocked = new int[0];
+    private int[] freed = new int[0];
+    private int blockedCount;
+    private int freedCount;
+    private transient FlowField.Scratch scratch;
+
+    public FlowFields(Event event) {
+        this.event = event;
+    }
+
+    /**
+     * @return {@code true}, wenn das Ziel in der Grundfläche einer Zone liegt und damit ein Flussfeld bekommt
+     */
+    public boolean isFlowTarget(Int2D target) {
+        return event.zones.getByPosition(target) != null;
+    }
+
+    /**
+     * @return Flussfeld zum Ziel bzw. zur Zone, in der es liegt, auf dem Stand der aktuellen Sperrzonen;
+     * {@code null} ohne Grid
+     */
+    public FlowField get(Int2D target) {
+        if (event.grid == null) {
+            return null;
+        }
+        sync();
+        Zone zone = event.zones.getByPosition(target);
+        Int2D key = zone != null ? zone.getPosition() : target;
+        FlowField field = fields.get(key);
+        if (field == null) {
+            field = zone != null
+                    ? FlowField.compute(event, key, zone.getWidth(), zone.getHeight())
+                    : FlowField.compute(event, key);
+            fields.put(key, field);
+        }
+        return field;
+    }
+
+    /**
+     * @return Richtung des nächsten Schritts zu einem Zonenziel oder {@link FlowField#NONE}, wenn das Ziel
+     * keine Zone ist oder von der Zelle aus nicht erreicht werden kann
+     */
+    public int direction(Int2D target, int x, int y) {
+        if (!isFlowTarget(target)) {
+            return FlowField.NONE;
+        }
+        FlowField field = get(target);
+        return field != null ? field.direction(x, y) : FlowField.NONE;
+    }
+
+    /**
+     * @return Schrittabstand zum Ziel oder {@link DistanceField#UNREACHABLE}
+     */
+    public int distance(Int2D target, int x, int y) {
+        FlowField field = get(target);
+        return field != null ? field.distance(x, y) : DistanceField.UNREACHABLE;
+    }
+
+    /**
+     * @return Anzahl bisher berechneter Felder
+     */
+    public int size() {
+        return fields.size();
+    }
+
+    private void sync() {
+        int w = event.grid.getWidth();
+        int h = event.grid.getHeight();
+        long version = event.getRestrictedAreaVersion();
+        if (restricted == null || w != width || h != height) {
+            fields.clear();
+            width = w;
+            height = h;
+            restricted = new boolean[w * h];
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    restricted[y * w + x] = event.isRestricted(x, y) || event.isWall(x, y);
+                }
+            }
+            areaVersion = version;
+            return;
+        }
+        // Vor dem Start gibt es keine Versionsnummer; dann wird jedes Mal verglichen
+        if (version == areaVersion && version >= 0) {
+            return;
+        }
+        List<RestrictedAreaMask.Change> changes = version >= 0 ? event.getRestrictedAreaChanges(areaVersion) : null;
+        areaVersion = version;
+
+        blockedCount = 0;
+        freedCount = 0;
+        if (changes != null) {
+            // Nur die Rechtecke der protokollierten Änderungen prüfen
+            for (RestrictedAreaMask.Change change : changes) {
+                for (int y = change.minY(); y <= change.maxY(); y++) {
+                    for (int x = change.minX(); x <= change.maxX(); x++) {
+                        compare(x, y);
+                    }
+                }
+            }
+        } else {
+            for (int y = 0; y < h; y++) {
+                for (int x = 0; x < w; x++) {
+                    compare(x, y);
+                }
+            }
+        }
+        if (blockedCount == 0 && freedCount == 0) {
+            return;
+        }
+        if (scratch == null) {
+            scratch = new FlowField.Scratch();
+        }
+        for (FlowField field : fields.values()) {
+            field.repair(restricted, blocked, blockedCount, freed, freedCount, scratch);
+        }
+    }
+
+    // Gleicht eine Zelle mit dem gemerkten Sperrstatus ab und merkt sie als gesperrt bzw. freigegeben vor
+    private void compare(int x, int y) {
+        int cell = y * width + x;
+        boolean now = event.isRestricted(x, y) || event.isWall(x, y);
+        if (now == restricted[cell]) {
+            return;
+        }
+        restricted[cell] = now;
+        if (now) {
+            if (blockedCount == blocked.length) {
+                blocked = Arrays.copyOf(blocked, Math.max(16, blocked.length * 2));
+            }
+            blocked[blockedCount++] = cell;
+        } else {
+            if (freedCount == freed.length) {
+                freed = Arrays.copyOf(freed, Math.max(16, freed.length * 2));
+            }
+            freed[freedCount++] = cell;
+        }
+    }
+}
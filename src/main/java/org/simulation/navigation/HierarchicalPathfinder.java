@@ -0,0 +1,734 @@
+package org.simulation.navigation;
+
+import org.simulation.Event;
+import org.simulation.RestrictedArea;
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchische Wegsuche (Cluster und Übergänge) für große Grids.
+ * Das Grid wird in quadratische Cluster zerlegt. Entlang jeder Clustergrenze entstehen Übergänge
+ * (Portale) – je Abschnitt gleicher Begehbarkeit einer in der Mitte, bei langen Abschnitten je einer
+ * an beiden Enden. Innerhalb eines Clusters sind die Kosten zwischen den Portalen vorberechnet.
+ * Eine Anfrage sucht per A* nur über die Portale und verfeinert den gefundenen Weg danach
+ * clusterweise zu Zellen; der Aufwand hängt damit von der Zahl der Cluster auf dem Weg ab,
+ * nicht von der Zahl der Zellen.
+ * <p>
+ * Kosten wie beim {@link PathPlanner}: eine Zelle kostet 1, in einer aktiven Sperrzone
+ * {@link PathPlanner#RESTRICTED_COST}; Wände sind unpassierbar und bekommen keine Portale. Cluster ohne
+ * Sperrzonen und Wände brauchen keine Kostentabelle, dort gilt der Chebyshev-Abstand. Ändern sich Sperrzonen, werden nur die berührten Cluster und ihre
+ * Nachbarn neu aufgebaut.
+ * <p>
+ * Die Portalsuche überschätzt den Restweg um ein Achtel: Auf offenen Flächen gibt es
+ * viele gleich teure Portalketten, die eine exakte Schätzung alle öffnen würde. Mit der Überschätzung bleibt
+ * die Suche entlang der Zielrichtung; ein Weg ist höchstens um diesen Anteil länger als der kürzeste über
+ * die Portale, gemessen weniger als ein Prozent.
+ */
+public class HierarchicalPathfinder implements Serializable {
+
+    /**
+     * Mögliche Clustergrößen, aufsteigend; {@link #forBudget} wählt die kleinste passende.
+     */
+    public static final int[] CLUSTER_SIZES = {16, 32, 64, 128};
+
+    // Ab dieser Länge bekommt ein Grenzabschnitt zwei Portale statt einem
+    private static final int LONG_ENTRANCE = 6;
+    // Schätzwerte für die Speicherabschätzung: Portale je Cluster und Objekt-Overhead in Bytes
+    private static final int ESTIMATED_PORTALS = 8;
+    private static final int CLUSTER_OVERHEAD = 96;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    // Die Restschätzung wird um h >> HEURISTIC_SLACK überhöht, also um ein Achtel
+    private static final int HEURISTIC_SLACK = 3;
+    // Zustand eines Zellpaars über eine Clustergrenze
+    private static final int FREE = 0;
+    private static final int RESTRICTED = 1;
+    private static final int WALL = 2;
+
+    private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    private final Event event;
+    private final int width;
+    private final int height;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+    private final Cluster[] clusters;
+    // Zuletzt gesehener Aktiv-Status je Sperrzone, um geänderte Cluster zu finden
+    private final Map<RestrictedArea, Boolean> knownAreas = new IdentityHashMap<>();
+    private boolean built = false;
+    private long areaVersion;
+    // Globale Knotennummern: Portal k von Cluster c hat die Nummer offsets[c] + k
+    private int[] offsets;
+    private int[] nodeCluster;
+    private int nodeCount;
+    // Suchfelder über alle Anfragen wiederverwendet; gültig ist ein Eintrag nur mit der aktuellen Anfragenummer
+    private transient int[] cost;
+    private transient int[] parent;
+    private transient int[] seen;
+    private transient int[] closed;
+    private transient int query;
+    private transient int expanded;
+    // Offene Listen, Portalkosten, Abstandstabelle und Portalkette ebenso; sie wachsen nur
+    private transient Heap open;
+    private transient Heap localOpen;
+    private transient int[] startCosts;
+    private transient int[] goalCosts;
+    private transient int[] localDist;
+    private transient int[] localParent;
+    private transient int[] chain;
+
+    public HierarchicalPathfinder(Event event, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Clustergröße muss mindestens 2 sein: " + clusterSize);
+        }
+        this.event = event;
+        this.width = event.grid.getWidth();
+        this.height = event.grid.getHeight();
+        this.clusterSize = clusterSize;
+        this.clustersX = (width + clusterSize - 1) / clusterSize;
+        this.clustersY = (height + clusterSize - 1) / clusterSize;
+        this.clusters = new Cluster[clustersX * clustersY];
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                clusters[cy * clustersX + cx] = new Cluster(cx * clusterSize, cy * clusterSize,
+                        Math.min(width, (cx + 1) * clusterSize) - 1, Math.min(height, (cy + 1) * clusterSize) - 1);
+            }
+        }
+    }
+
+    /**
+     * Wählt die kleinste Clustergröße, deren geschätzter Speicherbedarf in das Budget passt;
+     * reicht keines, die größte.
+     *
+     * @param budgetBytes Speicherbudget der Abstraktionsebene in Bytes
+     */
+    public static HierarchicalPathfinder forBudget(Event event, long budgetBytes) {
+        int width = event.grid.getWidth();
+        int height = event.grid.getHeight();
+        for (int size : CLUSTER_SIZES) {
+            if (estimateBytes(width, height, size) <= budgetBytes) {
+                return new HierarchicalPathfinder(event, size);
+            }
+        }
+        return new HierarchicalPathfinder(event, CLUSTER_SIZES[CLUSTER_SIZES.length - 1]);
+    }
+
+    /**
+     * Obere Abschätzung des Speicherbedarfs, wenn jeder Cluster Sperrzonen enthält und
+     * {@value #ESTIMATED_PORTALS} Portale hat.
+     */
+    public static long estimateBytes(int width, int height, int clusterSize) {
+        long count = (long) ((width + clusterSize - 1) / clusterSize) * ((height + clusterSize - 1) / clusterSize);
+        long portals = ESTIMATED_PORTALS;
+        // Portale, Partner, Kostentabelle, Knotennummern und Suchfelder je Portal
+        long perCluster = CLUSTER_OVERHEAD + portals * (4 + 8 + 4 * portals + 3 * 4) + 2 * 4;
+        return count * perCluster;
+    }
+
+    /**
+     * @return Speicherbedarf des aktuellen Aufbaus in Bytes (Schätzung anhand der Arraygrößen)
+     */
+    public long estimatedBytes() {
+        sync();
+        long bytes = 0;
+        for (Cluster c : clusters) {
+            bytes += CLUSTER_OVERHEAD + 4L * c.portals.length + 4L * c.partners.length
+                    + (c.intra != null ? 4L * c.intra.length : 0) + 2 * 4;
+        }
+        return bytes + 3L * 4 * nodeCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * @return Anzahl Portale über alle Cluster
+     */
+    public int getPortalCount() {
+        sync();
+        return nodeCount;
+    }
+
+    /**
+     * @return Anzahl der in der letzten Anfrage expandierten Portale; unabhängig von der Rechnerlast
+     * und damit ein reproduzierbares Maß für den Suchaufwand
+     */
+    public int getLastExpansions() {
+        return expanded;
+    }
+
+    /**
+     * Sucht einen Weg; Start und Ziel außerhalb des Grids werden auf den Rand gesetzt.
+     * Bis auf den Ergebnisweg legt eine Anfrage keine Objekte an, alle Suchpuffer werden wiederverwendet.
+     *
+     * @return vollständiger Weg einschließlich Start- und Zielzelle; nur die Startzelle, wenn das Ziel
+     * hinter Wänden nicht erreichbar ist
+     */
+    public List<Int2D> route(Int2D start, Int2D goal) {
+        sync();
+        int sx = clamp(start.x, width);
+        int sy = clamp(start.y, height);
+        int gx = clamp(goal.x, width);
+        int gy = clamp(goal.y, height);
+        int startCell = sy * width + sx;
+        int goalCell = gy * width + gx;
+        expanded = 0;
+        int sc = clusterOf(sx, sy);
+        int gc = clusterOf(gx, gy);
+
+        List<Int2D> path = new ArrayList<>();
+        path.add(event.cell(sx, sy));
+        // Trennt eine Wand Start und Ziel im selben Cluster, geht es über die Portale außen herum
+        if (sc == gc && appendLocal(clusters[sc], startCell, goalCell, path)) {
+            return path;
+        }
+
+        Cluster from = clusters[sc];
+        Cluster to = clusters[gc];
+        startCosts = portalCosts(from, startCell, false, startCosts);
+        goalCosts = portalCosts(to, goalCell, true, goalCosts);
+
+        int startNode = nodeCount;
+        int goalNode = nodeCount + 1;
+        prepareSearch(nodeCount + 2);
+        for (int k = 0; k < from.portals.length; k++) {
+            if (startCosts[k] != UNREACHABLE) {
+                relax(offsets[sc] + k, startNode, startCosts[k], gx, gy);
+            }
+        }
+
+        while (!open.isEmpty()) {
+            int node = open.poll();
+            if (closed[node] == query) {
+                continue;
+            }
+            if (node == goalNode) {
+                break;
+            }
+            closed[node] = query;
+            expanded++;
+            int c = nodeCluster[node];
+            int k = node - offsets[c];
+            Cluster cluster = clusters[c];
+            int g = cost[node];
+            if (c == gc && goalCosts[k] != UNREACHABLE) {
+                relax(goalNode, node, g + goalCosts[k], gx, gy);
+            }
+            for (int j = 0; j < cluster.portals.length; j++) {
+                int step = intraCost(cluster, k, j);
+                if (j != k && step != UNREACHABLE) {
+                    relax(offsets[c] + j, node, g + step, gx, gy);
+                }
+            }
+            for (int side = 0; side < 2; side++) {
+                int partner = cluster.partners[2 * k + side];
+                if (partner < 0) {
+                    continue;
+                }
+                int px = partner % width;
+                int py = partner / width;
+                int pc = clusterOf(px, py);
+                int j = indexOf(clusters[pc], partner);
+                relax(offsets[pc] + j, node, g + cellCost(px, py), gx, gy);
+            }
+        }
+
+        if (seen[goalNode] != query) {
+            // Ziel hinter Wänden: stehen bleiben
+            return path;
+        }
+        // Portalkette vom Ziel rückwärts; chain[0] ist die Zielzelle
+        int length = 0;
+        chain[length++] = goalCell;
+        for (int node = parent[goalNode]; node != startNode; node = parent[node]) {
+            if (length == chain.length) {
+                chain = Arrays.copyOf(chain, 2 * length);
+            }
+            chain[length++] = clusters[nodeCluster[node]].portals[node - offsets[nodeCluster[node]]];
+        }
+
+        int current = startCell;
+        for (int i = length - 1; i >= 0; i--) {
+            int next = chain[i];
+            int cx = current % width;
+            int cy = current / width;
+            int nx = next % width;
+            int ny = next / width;
+            int currentCluster = clusterOf(cx, cy);
+            if (currentCluster != clusterOf(nx, ny)) {
+                // Übergang über eine Clustergrenze: Nachbarzelle
+                path.add(event.cell(nx, ny));
+            } else {
+                appendLocal(clusters[currentCluster], current, next, path);
+            }
+            current = next;
+        }
+        return path;
+    }
+
+    private void prepareSearch(int size) {
+        if (cost == null || cost.length < size) {
+            cost = new int[size];
+            parent = new int[size];
+            seen = new int[size];
+            closed = new int[size];
+            query = 0;
+        }
+        if (open == null) {
+            open = new Heap();
+            chain = new int[64];
+        }
+        open.clear();
+        query++;
+    }
+
+    private void relax(int node, int from, int value, int gx, int gy) {
+        if (seen[node] == query && value >= cost[node]) {
+            return;
+        }
+        seen[node] = query;
+        cost[node] = value;
+        parent[node] = from;
+        int h = 0;
+        if (node < nodeCount) {
+            int cell = clusters[nodeCluster[node]].portals[node - offsets[nodeCluster[node]]];
+            h = Math.max(Math.abs(cell % width - gx), Math.abs(cell / width - gy));
+        }
+        // Reihenfolge: geschätzte Gesamtkosten mit überhöhter Restschätzung, dann Restschätzung, dann Knotennummer
+        open.add((long) (value + h + (h >> HEURISTIC_SLACK)) << 32 | h, node);
+    }
+
+    // ---------------------------------------------------------------- Aufbau
+
+    private void sync() {
+        if (!built) {
+            for (RestrictedArea ra : event.getRestrictedAreas()) {
+                knownAreas.put(ra, ra.isActive());
+            }
+            for (int c = 0; c < clusters.length; c++) {
+                rebuild(c);
+            }
+            renumber();
+            built = true;
+            areaVersion = event.getRestrictedAreaVersion();
+            return;
+        }
+        long version = event.getRestrictedAreaVersion();
+        if (version == areaVersion && version >= 0) {
+            return;
+        }
+        areaVersion = version;
+
+        boolean[] dirty = new boolean[clusters.length];
+        boolean any = false;
+        for (RestrictedArea ra : event.getRestrictedAreas()) {
+            Boolean known = knownAreas.put(ra, ra.isActive());
+            boolean changed = known == null ? ra.isActive() : known != ra.isActive();
+            if (changed) {
+                markDirty(ra, dirty);
+                any = true;
+            }
+        }
+        if (!any) {
+            return;
+        }
+        // Portale liegen auf beiden Seiten einer Grenze: Nachbarn geänderter Cluster mit aufbauen
+        boolean[] rebuild = dirty.clone();
+        for (int c = 0; c < clusters.length; c++) {
+            if (!dirty[c]) {
+                continue;
+            }
+            int cx = c % clustersX;
+            int cy = c / clustersX;
+            if (cx > 0) rebuild[c - 1] = true;
+            if (cx < clustersX - 1) rebuild[c + 1] = true;
+            if (cy > 0) rebuild[c - clustersX] = true;
+            if (cy < clustersY - 1) rebuild[c + clustersX] = true;
+        }
+        for (int c = 0; c < clusters.length; c++) {
+            if (rebuild[c]) {
+                rebuild(c);
+            }
+        }
+        renumber();
+    }
+
+    private void markDirty(RestrictedArea ra, boolean[] dirty) {
+        int r = ra.getRadius();
+        int minX = clamp(ra.getCenterX() - r, width) / clusterSize;
+        int maxX = clamp(ra.getCenterX() + r, width) / clusterSize;
+        int minY = clamp(ra.getCenterY() - r, height) / clusterSize;
+        int maxY = clamp(ra.getCenterY() + r, height) / clusterSize;
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                dirty[cy * clustersX + cx] = true;
+            }
+        }
+    }
+
+    private void renumber() {
+        offsets = new int[clusters.length];
+        int total = 0;
+        for (int c = 0; c < clusters.length; c++) {
+            offsets[c] = total;
+            total += clusters[c].portals.length;
+        }
+        nodeCount = total;
+        nodeCluster = new int[total + 2];
+        for (int c = 0; c < clusters.length; c++) {
+            Arrays.fill(nodeCluster, offsets[c], offsets[c] + clusters[c].portals.length, c);
+        }
+    }
+
+    private void rebuild(int index) {
+        Cluster c = clusters[index];
+        c.restricted = false;
+        for (int y = c.y0; y <= c.y1 && !c.restricted; y++) {
+            for (int x = c.x0; x <= c.x1; x++) {
+                if (event.isRestricted(x, y) || event.isWall(x, y)) {
+                    c.restricted = true;
+                    break;
+                }
+            }
+        }
+
+        List<int[]> entrances = new ArrayList<>();
+        if (c.x0 > 0) {
+            border(c.x0, c.y0, 0, 1, c.y1 - c.y0 + 1, -1, 0, entrances);
+        }
+        if (c.x1 < width - 1) {
+            border(c.x1, c.y0, 0, 1, c.y1 - c.y0 + 1, 1, 0, entrances);
+        }
+        if (c.y0 > 0) {
+            border(c.x0, c.y0, 1, 0, c.x1 - c.x0 + 1, 0, -1, entrances);
+        }
+        if (c.y1 < height - 1) {
+            border(c.x0, c.y1, 1, 0, c.x1 - c.x0 + 1, 0, 1, entrances);
+        }
+
+        int[] portals = new int[entrances.size()];
+        int[] partners = new int[2 * entrances.size()];
+        Arrays.fill(partners, -1);
+        int count = 0;
+        for (int[] entrance : entrances) {
+            int k = 0;
+            while (k < count && portals[k] != entrance[0]) {
+                k++;
+            }
+            if (k == count) {
+                portals[count++] = entrance[0];
+            }
+            partners[2 * k + (partners[2 * k] < 0 ? 0 : 1)] = entrance[1];
+        }
+        c.portals = Arrays.copyOf(portals, count);
+        c.partners = Arrays.copyOf(partners, 2 * count);
+
+        if (!c.restricted) {
+            c.intra = null;
+            return;
+        }
+        c.intra = new int[count * count];
+        for (int k = 0; k < count; k++) {
+            int[] dist = localDistances(c, c.portals[k], false, false);
+            for (int j = 0; j < count; j++) {
+                c.intra[k * count + j] = dist[local(c, c.portals[j])];
+            }
+        }
+    }
+
+    /**
+     * Zerlegt eine Clustergrenze in Abschnitte gleicher Begehbarkeit und legt für jeden Abschnitt
+     * ohne Wand Portale an. Beide angrenzenden Cluster laufen die Grenze in derselben Richtung ab und
+     * kommen so auf dieselben Portale.
+     */
+    private void border(int x, int y, int stepX, int stepY, int length, int outX, int outY, List<int[]> out) {
+        int runStart = 0;
+        for (int i = 1; i <= length; i++) {
+            int state = pairState(x + runStart * stepX, y + runStart * stepY, outX, outY);
+            if (i < length && pairState(x + i * stepX, y + i * stepY, outX, outY) == state) {
+                continue;
+            }
+            int runEnd = i - 1;
+            if (state == WALL) {
+                // Kein Übergang durch die Wand
+            } else if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                addEntrance(x + runStart * stepX, y + runStart * stepY, outX, outY, out);
+                addEntrance(x + runEnd * stepX, y + runEnd * stepY, outX, outY, out);
+            } else {
+                int mid = (runStart + runEnd) / 2;
+                addEntrance(x + mid * stepX, y + mid * stepY, outX, outY, out);
+            }
+            runStart = i;
+        }
+    }
+
+    private int pairState(int x, int y, int outX, int outY) {
+        if (event.isWall(x, y) || event.isWall(x + outX, y + outY)) {
+            return WALL;
+        }
+        return event.isRestricted(x, y) || event.isRestricted(x + outX, y + outY) ? RESTRICTED : FREE;
+    }
+
+    private void addEntrance(int x, int y, int outX, int outY, List<int[]> out) {
+        out.add(new int[]{y * width + x, (y + outY) * width + x + outX});
+    }
+
+    // ---------------------------------------------------------------- Suche im Cluster
+
+    private int intraCost(Cluster c, int k, int j) {
+        if (c.intra != null) {
+            return c.intra[k * c.portals.length + j];
+        }
+        return chebyshev(c.portals[k], c.portals[j]);
+    }
+
+    /**
+     * @param toCell {@code true}: Kosten von jedem Portal zur Zelle, sonst von der Zelle zu jedem Portal
+     */
+    private int[] portalCosts(Cluster c, int cell, boolean toCell, int[] costs) {
+        if (costs == null || costs.length < c.portals.length) {
+            costs = new int[Math.max(16, c.portals.length)];
+        }
+        if (!c.restricted) {
+            for (int k = 0; k < c.portals.length; k++) {
+                costs[k] = chebyshev(cell, c.portals[k]);
+            }
+            return costs;
+        }
+        int[] dist = localDistances(c, cell, toCell, false);
+        for (int k = 0; k < c.portals.length; k++) {
+            costs[k] = dist[local(c, c.portals[k])];
+        }
+        return costs;
+    }
+
+    /**
+     * @return {@code false}, wenn Wände das Ziel innerhalb des Clusters unerreichbar machen
+     */
+    private boolean appendLocal(Cluster c, int fromCell, int toCell, List<Int2D> path) {
+        if (!c.restricted) {
+            appendLine(fromCell, toCell, path);
+            return true;
+        }
+        if (localDistances(c, fromCell, false, true)[local(c, toCell)] == UNREACHABLE) {
+            return false;
+        }
+        // Rückwärts über die Vorgänger, dann den angehängten Abschnitt umdrehen
+        int first = path.size();
+        for (int l = local(c, toCell); l != local(c, fromCell); l = localParent[l]) {
+            path.add(event.cell(c.x0 + l % (c.x1 - c.x0 + 1), c.y0 + l / (c.x1 - c.x0 + 1)));
+        }
+        Collections.reverse(path.subList(first, path.size()));
+        return true;
+    }
+
+    private void appendLine(int fromCell, int toCell, List<Int2D> path) {
+        int x = fromCell % width;
+        int y = fromCell / width;
+        int tx = toCell % width;
+        int ty = toCell / width;
+        while (x != tx || y != ty) {
+            x += Integer.compare(tx, x);
+            y += Integer.compare(ty, y);
+            path.add(event.cell(x, y));
+        }
+    }
+
+    /**
+     * Dijkstra innerhalb der Clustergrenzen. Vorwärts kostet jede betretene Zelle; rückwärts
+     * ({@code reverse}) ergibt sich für jede Zelle der Aufwand bis zur Quelle. Wandzellen bleiben
+     * {@link #UNREACHABLE}.
+     *
+     * @param withParents {@code true}: {@link #localParent} erhält vorwärts den Vorgänger jeder Zelle
+     *                    (lokaler Index)
+     * @return Abstand je lokaler Zelle; gemeinsamer Puffer, gültig bis zum nächsten Aufruf
+     */
+    private int[] localDistances(Cluster c, int sourceCell, boolean reverse, boolean withParents) {
+        int w = c.x1 - c.x0 + 1;
+        int h = c.y1 - c.y0 + 1;
+        if (localDist == null) {
+            localDist = new int[clusterSize * clusterSize];
+            localParent = new int[clusterSize * clusterSize];
+            localOpen = new Heap();
+        }
+        int[] dist = localDist;
+        Arrays.fill(dist, 0, w * h, UNREACHABLE);
+        int source = local(c, sourceCell);
+        dist[source] = 0;
+        Heap open = localOpen;
+        open.clear();
+        open.add(0, source);
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            int l = open.poll();
+            if (key != dist[l]) {
+                continue;
+            }
+            int lx = l % w;
+            int ly = l / w;
+            int own = reverse ? cellCost(c.x0 + lx, c.y0 + ly) : 0;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = lx + DX[d];
+                int ny = ly + DY[d];
+                if (nx < 0 || ny < 0 || nx >= w || ny >= h) {
+                    continue;
+                }
+                if (event.isWall(c.x0 + nx, c.y0 + ny)) {
+                    continue;
+                }
+                int n = ny * w + nx;
+                int next = dist[l] + (reverse ? own : cellCost(c.x0 + nx, c.y0 + ny));
+                if (next < dist[n]) {
+                    dist[n] = next;
+                    if (withParents) {
+                        localParent[n] = l;
+                    }
+                    open.add(next, n);
+                }
+            }
+        }
+        return dist;
+    }
+
+    // ---------------------------------------------------------------- Hilfsfunktionen
+
+    private int cellCost(int x, int y) {
+        return event.isRestricted(x, y) ? PathPlanner.RESTRICTED_COST : 1;
+    }
+
+    private int clusterOf(int x, int y) {
+        return (y / clusterSize) * clustersX + x / clusterSize;
+    }
+
+    private int local(Cluster c, int cell) {
+        return (cell / width - c.y0) * (c.x1 - c.x0 + 1) + cell % width - c.x0;
+    }
+
+    private static int indexOf(Cluster c, int cell) {
+        for (int k = 0; k < c.portals.length; k++) {
+            if (c.portals[k] == cell) {
+                return k;
+            }
+        }
+        throw new IllegalStateException("Kein Portal auf Zelle " + cell);
+    }
+
+    private int chebyshev(int a, int b) {
+        return Math.max(Math.abs(a % width - b % width), Math.abs(a / width - b / width));
+    }
+
+    private static int clamp(int v, int size) {
+        return Math.max(0, Math.min(size - 1, v));
+    }
+
+    /**
+     * Binärer Min-Heap aus Schlüssel und Knoten in primitiven Arrays; bei gleichem Schlüssel
+     * entscheidet der kleinere Knoten.
+     */
+    private static final class Heap {
+        private long[] keys = new long[256];
+        private int[] nodes = new int[256];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekKey() {
+            return keys[0];
+        }
+
+        void add(long key, int node) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                nodes = Arrays.copyOf(nodes, 2 * size);
+            }
+            int i = size++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (!less(key, node, keys[up], nodes[up])) {
+                    break;
+                }
+                keys[i] = keys[up];
+                nodes[i] = nodes[up];
+                i = up;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        int poll() {
+            int top = nodes[0];
+            size--;
+            long key = keys[size];
+            int node = nodes[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && less(keys[child + 1], nodes[child + 1], keys[child], nodes[child])) {
+                    child++;
+                }
+                if (!less(keys[child], nodes[child], key, node)) {
+                    break;
+                }
+                keys[i] = keys[child];
+                nodes[i] = nodes[child];
+                i = child;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+            return top;
+        }
+
+        private static boolean less(long keyA, int nodeA, long keyB, int nodeB) {
+            return keyA != keyB ? keyA < keyB : nodeA < nodeB;
+        }
+    }
+
+    private static final class Cluster implements Serializable {
+        // Grenzen einschließlich
+        private final int x0;
+        private final int y0;
+        private final int x1;
+        private final int y1;
+        // Sperrzonen oder Wände im Cluster: Kosten stehen in der Tabelle statt per Chebyshev-Abstand
+        private boolean restricted;
+        // Zellindex jedes Portals
+        private int[] portals = new int[0];
+        // Je Portal bis zu zwei Partnerzellen im Nachbarcluster (Eckzellen liegen an zwei Grenzen), sonst -1
+        private int[] partners = new int[0];
+        // Kosten zwischen den Portalen (k * Anzahl + j); null, wenn der Cluster frei ist
+        private int[] intra;
+
+        Cluster(int x0, int y0, int x1, int y1) {
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = x1;
+            this.y1 = y1;
+        }
+    }
+}
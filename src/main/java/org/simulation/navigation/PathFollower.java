@@ -0,0 +1,53 @@
+package org.simulation.navigation;
+
+import org.simulation.Event;
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Merkt sich für eine Einsatzkraft den geplanten Weg und liefert Zug um Zug die nächste Zelle.
+ * Neu geplant wird, wenn sich das Ziel oder die Sperrzonen geändert haben oder die Einsatzkraft nicht
+ * mehr dort steht, wo der Weg sie hingeführt hat (z. B. weil sie versetzt wurde).
+ */
+public class PathFollower implements Serializable {
+
+    private Int2D goal;
+    private long version;
+    private List<Int2D> path;
+    private Int2D expected;
+    private int index;
+
+    /**
+     * @param current aktuelle Position
+     * @param goal    Ziel
+     * @return nächste Zelle auf dem Weg oder {@code null}, wenn das Ziel erreicht ist
+     */
+    public Int2D next(Event event, Int2D current, Int2D goal) {
+        if (current.equals(goal)) {
+            return null;
+        }
+        long areas = event.getRestrictedAreaVersion();
+        if (path == null || !goal.equals(this.goal) || areas != version || !current.equals(expected)
+                || index >= path.size()) {
+            path = event.getPathPlanner().route(current, goal);
+            this.goal = goal;
+            version = areas;
+            index = 0;
+            if (path.isEmpty()) {
+                return null;
+            }
+        }
+        expected = path.get(index++);
+        return expected;
+    }
+
+    /**
+     * Vergisst den aktuellen Weg.
+     */
+    public void reset() {
+        path = null;
+        expected = null;
+    }
+}
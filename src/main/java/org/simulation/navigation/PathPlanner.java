@@ -0,0 +1,280 @@
+package org.simulation.navigation;
+
+import metrics.MetricsCollector;
+import org.simulation.Event;
+import sim.util.Int2D;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A*-Wegplanung für einzelne Einsatzkräfte (Security, Sanitäter, Feuerwehr).
+ * Einsatzkräfte dürfen Sperrzonen betreten, sollen aber nicht ohne Not quer durch fremde Gefahrenbereiche
+ * laufen: eine gesperrte Zelle kostet deshalb {@link #RESTRICTED_COST} statt 1. Liegt das Ziel selbst in
+ * einer Sperrzone, führt der Weg trotzdem hinein, aber auf kürzestem Weg. Wände ({@link Event#isWall}) sind
+ * dagegen für alle unpassierbar; ist das Ziel hinter Wänden nicht erreichbar, ist der Weg leer.
+ * <p>
+ * Geplante Wege landen in einem gemeinsamen LRU-Cache, Schlüssel ist (Startregion, Ziel, Stand der
+ * Sperrzonen). Wer aus derselben {@value #REGION_SIZE}x{@value #REGION_SIZE}-Region zum selben Ziel
+ * will, schließt sich dem vorhandenen Weg an der günstigsten Stelle an, statt neu zu suchen.
+ * Der Aufwand jeder neuen Suche wird als Metrik {@code PathPlanningExpansions} erfasst: die Zahl der
+ * expandierten Knoten, also Zellen bzw. auf großen Grids Portale. Sie hängt nur von Grid, Sperrzonen und
+ * Anfrage ab und ist bei gleichem Seed identisch. Die Rechenzeit hängt dagegen von der Maschine ab; sie
+ * steht über {@link #getPlanningNanos()}, in der Zusammenfassung eines headless Laufs und im Log
+ * (Level FINE) zur Verfügung.
+ * <p>
+ * Auf Grids mit mehr als {@value #HIERARCHY_THRESHOLD} Zellen sucht der Planer nicht mehr Zelle für Zelle,
+ * sondern über einen {@link HierarchicalPathfinder}, dessen Clustergröße sich nach dem Speicherbudget richtet.
+ */
+public class PathPlanner implements Serializable {
+
+    public static final int RESTRICTED_COST = 5;
+    public static final int REGION_SIZE = 8;
+    public static final int CACHE_SIZE = 256;
+    public static final String METRIC = "PathPlanningExpansions";
+    public static final int HIERARCHY_THRESHOLD = 256 * 256;
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    private static final Logger logger = Logger.getLogger(PathPlanner.class.getName());
+    private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    private final Event event;
+    private final Map<Key, List<Int2D>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, List<Int2D>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final long memoryBudget;
+    private HierarchicalPathfinder hierarchy;
+    private long searches = 0;
+    private long cacheHits = 0;
+    private long expansions = 0;
+    private long planningNanos = 0;
+    // Expandierte Zellen der letzten Suche Zelle für Zelle
+    private int lastExpansions;
+
+    public PathPlanner(Event event) {
+        this(event, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * @param memoryBudget Speicherbudget der hierarchischen Abstraktion in Bytes (nur für große Grids)
+     */
+    public PathPlanner(Event event, long memoryBudget) {
+        this.event = event;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Liefert einen Weg von {@code start} nach {@code goal}, aus dem Cache oder per A*.
+     *
+     * @return Zellen ab dem ersten Schritt bis einschließlich Ziel; leer, wenn Start und Ziel gleich sind
+     */
+    public List<Int2D> route(Int2D start, Int2D goal) {
+        int width = event.grid.getWidth();
+        int height = event.grid.getHeight();
+        int sx = clamp(start.x, width);
+        int sy = clamp(start.y, height);
+        int gx = clamp(goal.x, width);
+        int gy = clamp(goal.y, height);
+        Key key = new Key((sy / REGION_SIZE) * ((width + REGION_SIZE - 1) / REGION_SIZE) + sx / REGION_SIZE,
+                gx, gy, event.getRestrictedAreaVersion());
+
+        List<Int2D> cached = cache.get(key);
+        List<Int2D> joined = cached != null ? join(sx, sy, cached) : null;
+        if (joined != null) {
+            cacheHits++;
+            return joined;
+        }
+        long begin = System.nanoTime();
+        List<Int2D> path;
+        int expanded;
+        if ((long) width * height > HIERARCHY_THRESHOLD) {
+            HierarchicalPathfinder finder = hierarchy(width, height);
+            path = List.copyOf(finder.route(event.cell(sx, sy), event.cell(gx, gy)));
+            expanded = finder.getLastExpansions();
+        } else {
+            path = search(sx, sy, gx, gy, width, height);
+            expanded = lastExpansions;
+        }
+        long nanos = System.nanoTime() - begin;
+        searches++;
+        expansions += expanded;
+        planningNanos += nanos;
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(String.format("Weg %d,%d -> %d,%d geplant in %d µs, %d Knoten expandiert",
+                    sx, sy, gx, gy, nanos / 1000, expanded));
+        }
+        MetricsCollector collector = event.getCollector();
+        if (collector != null) {
+            collector.recordMetric(METRIC, expanded);
+        }
+        cache.put(key, path);
+        // Kopie statt subList-Sicht, damit der Weg mit dem Event gesichert werden kann
+        return List.copyOf(path.subList(1, path.size()));
+    }
+
+    /**
+     * @return Anzahl tatsächlich ausgeführter A*-Suchen
+     */
+    public long getSearchCount() {
+        return searches;
+    }
+
+    /**
+     * @return Anzahl Anfragen, die aus dem Cache beantwortet wurden
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * @return expandierte Knoten über alle Suchen; reproduzierbares Maß für den Planungsaufwand
+     */
+    public long getExpansionCount() {
+        return expansions;
+    }
+
+    /**
+     * @return gesamte Rechenzeit aller Suchen in Nanosekunden; nur zur Profilierung, nicht reproduzierbar
+     */
+    public long getPlanningNanos() {
+        return planningNanos;
+    }
+
+    /**
+     * @return hierarchische Abstraktion für große Grids; wird beim ersten Bedarf angelegt
+     */
+    public HierarchicalPathfinder hierarchy(int width, int height) {
+        if (hierarchy == null || hierarchy.getWidth() != width || hierarchy.getHeight() != height) {
+            hierarchy = HierarchicalPathfinder.forBudget(event, memoryBudget);
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Anschluss an einen vorhandenen Weg: Gewählt wird die Wegzelle mit der kleinsten Summe aus
+     * direktem Zugang und Restweg; der Zugang läuft schrittweise direkt auf sie zu.
+     * Der Zugang ist nur als Folge von Schritten zu Kosten 1 gerechnet; führt er durch eine Wand oder vor der
+     * Wegzelle durch eine Sperrzone, wäre er teurer als angenommen, und es wird neu gesucht.
+     *
+     * @return {@code null}, wenn der direkte Zugang eine Wand oder eine Sperrzone kreuzt
+     */
+    private List<Int2D> join(int sx, int sy, List<Int2D> path) {
+        int best = 0;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < path.size(); i++) {
+            Int2D cell = path.get(i);
+            int cost = Math.max(Math.abs(cell.x - sx), Math.abs(cell.y - sy)) + (path.size() - 1 - i);
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+            }
+        }
+        Int2D entry = path.get(best);
+        List<Int2D> route = new ArrayList<>(bestCost);
+        int x = sx;
+        int y = sy;
+        while (x != entry.x || y != entry.y) {
+            x += Integer.compare(entry.x, x);
+            y += Integer.compare(entry.y, y);
+            if (event.isWall(x, y) || (event.isRestricted(x, y) && (x != entry.x || y != entry.y))) {
+                return null;
+            }
+            route.add(event.cell(x, y));
+        }
+        route.addAll(path.subList(best + 1, path.size()));
+        return List.copyOf(route);
+    }
+
+    // Liefert den vollständigen Weg einschließlich Startzelle
+    private List<Int2D> search(int sx, int sy, int gx, int gy, int width, int height) {
+        int size = width * height;
+        int start = sy * width + sx;
+        int goal = gy * width + gx;
+        int[] cost = new int[size];
+        int[] parent = new int[size];
+        boolean[] closed = new boolean[size];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        cost[start] = 0;
+        parent[start] = -1;
+
+        PriorityQueue<Node> open = new PriorityQueue<>(Node.ORDER);
+        lastExpansions = 0;
+        open.add(new Node(start, heuristic(sx, sy, gx, gy), heuristic(sx, sy, gx, gy)));
+        while (!open.isEmpty()) {
+            Node node = open.poll();
+            int cell = node.cell;
+            if (closed[cell]) {
+                continue;
+            }
+            if (cell == goal) {
+                break;
+            }
+            closed[cell] = true;
+            lastExpansions++;
+            int cx = cell % width;
+            int cy = cell / width;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                    continue;
+                }
+                if (event.isWall(nx, ny)) {
+                    continue;
+                }
+                int n = ny * width + nx;
+                int step = n != goal && event.isRestricted(nx, ny) ? RESTRICTED_COST : 1;
+                int next = cost[cell] + step;
+                if (next < cost[n]) {
+                    cost[n] = next;
+                    parent[n] = cell;
+                    int h = heuristic(nx, ny, gx, gy);
+                    open.add(new Node(n, next + h, h));
+                }
+            }
+        }
+
+        if (cost[goal] == Integer.MAX_VALUE) {
+            // Ziel hinter Wänden: stehen bleiben
+            return List.of(event.cell(sx, sy));
+        }
+        List<Int2D> path = new ArrayList<>();
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            path.add(event.cell(cell % width, cell / width));
+        }
+        Collections.reverse(path);
+        return List.copyOf(path);
+    }
+
+    // Chebyshev-Abstand: jeder Schritt kostet mindestens 1, die Schätzung ist also zulässig
+    private static int heuristic(int x, int y, int gx, int gy) {
+        return Math.max(Math.abs(x - gx), Math.abs(y - gy));
+    }
+
+    private static int clamp(int v, int size) {
+        return Math.max(0, Math.min(size - 1, v));
+    }
+
+    private record Node(int cell, int f, int h) {
+        // Bei gleicher Schätzung zuerst die Zelle näher am Ziel, danach deterministisch nach Index
+        static final Comparator<Node> ORDER = Comparator.comparingInt(Node::f)
+                .thenComparingInt(Node::h)
+                .thenComparingInt(Node::cell);
+    }
+
+    private record Key(int region, int goalX, int goalY, long version) implements Serializable {
+    }
+}
@@ -3,7 +3,10 @@ package org.simulation.utils;
 import org.simulation.Agent;
 import org.simulation.Event;
 import org.simulation.Person;
+import org.simulation.PositionStore;
+import org.simulation.navigation.FlowField;
 import sim.util.Int2D;
+import zones.Zone;
 
 /**
  * Utility-Klasse zur zentralen Handhabung von Bewegungslogik innerhalb der Simulation.
@@ -25,21 +28,52 @@ public class MovementUtils {
             return randomMove(agent, event);
         }
 
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        PositionStore positions = event.getPositions();
+        int x = positions.getX(agent);
+        int y = positions.getY(agent);
 
-        int dx = Integer.compare(target.x, currentPos.x);
-        int dy = Integer.compare(target.y, currentPos.y);
+        // Zonenziele über das Flussfeld um Sperrzonen herum; Einsatzkräfte dürfen hindurch und gehen direkt
+        if (!ignoresRestrictions(agent)) {
+            int direction = event.getFlowFields().direction(target, x, y);
+            if (direction != FlowField.NONE) {
+                return stepBy(agent, event, positions, x, y, FlowField.dx(direction), FlowField.dy(direction));
+            }
+        }
 
-        int newX = Math.max(0, Math.min(event.grid.getWidth() - 1, currentPos.x + dx));
-        int newY = Math.max(0, Math.min(event.grid.getHeight() - 1, currentPos.y + dy));
-        Int2D nextPos = new Int2D(newX, newY);
+        int dx = Integer.compare(target.x, x);
+        int dy = Integer.compare(target.y, y);
+
+        return stepBy(agent, event, positions, x, y, dx, dy);
+    }
 
-        if (!isBlocked(event, newX, newY, agent)) {
-            event.grid.setObjectLocation(agent, nextPos);
+    /**
+     * Prüft, ob ein Agent an seinem Ziel angekommen ist. Liegt das Ziel in einer Zone, genügt jede Zelle
+     * ihrer Grundfläche – Agenten betreten eine Zone dort, wo ihr Weg auf sie trifft.
+     */
+    public static boolean hasReached(Event event, Int2D position, Int2D target) {
+        if (position.equals(target)) {
             return true;
         }
+        Zone zone = event.getZoneByPosition(target);
+        return zone != null && zone.covers(position);
+    }
 
-        return false;
+    /**
+     * Gemeinsamer Bewegungskern: ein Schritt um (dx, dy), am Rand abgeschnitten, sofern die Zielzelle
+     * nicht gesperrt ist. Erzeugt keine Objekte – die Position wird als Koordinaten gelesen und übergeben,
+     * auch auf Grids ohne vorab angelegte Zellen.
+     */
+    private static boolean stepBy(Agent agent, Event event, PositionStore positions, int x, int y, int dx, int dy) {
+        int newX = Math.max(0, Math.min(positions.getWidth() - 1, x + dx));
+        int newY = Math.max(0, Math.min(positions.getHeight() - 1, y + dy));
+
+        if (isBlocked(event, newX, newY, agent)) {
+            return false;
+        }
+        if (newX != x || newY != y) {
+            positions.setLocation(agent, newX, newY);
+        }
+        return true;
     }
 
     /**
@@ -47,12 +81,10 @@ public class MovementUtils {
      * Return true, wenn Agent NICHT in einer RestrictedArea steht oder erfolgreich entkommen konnte.
      */
     public static boolean tryEscapeRestrictedArea(Agent agent, Event event) {
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        PositionStore positions = event.getPositions();
+        Int2D currentPos = positions.getLocation(agent);
 
-        boolean inRestricted = event.getRestrictedAreas().stream()
-                .anyMatch(ra -> ra.isActive() && ra.isInside(currentPos.x, currentPos.y));
-
-        if (!inRestricted) {
+        if (!event.isRestricted(currentPos.x, currentPos.y)) {
             return true; // Agent steht nicht in Sperrzone
         }
 
@@ -61,11 +93,11 @@ public class MovementUtils {
             for (int dyTry = -1; dyTry <= 1; dyTry++) {
                 if (dxTry == 0 && dyTry == 0) continue;
 
-                int tryX = Math.max(0, Math.min(event.grid.getWidth() - 1, currentPos.x + dxTry));
-                int tryY = Math.max(0, Math.min(event.grid.getHeight() - 1, currentPos.y + dyTry));
+                int tryX = Math.max(0, Math.min(positions.getWidth() - 1, currentPos.x + dxTry));
+                int tryY = Math.max(0, Math.min(positions.getHeight() - 1, currentPos.y + dyTry));
 
                 if (!isBlocked(event, tryX, tryY, agent)) {
-                    event.grid.setObjectLocation(agent, new Int2D(tryX, tryY));
+                    positions.setLocation(agent, tryX, tryY);
                     return true;
                 }
             }
@@ -80,44 +112,37 @@ public class MovementUtils {
      * Return true, wenn Bewegung erfolgreich war.
      */
     public static boolean randomMove(Agent agent, Event event) {
-        Int2D currentPos = event.grid.getObjectLocation(agent);
-
+        PositionStore positions = event.getPositions();
         int dx = event.random.nextInt(3) - 1;
         int dy = event.random.nextInt(3) - 1;
 
-        int newX = Math.max(0, Math.min(event.grid.getWidth() - 1, currentPos.x + dx));
-        int newY = Math.max(0, Math.min(event.grid.getHeight() - 1, currentPos.y + dy));
-        Int2D nextPos = new Int2D(newX, newY);
-
-        if (!isBlocked(event, newX, newY, agent)) {
-            event.grid.setObjectLocation(agent, nextPos);
-            return true;
-        }
-
-        return false;
+        return stepBy(agent, event, positions, positions.getX(agent), positions.getY(agent), dx, dy);
     }
 
     /**
-     * Prüft, ob eine Position blockiert ist (z. B. durch eine aktive RestrictedArea).
+     * Prüft, ob eine Position blockiert ist: Wände für alle, aktive RestrictedAreas nur für Besucher.
      */
     public static boolean isBlocked(Event event, int x, int y, Agent agent) {
-        // SECURITY und MEDIC dürfen immer in RestrictedArea laufen
-        if (agent instanceof Person p &&
-                (p.getType() == Person.PersonType.SECURITY ||
-                        p.getType() == Person.PersonType.MEDIC)) {
+        if (event.isWall(x, y)) {
+            return true;
+        }
+        if (ignoresRestrictions(agent)) {
             return false;
         }
-        return event.getRestrictedAreas().stream()
-                .anyMatch(ra -> ra.isActive() && ra.isInside(x, y));
+        return event.isRestricted(x, y);
     }
 
+    // SECURITY und MEDIC dürfen immer in RestrictedArea laufen
+    private static boolean ignoresRestrictions(Agent agent) {
+        return agent instanceof Person p &&
+                (p.getType() == Person.PersonType.SECURITY ||
+                        p.getType() == Person.PersonType.MEDIC);
+    }
 
-    public static boolean placeQueueAgent(Agent agent, Event event, Int2D desiredPos) {
-        boolean inRestricted = event.getRestrictedAreas().stream()
-                .anyMatch(ra -> ra.isActive() && ra.isInside(desiredPos.x, desiredPos.y));
 
-        if (!inRestricted) {
-            event.grid.setObjectLocation(agent, desiredPos);
+    public static boolean placeQueueAgent(Agent agent, Event event, Int2D desiredPos) {
+        if (!event.isRestricted(desiredPos.x, desiredPos.y) && !event.isWall(desiredPos.x, desiredPos.y)) {
+            event.getPositions().setLocation(agent, desiredPos);
             return true;
         } else {
 
@@ -0,0 +1,173 @@
+package org.simulation.venue;
+
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kompaktes Binärformat für Veranstaltungsgelände. Die Datei wird beim Laden in den Speicher
+ * eingeblendet (memory-mapped) und in einem Durchgang gelesen; auch Layouts mit vielen tausend Zonen
+ * und Wänden sind damit in Millisekunden geladen.
+ * <pre>
+ * "VENU" version:int
+ * breite:int höhe:int eingangX:int eingangY:int feuerwacheVorhanden:byte [feuerwacheX:int feuerwacheY:int]
+ * zonen:int     { typ:byte x:int y:int breite:int höhe:int kapazität:int }
+ * routen:int    { art:byte x:int y:int sammelX:int sammelY:int }
+ * wände:int     { minX:int minY:int maxX:int maxY:int }
+ * </pre>
+ * Zonentyp und Routenart werden über ihre Ordinalzahl gespeichert; ändern sich die Enums, muss die
+ * Version erhöht werden.
+ * <p>
+ * Übersetzen einer Textdatei: {@code java org.simulation.venue.VenueBinary gelaende.venue gelaende.vbin}
+ */
+public final class VenueBinary {
+
+    private static final byte[] MAGIC = {'V', 'E', 'N', 'U'};
+    private static final int VERSION = 1;
+    // Bytes je Eintrag, um Anzahlen vor dem Anlegen der Listen gegen die Restlänge zu prüfen
+    private static final int ZONE_BYTES = 1 + 5 * 4;
+    private static final int ROUTE_BYTES = 1 + 4 * 4;
+    private static final int WALL_BYTES = 4 * 4;
+
+    private VenueBinary() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Aufruf: VenueBinary <eingabe.venue> <ausgabe.vbin>");
+            System.exit(1);
+        }
+        write(VenueText.read(Path.of(args[0])), Path.of(args[1]));
+    }
+
+    /**
+     * @return {@code true}, wenn die Datei mit der Kennung des Binärformats beginnt
+     */
+    public static boolean isBinary(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+        }
+    }
+
+    public static void write(VenueLayout layout, Path file) throws IOException {
+        int size = MAGIC.length + 4 + 5 * 4 + 1 + 2 * 4
+                + 4 + layout.getZones().size() * ZONE_BYTES
+                + 4 + layout.getRoutes().size() * ROUTE_BYTES
+                + 4 + layout.getWalls().size() * WALL_BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC).putInt(VERSION);
+        buffer.putInt(layout.getWidth()).putInt(layout.getHeight());
+        buffer.putInt(layout.getEntrance().x).putInt(layout.getEntrance().y);
+        Int2D station = layout.getFireStation();
+        buffer.put((byte) (station != null ? 1 : 0));
+        buffer.putInt(station != null ? station.x : 0).putInt(station != null ? station.y : 0);
+
+        buffer.putInt(layout.getZones().size());
+        for (VenueLayout.ZoneSpec z : layout.getZones()) {
+            buffer.put((byte) z.type().ordinal()).putInt(z.x()).putInt(z.y())
+                    .putInt(z.width()).putInt(z.height()).putInt(z.capacity());
+        }
+        buffer.putInt(layout.getRoutes().size());
+        for (VenueLayout.RouteSpec r : layout.getRoutes()) {
+            buffer.put((byte) r.kind().ordinal()).putInt(r.x()).putInt(r.y()).putInt(r.rallyX()).putInt(r.rallyY());
+        }
+        buffer.putInt(layout.getWalls().size());
+        for (VenueLayout.Wall w : layout.getWalls()) {
+            buffer.putInt(w.minX()).putInt(w.minY()).putInt(w.maxX()).putInt(w.maxY());
+        }
+        Files.write(file, buffer.array());
+    }
+
+    /**
+     * @throws IOException bei fehlender Kennung, falscher Version, abgeschnittener Datei, Anzahlen über die
+     *                     Dateilänge hinaus oder Positionen außerhalb des Grids
+     */
+    public static VenueLayout read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer, file);
+        }
+    }
+
+    private static VenueLayout decode(ByteBuffer buffer, Path file) throws IOException {
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new IOException("Keine Gelände-Binärdatei: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Nicht unterstützte Version " + version + " in " + file);
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            Int2D entrance = new Int2D(buffer.getInt(), buffer.getInt());
+            VenueLayout.requireInside("Eingang", entrance.x, entrance.y, width, height);
+            boolean hasStation = buffer.get() != 0;
+            Int2D station = new Int2D(buffer.getInt(), buffer.getInt());
+            if (hasStation) {
+                VenueLayout.requireInside("Feuerwache", station.x, station.y, width, height);
+            }
+
+            Zone.ZoneType[] zoneTypes = Zone.ZoneType.values();
+            int zoneCount = count(buffer, ZONE_BYTES, "Zonen", file);
+            List<VenueLayout.ZoneSpec> zones = new ArrayList<>(zoneCount);
+            for (int i = 0; i < zoneCount; i++) {
+                VenueLayout.ZoneSpec zone = new VenueLayout.ZoneSpec(zoneTypes[buffer.get()], buffer.getInt(),
+                        buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+                VenueLayout.requireInside("Zone", zone.x(), zone.y(), width, height);
+                VenueLayout.requireInside("Grundfläche der Zone", zone.x() + zone.width() - 1,
+                        zone.y() + zone.height() - 1, width, height);
+                zones.add(zone);
+            }
+            VenueLayout.RouteKind[] kinds = VenueLayout.RouteKind.values();
+            int routeCount = count(buffer, ROUTE_BYTES, "Routen", file);
+            List<VenueLayout.RouteSpec> routes = new ArrayList<>(routeCount);
+            for (int i = 0; i < routeCount; i++) {
+                VenueLayout.RouteSpec route = new VenueLayout.RouteSpec(kinds[buffer.get()], buffer.getInt(),
+                        buffer.getInt(), buffer.getInt(), buffer.getInt());
+                VenueLayout.requireInside("Route", route.x(), route.y(), width, height);
+                VenueLayout.requireInside("Sammelpunkt", route.rallyX(), route.rallyY(), width, height);
+                routes.add(route);
+            }
+            int wallCount = count(buffer, WALL_BYTES, "Wände", file);
+            List<VenueLayout.Wall> walls = new ArrayList<>(wallCount);
+            for (int i = 0; i < wallCount; i++) {
+                VenueLayout.Wall wall = new VenueLayout.Wall(buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                        buffer.getInt());
+                VenueLayout.requireInside("Wand", wall.minX(), wall.minY(), width, height);
+                VenueLayout.requireInside("Wand", wall.maxX(), wall.maxY(), width, height);
+                walls.add(wall);
+            }
+            return new VenueLayout(width, height, zones, routes, walls, entrance, hasStation ? station : null);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Beschädigte Gelände-Binärdatei " + file + ": " + e.getMessage(), e);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Beschädigte Gelände-Binärdatei: " + file, e);
+        }
+    }
+
+    // Liest eine Anzahl und prüft sie gegen die verbleibenden Bytes, bevor Platz dafür angelegt wird
+    private static int count(ByteBuffer buffer, int recordBytes, String what, Path file) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / recordBytes) {
+            throw new IOException("Beschädigte Gelände-Binärdatei " + file + ": " + count + " " + what
+                    + ", aber nur " + buffer.remaining() + " Bytes übrig");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,221 @@
+package org.simulation.venue;
+
+import org.simulation.ForkShared;
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Unveränderliche Beschreibung eines Veranstaltungsgeländes: Gridgröße, Zonen mit Grundfläche und
+ * Kapazität, Eingang, Feuerwache, Notfallrouten und Wände.
+ * Layouts werden als Text geschrieben ({@link VenueText}) und für große Gelände in ein kompaktes
+ * Binärformat übersetzt ({@link VenueBinary}); {@link #load} erkennt das Format selbst.
+ * <p>
+ * Ein Layout wird einmal gelesen und danach von allen Events geteilt, die damit gestartet werden
+ * (auch über Replikationen und Snapshot-Kopien hinweg).
+ */
+public final class VenueLayout implements Serializable, ForkShared {
+
+    /**
+     * Kapazität für Zonen ohne Obergrenze (z. B. der normale Ausgang).
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final String STANDARD_RESOURCE = "/venues/standard.venue";
+
+    /**
+     * Zone mit Ankerzelle (x, y) und einer Grundfläche von {@code width} x {@code height} Zellen ab dem Anker.
+     */
+    public record ZoneSpec(Zone.ZoneType type, int x, int y, int width, int height, int capacity)
+            implements Serializable {
+        public ZoneSpec {
+            Objects.requireNonNull(type, "type");
+            if (width < 1 || height < 1) {
+                throw new IllegalArgumentException("Grundfläche muss mindestens 1x1 sein: " + width + "x" + height);
+            }
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Kapazität darf nicht negativ sein: " + capacity);
+            }
+        }
+    }
+
+    public enum RouteKind {
+        STRAIGHT, RIGHT, LEFT
+    }
+
+    /**
+     * Notfallroute mit Markerposition und Sammelpunkt (ohne eigenen Sammelpunkt: der Marker selbst).
+     */
+    public record RouteSpec(RouteKind kind, int x, int y, int rallyX, int rallyY) implements Serializable {
+        public RouteSpec {
+            Objects.requireNonNull(kind, "kind");
+        }
+    }
+
+    /**
+     * Dauerhaft gesperrtes Rechteck, Grenzen einschließlich.
+     */
+    public record Wall(int minX, int minY, int maxX, int maxY) implements Serializable {
+        public Wall {
+            if (minX > maxX || minY > maxY) {
+                throw new IllegalArgumentException("Leere Wand: " + minX + "," + minY + " - " + maxX + "," + maxY);
+            }
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final List<ZoneSpec> zones;
+    private final List<RouteSpec> routes;
+    private final List<Wall> walls;
+    private final Int2D entrance;
+    private final Int2D fireStation;
+
+    /**
+     * @param entrance    Zelle, an der Besucher erscheinen
+     * @param fireStation Position der Feuerwache oder {@code null}, wenn das Gelände keine hat
+     */
+    public VenueLayout(int width, int height, List<ZoneSpec> zones, List<RouteSpec> routes, List<Wall> walls,
+                       Int2D entrance, Int2D fireStation) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Grid muss mindestens 1x1 groß sein: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.zones = List.copyOf(zones);
+        this.routes = List.copyOf(routes);
+        this.walls = List.copyOf(walls);
+        this.entrance = Objects.requireNonNull(entrance, "entrance");
+        this.fireStation = fireStation;
+    }
+
+    /**
+     * @return das bisher fest eingebaute 100x100-Gelände; wird einmal gelesen und dann geteilt
+     */
+    public static VenueLayout standard() {
+        return Standard.LAYOUT;
+    }
+
+    /**
+     * Liest ein Layout als Text oder im Binärformat (erkannt an der Kennung am Dateianfang).
+     */
+    public static VenueLayout load(Path file) throws IOException {
+        return VenueBinary.isBinary(file) ? VenueBinary.read(file) : VenueText.read(file);
+    }
+
+    /**
+     * @return dieses Layout auf einem Grid anderer Größe; bei gleicher Größe dieselbe Instanz
+     * @throws IllegalArgumentException wenn Eingang, Feuerwache, Zonen, Routen oder Wände nicht in das
+     *                                  kleinere Grid passen
+     */
+    public VenueLayout withSize(int width, int height) {
+        if (width == this.width && height == this.height) {
+            return this;
+        }
+        try {
+            requireInside("Eingang", entrance.x, entrance.y, width, height);
+            if (fireStation != null) {
+                requireInside("Feuerwache", fireStation.x, fireStation.y, width, height);
+            }
+            for (ZoneSpec zone : zones) {
+                requireInside("Zone " + zone.type(), zone.x() + zone.width() - 1, zone.y() + zone.height() - 1,
+                        width, height);
+            }
+            for (RouteSpec route : routes) {
+                requireInside("Route " + route.kind(), route.x(), route.y(), width, height);
+                requireInside("Sammelpunkt " + route.kind(), route.rallyX(), route.rallyY(), width, height);
+            }
+            for (Wall wall : walls) {
+                requireInside("Wand", wall.maxX(), wall.maxY(), width, height);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Gelände " + this.width + "x" + this.height + " passt nicht in "
+                    + width + "x" + height + ": " + e.getMessage(), e);
+        }
+        return new VenueLayout(width, height, zones, routes, walls, entrance, fireStation);
+    }
+
+    /**
+     * Prüft beim Einlesen, dass eine Zelle im Grid liegt; die Leser melden den Fehler in ihrem Format.
+     *
+     * @param what Bezeichnung für die Fehlermeldung, z. B. "Eingang"
+     * @throws IllegalArgumentException wenn die Zelle außerhalb von {@code width x height} liegt
+     */
+    static void requireInside(String what, int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IllegalArgumentException(what + " liegt außerhalb des Grids " + width + "x" + height
+                    + ": " + x + "," + y);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public List<ZoneSpec> getZones() {
+        return zones;
+    }
+
+    public List<RouteSpec> getRoutes() {
+        return routes;
+    }
+
+    public List<Wall> getWalls() {
+        return walls;
+    }
+
+    public Int2D getEntrance() {
+        return entrance;
+    }
+
+    public Int2D getFireStation() {
+        return fireStation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VenueLayout other)) {
+            return false;
+        }
+        return width == other.width && height == other.height && zones.equals(other.zones)
+                && routes.equals(other.routes) && walls.equals(other.walls)
+                && entrance.equals(other.entrance) && Objects.equals(fireStation, other.fireStation);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(width, height, zones, routes, walls, entrance, fireStation);
+    }
+
+    // Wird erst beim ersten Zugriff geladen
+    private static final class Standard {
+        private static final VenueLayout LAYOUT = readStandard();
+
+        private static VenueLayout readStandard() {
+            try (InputStream in = VenueLayout.class.getResourceAsStream(STANDARD_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Standardgelände fehlt: " + STANDARD_RESOURCE);
+                }
+                return VenueText.parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Standardgelände konnte nicht gelesen werden", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.simulation.venue;
+
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Textformat für Veranstaltungsgelände, gedacht zum Schreiben von Hand. Eine Anweisung pro Zeile,
+ * {@code #} leitet einen Kommentar ein:
+ * <pre>
+ * grid 100 100
+ * entrance 60 90
+ * firestation 95 70
+ * zone FOOD 5 15 cap 3 [size 2 2]
+ * zone EXIT 60 90 cap unlimited
+ * route STRAIGHT 50 10 [rally 50 20]
+ * wall 30 40 35 60
+ * </pre>
+ * {@code grid} und {@code entrance} sind Pflicht, {@code grid} steht vor allen Positionsangaben; Zonen
+ * (samt Grundfläche), Routen, Sammelpunkte und Wände müssen im Grid liegen. Zonentypen wie in
+ * {@link Zone.ZoneType}, Routenarten wie in {@link VenueLayout.RouteKind}.
+ */
+public final class VenueText {
+
+    private VenueText() {
+        throw new UnsupportedOperationException("Utility class - do not instantiate.");
+    }
+
+    public static VenueLayout read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    public static VenueLayout parse(String text) {
+        try {
+            return parse(new StringReader(text));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException bei Syntaxfehlern oder Positionen außerhalb des Grids, mit Zeilennummer
+     */
+    public static VenueLayout parse(Reader reader) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        int width = -1;
+        int height = -1;
+        Int2D entrance = null;
+        Int2D fireStation = null;
+        List<VenueLayout.ZoneSpec> zones = new ArrayList<>();
+        List<VenueLayout.RouteSpec> routes = new ArrayList<>();
+        List<VenueLayout.Wall> walls = new ArrayList<>();
+
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] t = line.split("\\s+");
+            try {
+                if (width < 0 && !"grid".equals(t[0])) {
+                    throw new IllegalArgumentException("'grid' muss vor '" + t[0] + "' stehen");
+                }
+                switch (t[0]) {
+                    case "grid" -> {
+                        expect(t, 3);
+                        width = Integer.parseInt(t[1]);
+                        height = Integer.parseInt(t[2]);
+                    }
+                    case "entrance" -> {
+                        expect(t, 3);
+                        entrance = new Int2D(Integer.parseInt(t[1]), Integer.parseInt(t[2]));
+                        VenueLayout.requireInside("Eingang", entrance.x, entrance.y, width, height);
+                    }
+                    case "firestation" -> {
+                        expect(t, 3);
+                        fireStation = new Int2D(Integer.parseInt(t[1]), Integer.parseInt(t[2]));
+                        VenueLayout.requireInside("Feuerwache", fireStation.x, fireStation.y, width, height);
+                    }
+                    case "zone" -> zones.add(parseZone(t, width, height));
+                    case "route" -> routes.add(parseRoute(t, width, height));
+                    case "wall" -> {
+                        expect(t, 5);
+                        VenueLayout.Wall wall = new VenueLayout.Wall(Integer.parseInt(t[1]), Integer.parseInt(t[2]),
+                                Integer.parseInt(t[3]), Integer.parseInt(t[4]));
+                        VenueLayout.requireInside("Wand", wall.minX(), wall.minY(), width, height);
+                        VenueLayout.requireInside("Wand", wall.maxX(), wall.maxY(), width, height);
+                        walls.add(wall);
+                    }
+                    default -> throw new IllegalArgumentException("Unbekannte Anweisung: " + t[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Zeile " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        if (width < 0) {
+            throw new IllegalArgumentException("Anweisung 'grid' fehlt");
+        }
+        if (entrance == null) {
+            throw new IllegalArgumentException("Anweisung 'entrance' fehlt");
+        }
+        return new VenueLayout(width, height, zones, routes, walls, entrance, fireStation);
+    }
+
+    // zone TYP X Y cap N|unlimited [size B H]
+    private static VenueLayout.ZoneSpec parseZone(String[] t, int width, int height) {
+        if (t.length != 6 && t.length != 9) {
+            throw new IllegalArgumentException("Erwartet: zone TYP X Y cap N [size B H]");
+        }
+        keyword(t[4], "cap");
+        int capacity = "unlimited".equals(t[5]) ? VenueLayout.UNLIMITED : Integer.parseInt(t[5]);
+        int w = 1;
+        int h = 1;
+        if (t.length == 9) {
+            keyword(t[6], "size");
+            w = Integer.parseInt(t[7]);
+            h = Integer.parseInt(t[8]);
+        }
+        VenueLayout.ZoneSpec zone = new VenueLayout.ZoneSpec(Zone.ZoneType.valueOf(t[1]), Integer.parseInt(t[2]),
+                Integer.parseInt(t[3]), w, h, capacity);
+        VenueLayout.requireInside("Zone", zone.x(), zone.y(), width, height);
+        VenueLayout.requireInside("Grundfläche der Zone", zone.x() + w - 1, zone.y() + h - 1, width, height);
+        return zone;
+    }
+
+    // route ART X Y [rally X Y]
+    private static VenueLayout.RouteSpec parseRoute(String[] t, int width, int height) {
+        if (t.length != 4 && t.length != 7) {
+            throw new IllegalArgumentException("Erwartet: route ART X Y [rally X Y]");
+        }
+        int x = Integer.parseInt(t[2]);
+        int y = Integer.parseInt(t[3]);
+        int rallyX = x;
+        int rallyY = y;
+        if (t.length == 7) {
+            keyword(t[4], "rally");
+            rallyX = Integer.parseInt(t[5]);
+            rallyY = Integer.parseInt(t[6]);
+        }
+        VenueLayout.requireInside("Route", x, y, width, height);
+        VenueLayout.requireInside("Sammelpunkt", rallyX, rallyY, width, height);
+        return new VenueLayout.RouteSpec(VenueLayout.RouteKind.valueOf(t[1]), x, y, rallyX, rallyY);
+    }
+
+    private static void expect(String[] t, int length) {
+        if (t.length != length) {
+            throw new IllegalArgumentException("'" + t[0] + "' erwartet " + (length - 1) + " Werte");
+        }
+    }
+
+    private static void keyword(String actual, String expected) {
+        if (!expected.equals(actual)) {
+            throw new IllegalArgumentException("Erwartet '" + expected + "', gefunden '" + actual + "'");
+        }
+    }
+}
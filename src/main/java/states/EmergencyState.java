@@ -3,6 +3,7 @@ package states;
 import org.simulation.Agent;
 import org.simulation.Event;
 import org.simulation.Person;
+import org.simulation.navigation.PathFollower;
 import org.simulation.utils.MovementUtils;
 import sim.util.Int2D;
 
@@ -13,11 +14,14 @@ import sim.util.Int2D;
  * um dort bei Vorfällen (z. B. Feuer oder Schlägereien) zu helfen.
  * Besucher sollten diesen Zustand nicht aktiv nutzen.
  * Dieser Zustand kann mehrmals aufgerufen werden, da er seine eigene Logik zur Zielverfolgung enthält.
+ * Der Weg zum Ziel wird per A* geplant ({@link PathFollower}), sodass fremde Gefahrenbereiche umgangen werden.
  *
  * @author Burak Tamer
  */
 public class EmergencyState implements IStates {
 
+    private final PathFollower follower = new PathFollower();
+
     @Override
     public IStates act(Agent g, Event event) {
         if (!(g instanceof Person p)) return this;
@@ -27,7 +31,7 @@ public class EmergencyState implements IStates {
                 Int2D target = p.getTargetPosition();
 
                 if (target != null) {
-                    MovementUtils.moveAgentTowards(p, event, target);
+                    moveAlongPath(p, event, target);
                     System.out.println("MEDIC bewegt sich zum Notfall bei " + target);
                 } else {
                     System.out.println("MEDIC hat kein Ziel");
@@ -39,7 +43,7 @@ public class EmergencyState implements IStates {
                 Int2D target = p.getTargetPosition();
 
                 if (target != null) {
-                    MovementUtils.moveAgentTowards(p, event, target);
+                    moveAlongPath(p, event, target);
                     System.out.println("SECURITY bewegt sich zur Schlägerei bei " + target);
                 } else {
                     System.out.println("SECURITY hat kein Ziel");
@@ -52,7 +56,7 @@ public class EmergencyState implements IStates {
         }
 
         // Zonenbeitritt prüfen
-        Int2D pos = event.grid.getObjectLocation(g);
+        Int2D pos = event.getPositions().getLocation(g);
         var zone = event.getZoneByPosition(pos);
         if (zone != null) {
             boolean success = g.tryEnterZone(zone);
@@ -63,4 +67,11 @@ public class EmergencyState implements IStates {
 
         return this;
     }
+
+    private void moveAlongPath(Person p, Event event, Int2D target) {
+        Int2D next = follower.next(event, event.getPositions().getLocation(p), target);
+        if (next != null) {
+            event.getPositions().setLocation(p, next);
+        }
+    }
 }
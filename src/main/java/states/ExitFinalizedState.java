@@ -2,6 +2,7 @@ package states;
 
 import org.simulation.Agent;
 import org.simulation.Event;
+import org.simulation.utils.MovementUtils;
 import sim.util.Int2D;
 import zones.Zone;
 
@@ -18,7 +19,7 @@ public class ExitFinalizedState implements IStates {
 
     @Override
     public IStates act(Agent agent, Event event) {
-        Int2D pos = event.grid.getObjectLocation(agent);
+        Int2D pos = event.getPositions().getLocation(agent);
 
         if (!targetSet) {
             exitZone = event.getNearestAvailableEmergencyExit(pos);
@@ -32,11 +33,11 @@ public class ExitFinalizedState implements IStates {
             }
         }
 
-        if (pos.equals(target)) {
+        if (MovementUtils.hasReached(event, pos, target)) {
             if (agent.tryEnterZone(exitZone)) {
                 event.getCollector().recordPanicEscape(agent, exitZone);
                 if (agent.getStopper() != null) agent.getStopper().stop();
-                event.grid.remove(agent);
+                event.getPositions().remove(agent);
                 event.agents.remove(agent);
                 System.out.println("Agent hat den Exit erreicht und wurde entfernt.");
                 return null;
@@ -46,9 +47,7 @@ public class ExitFinalizedState implements IStates {
         }
 
         // Bewegung zum Exit
-        int dx = Integer.compare(target.x, pos.x);
-        int dy = Integer.compare(target.y, pos.y);
-        event.grid.setObjectLocation(agent, new Int2D(pos.x + dx, pos.y + dy));
+        MovementUtils.moveAgentTowards(agent, event, target);
         return this;
     }
 }
\ No newline at end of file
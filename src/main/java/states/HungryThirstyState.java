@@ -24,7 +24,7 @@ public class HungryThirstyState implements IStates {
     private boolean enteredZone = false;
     private Int2D target;
     private int ticksInZone = 0;
-    Logger logger = Logger.getLogger(getClass().getName());
+    private static final Logger logger = Logger.getLogger(HungryThirstyState.class.getName());
     private final int eatTime;
 
     // Konstruktor erhält das Event-Objekt, um an den Zufallsgenerator zu kommen
@@ -35,14 +35,14 @@ public class HungryThirstyState implements IStates {
 
     @Override
     public IStates act(Agent agent, Event event) {
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        Int2D currentPos = event.getPositions().getLocation(agent);
 
         // 1. Initiales Ziel setzen
         if (!initialized) {
             agent.resetFlags();
             agent.setHungry(true);
 
-            Zone foodZone = event.getZoneByType(Zone.ZoneType.FOOD);
+            Zone foodZone = event.selectZone(Zone.ZoneType.FOOD, currentPos);
             if (foodZone != null) {
                 target = foodZone.getPosition();
                 agent.setTargetPosition(target);
@@ -54,7 +54,7 @@ public class HungryThirstyState implements IStates {
 
         // 2. Noch nicht in der Food-Zone?
         if (!enteredZone) {
-            if (currentPos.equals(target)) {
+            if (MovementUtils.hasReached(event, currentPos, target)) {
                 Zone zone = event.getZoneByPosition(target);
                 if (zone != null) {
                     if (agent.tryEnterZone(zone)) {
@@ -92,6 +92,10 @@ public class HungryThirstyState implements IStates {
                 agent.setHungry(false);
                 return new RoamingState();
             }
+            // Bis zum Ende der Essenszeit passiert nichts: Agent schlafen legen statt jeden Tick zu zählen
+            if (agent.suspendFor(eatTime - ticksInZone)) {
+                ticksInZone = eatTime - 1;
+            }
         }
 
         return this;
@@ -3,6 +3,8 @@ package states;
 import org.simulation.Agent;
 import org.simulation.Event;
 
+import java.io.Serializable;
+
 /**
  * Das IStates-Interface definiert das Verhalten eines Agenten
  * innerhalb eines bestimmten Zustands im Zustandsautomaten.
@@ -14,7 +16,7 @@ import org.simulation.Event;
  * @author Burak Tamer
  */
 
-public interface IStates {
+public interface IStates extends Serializable {
     IStates act(Agent g, Event event);
 
 }
@@ -1,14 +1,10 @@
 package states;
 
 import org.simulation.Agent;
-import zones.EmergencyRouteLinks;
-import zones.EmergencyRouteRechts;
-import zones.EmergencyRouteStraight;
 import org.simulation.Event;
 import zones.Zone;
 import org.simulation.utils.MovementUtils;
 import sim.util.Int2D;
-import sim.util.Bag;
 
 /**
  * Der PanicRunState repräsentiert den Zustand eines Agenten während einer Panikreaktion.
@@ -24,7 +20,7 @@ public class PanicRunState implements IStates {
 
     @Override
     public IStates act(Agent agent, Event event) {
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        Int2D currentPos = event.getPositions().getLocation(agent);
 
         if (!agent.isPanicking()) {
             agent.resetFlags();
@@ -33,7 +29,7 @@ public class PanicRunState implements IStates {
 
         if (!reachedEmergencyRoute) {
             if (target == null) {
-                target = findNearestEmergencyRoute(event, currentPos);
+                target = event.getEmergencyRoutes().nearestRallyPoint(currentPos);
                 if (target != null) {
                     agent.setTargetPosition(target);
                 } else {
@@ -57,32 +53,4 @@ public class PanicRunState implements IStates {
 
         return this;
     }
-
-    private Int2D findNearestEmergencyRoute(Event event, Int2D currentPos) {
-        Int2D nearest = null;
-        int minDist = Integer.MAX_VALUE;
-
-        Bag all = event.grid.getAllObjects();
-        for (Object o : all) {
-            Int2D pos = null;
-
-            if (o instanceof EmergencyRouteRechts er) {
-                pos = er.getPosition();
-            } else if (o instanceof EmergencyRouteLinks) {
-                pos = new Int2D(20, 50); // HARDCODED
-            } else if (o instanceof EmergencyRouteStraight) {
-                pos = new Int2D(50, 20); // HARDCODED
-            }
-
-            if (pos != null) {
-                int dist = Math.abs(pos.x - currentPos.x) + Math.abs(pos.y - currentPos.y);
-                if (dist < minDist) {
-                    minDist = dist;
-                    nearest = pos;
-                }
-            }
-        }
-
-        return nearest;
-    }
-} 
\ No newline at end of file
+}
@@ -2,23 +2,25 @@ package states;
 
 import org.simulation.Agent;
 import org.simulation.Event;
+import org.simulation.PositionStore;
 import zones.Zone;
 import sim.util.Int2D;
 
-import java.util.Random;
-
 /**
  * Repräsentiert einen Zustand, in dem ein Agent in einer Warteschlange (Queue) steht.
- * Der Agent wartet eine bestimmte Anzahl an Ticks, um dann zu prüfen, ob er die Zielzone betreten kann.
- * Falls die Wartezeit oder Geduld überschritten wird oder der Eintritt fehlschlägt, wechselt er ggf. in einen anderen Zustand.
+ * Die Warteschlange gehört der Zielzone und ist streng FIFO: eingelassen wird nur der Kopf, und zwar
+ * höchstens einer je {@link Zone#getServiceInterval()} Ticks. Wartende Agenten schlafen; die Zone weckt
+ * den Kopf, sobald ein Platz frei wird oder er nach vorne rückt. Seinen Warteplatz bestimmt ein Agent bei
+ * jedem Aufwachen aus seinem Platz in der Schlange neu; beim Aufrücken wird niemand sonst umgesetzt.
+ * Wird die Geduld überschritten, verlässt der Agent die Schlange.
+ * <p>
+ * Wer aus einem Notfall kommt (Ziel ist ein Ausgang), wartet ohne Geduldsgrenze.
  *
  * @author cb-235866
  */
 public class QueueingState implements IStates {
     private final Zone targetZone;
     private final IStates followUpState;
-    private int waitingTime;
-    private int retryAttempts = 0;
     private boolean initialized = false;
     private int ticksInQueue = 0;
     private final int geduld = 10;
@@ -28,39 +30,110 @@ public class QueueingState implements IStates {
         this.targetZone = targetZone;
         this.followUpState = followUpState;
         this.comingFromPanic = followUpState instanceof ExitFinalizedState;
-        this.waitingTime = 5 + new Random().nextInt(6);
         agent.setTargetPosition(targetZone.getPosition());
     }
 
     @Override
     public IStates act(Agent agent, Event event) {
+        long now = (long) event.schedule.getTime();
         if (!initialized) {
             agent.resetFlags();
-            agent.setInQueue(true);
+            agent.joinQueue(targetZone);
+            agent.setQueueStartTick(now);
+            moveToSpot(agent, event);
             initialized = true;
+            return sleep(agent, now);
+        }
+        moveToSpot(agent, event);
+
+        // Mindestens ein Tick je Aufruf; verschlafene Ticks zählen mit
+        ticksInQueue = (int) Math.max(ticksInQueue + 1, now - agent.getQueueStartTick());
+
+        if (targetZone.admits(agent) && targetZone.canServe(now)) {
+            targetZone.served(now);
+            if (agent.tryEnterZone(targetZone)) {
+                event.getCollector().recordQueueWait(targetZone.getType().name(), ticksInQueue);
+                agent.resetQueueStartTick();
+                stepIntoZone(agent, event);
+                return followUpState;
+            }
         }
 
-        ticksInQueue++;
         if (!comingFromPanic && ticksInQueue > geduld) {
             agent.setInQueue(false);
+            agent.resetQueueStartTick();
             return new RoamingState();
         }
 
-        // Queue-Stellen verteilen
-        Int2D base = targetZone.getPosition();
-        Int2D queuePos = new Int2D(base.x, base.y + retryAttempts + 1);
-        event.grid.setObjectLocation(agent, queuePos);
+        return sleep(agent, now);
+    }
 
-        waitingTime--;
-        if (waitingTime <= 0) {
-            if (!targetZone.isFull() && agent.tryEnterZone(targetZone)) {
-                agent.setInQueue(false);
-                return followUpState;
-            }
-            retryAttempts++;
-            waitingTime = 3 + new Random().nextInt(4);
+    /**
+     * Schläft bis zum Ende der Geduld; ist der Agent bereits an der Reihe, nur bis zum nächsten Einlass.
+     * Die Zone weckt ihn vorher, wenn ein Platz frei wird.
+     */
+    private IStates sleep(Agent agent, long now) {
+        long ticks = comingFromPanic ? Integer.MAX_VALUE : geduld - ticksInQueue + 1;
+        if (targetZone.admits(agent)) {
+            // Darf er schon jetzt, versucht er es im nächsten Tick; ohne bisherigen Einlass ist die
+            // Differenz zu Long.MIN_VALUE nicht definiert
+            ticks = targetZone.canServe(now) ? 1 : Math.min(ticks, targetZone.getNextAdmissionTick() - now);
         }
-
+        agent.suspendFor(ticks);
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Stellt den Agenten auf den Warteplatz zu seinem Platz in der Schlange; liegt dieser auf einer Wand,
+     * auf den nächsten freien dahinter.
+     */
+    private void moveToSpot(Agent agent, Event event) {
+        int place = targetZone.queuePlace(agent);
+        if (place < 0) {
+            return;
+        }
+        PositionStore positions = event.getPositions();
+        int cells = positions.getWidth() * positions.getHeight();
+        Int2D spot = spot(targetZone, place, positions.getWidth(), positions.getHeight());
+        for (int tries = 0; event.isWall(spot.x, spot.y) && tries < cells; tries++) {
+            spot = spot(targetZone, ++place, positions.getWidth(), positions.getHeight());
+        }
+        positions.setLocation(agent, spot.x, spot.y);
+    }
+
+    /**
+     * Warteplatz für Platz {@code slot}: Reihen unterhalb der Grundfläche, über deren Breite verteilt.
+     * Reicht der Platz bis zum Gridrand nicht, geht es in Reihen oberhalb der Grundfläche weiter; sind
+     * auch diese voll, beginnt die Zählung von vorn und Plätze werden doppelt belegt.
+     */
+    static Int2D spot(Zone zone, int slot, int gridWidth, int gridHeight) {
+        Int2D base = zone.getPosition();
+        int minX = Math.max(0, Math.min(gridWidth - 1, base.x));
+        int maxX = Math.max(minX, Math.min(gridWidth - 1, base.x + zone.getWidth() - 1));
+        int columns = maxX - minX + 1;
+        int firstBelow = Math.max(0, base.y + zone.getHeight());
+        int firstAbove = Math.min(gridHeight, base.y) - 1;
+        int below = Math.max(0, gridHeight - firstBelow);
+        int above = Math.max(0, firstAbove + 1);
+        int rows = below + above;
+        if (rows == 0) {
+            // Grundfläche reicht über das ganze Grid: auf ihrer unteren Reihe anstellen
+            return new Int2D(minX + slot % columns, gridHeight - 1);
+        }
+        int row = (slot / columns) % rows;
+        int x = minX + slot % columns;
+        int y = row < below ? firstBelow + row : firstAbove - (row - below);
+        return new Int2D(x, y);
+    }
+
+    // Eingelassen: vom Warteplatz auf den Rand der Grundfläche
+    private void stepIntoZone(Agent agent, Event event) {
+        Int2D pos = event.getPositions().getLocation(agent);
+        Int2D base = targetZone.getPosition();
+        if (pos != null && !targetZone.covers(pos)) {
+            int x = Math.max(base.x, Math.min(base.x + targetZone.getWidth() - 1, pos.x));
+            int y = Math.max(base.y, Math.min(base.y + targetZone.getHeight() - 1, pos.y));
+            event.getPositions().setLocation(agent, x, y);
+        }
+    }
+}
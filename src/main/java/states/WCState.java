@@ -2,6 +2,7 @@ package states;
 
 import org.simulation.Agent;
 import org.simulation.Event;
+import org.simulation.utils.MovementUtils;
 
 import sim.util.Int2D;
 import zones.Zone;
@@ -27,7 +28,7 @@ public class WCState implements IStates {
 
     @Override
     public IStates act(Agent agent, Event event) {
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        Int2D currentPos = event.getPositions().getLocation(agent);
 
         // Initialisierung (einmalig)
         if (!initialized) {
@@ -37,7 +38,7 @@ public class WCState implements IStates {
 
             agent.setWC(true);
 
-            Zone wcZone = event.getZoneByType(Zone.ZoneType.WC);
+            Zone wcZone = event.selectZone(Zone.ZoneType.WC, currentPos);
             if (wcZone != null) {
                 target = wcZone.getPosition();
                 agent.setTargetPosition(target);
@@ -49,7 +50,7 @@ public class WCState implements IStates {
 
         // Noch nicht drin?
         if (!enteredZone) {
-            if (currentPos.equals(target)) {
+            if (MovementUtils.hasReached(event, currentPos, target)) {
                 Zone zone = event.getZoneByPosition(target);
                 if (zone != null) {
                     if (agent.tryEnterZone(zone)) {
@@ -64,11 +65,7 @@ public class WCState implements IStates {
                 }
             } else {
                 // Bewegung zur Zielposition
-                int dx = Integer.compare(target.x, currentPos.x);
-                int dy = Integer.compare(target.y, currentPos.y);
-                int newX = Math.max(0, Math.min(event.grid.getWidth() - 1, currentPos.x + dx));
-                int newY = Math.max(0, Math.min(event.grid.getHeight() - 1, currentPos.y + dy));
-                event.grid.setObjectLocation(agent, new Int2D(newX, newY));
+                MovementUtils.moveAgentTowards(agent, event, target);
             }
         } else {
             // Ist in der WC-Zone - Time
@@ -83,6 +80,10 @@ public class WCState implements IStates {
                 agent.setWC(false);
                 return new RoamingState();
             }
+            // Bis zum Ende der Wartezeit passiert nichts: Agent schlafen legen statt jeden Tick zu zählen
+            if (agent.suspendFor(waitTime - ticksInZone)) {
+                ticksInZone = waitTime - 1;
+            }
         }
 
         return this;
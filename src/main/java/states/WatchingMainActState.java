@@ -24,7 +24,7 @@ public class WatchingMainActState implements IStates {
     private final int WAITTIME = 50;
     private final int showDuration;
     boolean hasEnteredZone = false;
-    Logger logger = Logger.getLogger(getClass().getName());
+    private static final Logger logger = Logger.getLogger(WatchingMainActState.class.getName());
 
     public WatchingMainActState(Event event) {
         // 300 – 420 Ticks (≈ 5 – 7 Min bei 1 s/Tick)
@@ -37,7 +37,7 @@ public class WatchingMainActState implements IStates {
             return initialize(agent, event);
         }
 
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        Int2D currentPos = event.getPositions().getLocation(agent);
 
         if (!tryEscape(agent, event, currentPos)) {
             return this;
@@ -54,7 +54,7 @@ public class WatchingMainActState implements IStates {
         agent.resetFlags();
         agent.setWatchingMain(true);
 
-        Zone mainAct = event.getZoneByType(Zone.ZoneType.ACT_MAIN);
+        Zone mainAct = event.selectZone(Zone.ZoneType.ACT_MAIN, event.getPositions().getLocation(agent));
         if (mainAct != null) {
             target = mainAct.getPosition();
             agent.setTargetPosition(target);
@@ -75,7 +75,7 @@ public class WatchingMainActState implements IStates {
     }
 
     private IStates handleMovementToZone(Agent agent, Event event, Int2D currentPos) {
-        if (currentPos.equals(target)) {
+        if (MovementUtils.hasReached(event, currentPos, target)) {
             Zone zone = event.getZoneByPosition(target);
             if (zone != null && agent.tryEnterZone(zone)) {
                 hasEnteredZone = true;
@@ -121,6 +121,12 @@ public class WatchingMainActState implements IStates {
             agent.setWatchingMain(false);
             return new RoamingState();
         }
+
+        // Bis zum Ende der Show nur zuschauen: Agent schlafen legen statt jeden Tick zu zählen
+        int dwell = Math.min(WAITTIME, showDuration);
+        if (agent.suspendFor(dwell - ticksInZone)) {
+            ticksInZone = dwell - 1;
+        }
         return this;
     }
 
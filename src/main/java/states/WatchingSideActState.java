@@ -22,7 +22,7 @@ public class WatchingSideActState implements IStates {
     private final int WAITTIME = 40;
     private final int showDuration;
     private boolean hasEnteredZone = false;
-    Logger logger = Logger.getLogger(getClass().getName());
+    private static final Logger logger = Logger.getLogger(WatchingSideActState.class.getName());
 
 
     public WatchingSideActState(Event event) {
@@ -41,7 +41,7 @@ public class WatchingSideActState implements IStates {
             return this;
         }
 
-        Int2D currentPos = event.grid.getObjectLocation(agent);
+        Int2D currentPos = event.getPositions().getLocation(agent);
 
         if (!hasEnteredZone) {
             return moveToZone(agent, event, currentPos);
@@ -54,7 +54,7 @@ public class WatchingSideActState implements IStates {
         agent.resetFlags();
         agent.setWatchingSide(true);
 
-        Zone sideAct = event.getZoneByType(Zone.ZoneType.ACT_SIDE);
+        Zone sideAct = event.selectZone(Zone.ZoneType.ACT_SIDE, event.getPositions().getLocation(agent));
         if (sideAct != null) {
             target = sideAct.getPosition();
             agent.setTargetPosition(target);
@@ -65,7 +65,7 @@ public class WatchingSideActState implements IStates {
     }
 
     private IStates moveToZone(Agent agent, Event event, Int2D currentPos) {
-        if (currentPos.equals(target)) {
+        if (MovementUtils.hasReached(event, currentPos, target)) {
             Zone zone = event.getZoneByPosition(target);
             if (zone != null && agent.tryEnterZone(zone)) {
                 hasEnteredZone = true;
@@ -108,6 +108,11 @@ public class WatchingSideActState implements IStates {
             return new RoamingState();
         }
 
+        // Bis zum Ende der Show nur zuschauen: Agent schlafen legen statt jeden Tick zu zählen
+        int dwell = Math.min(WAITTIME, showDuration);
+        if (agent.suspendFor(dwell - ticksInZone)) {
+            ticksInZone = dwell - 1;
+        }
         return this;
     }
 
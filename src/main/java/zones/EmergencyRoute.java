@@ -0,0 +1,14 @@
+package zones;
+
+import org.simulation.ForkShared;
+import sim.engine.Steppable;
+import sim.util.Int2D;
+
+/**
+ * Gemeinsame Schnittstelle der Notfallrouten-Marker (links, rechts, geradeaus).
+ * Die Marker sind unveränderlich und werden deshalb von Szenario-Kopien geteilt.
+ */
+public interface EmergencyRoute extends Steppable, ForkShared {
+
+    Int2D getPosition();
+}
@@ -1,7 +1,6 @@
 package zones;
 
 import sim.engine.SimState;
-import sim.engine.Steppable;
 import sim.util.Int2D;
 
 /**
@@ -10,7 +9,7 @@ import sim.util.Int2D;
  *
  * @author Mustafa Karakilic
  */
-public class EmergencyRouteRechts implements Steppable {
+public class EmergencyRouteRechts implements EmergencyRoute {
 
     private final Int2D position;
 
@@ -18,6 +17,7 @@ public class EmergencyRouteRechts implements Steppable {
         this.position = position;
     }
 
+    @Override
     public Int2D getPosition() {
         return position;
     }
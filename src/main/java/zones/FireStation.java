@@ -4,13 +4,15 @@ import org.simulation.Event;
 import org.simulation.FireTruck;
 import sim.util.Int2D;
 
+import java.io.Serializable;
+
 /**
  * Repräsentiert eine Feuerwache, die auf Feueralarme reagieren und Feuerwehrautos entsenden kann.
  * Sie speichert ihre Position und zählt die bereits entsendeten Einsatzfahrzeuge.
  *
  * @author Betuel
  */
-public class FireStation {
+public class FireStation implements Serializable {
 
     private final Int2D position;
     private final Event event;
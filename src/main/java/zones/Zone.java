@@ -3,17 +3,25 @@ package zones;
 import org.simulation.Agent;
 import sim.util.Int2D;
 
+import java.io.Serializable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Repräsentiert eine generische Zone innerhalb des Simulationsgeländes.
  * Zonen haben einen bestimmten Typ (z.B. WC, FOOD), eine feste Position und eine Kapazitätsgrenze.
  * Agenten können diese Zonen betreten und verlassen.
+ * <p>
+ * Eine Zone belegt ein Rechteck von {@code width} x {@code height} Zellen, dessen obere linke Ecke die
+ * Position ist. Agenten betreten sie auf jeder Zelle dieser Grundfläche, nicht nur an der Position.
  *
  * @author cb-235866
  */
-public class Zone {
+public class Zone implements Serializable {
 
 
     public enum ZoneType {
@@ -23,13 +31,38 @@ public class Zone {
     public final ZoneType type;
     private final Int2D position;
     private final int capacity;
+    private final int width;
+    private final int height;
 
     private final Set<Agent> currentOccupants = new HashSet<>();
+    // Warteschlange als Nummernsystem: jeder Wartende zieht eine fortlaufende Nummer, sein Platz ist der
+    // Abstand zur Nummer des Kopfes. Wer vorzeitig geht, wird nur aus der Map entfernt; sein Eintrag in
+    // der Reihe wird übersprungen, sobald er vorne ankommt. Anstellen, Gehen und Kopf damit in O(1).
+    private final ArrayDeque<Ticket> line = new ArrayDeque<>();
+    private final Map<Agent, Ticket> tickets = new HashMap<>();
+    private long nextTicket = 0;
+    private int serviceInterval = 1;
+    // Vor dem ersten Einlass darf sofort jemand hinein, auch vor Tick 0
+    private long nextAdmissionTick = Long.MIN_VALUE;
+    private ZoneLoadListener loadListener;
 
     public Zone(ZoneType type, Int2D position, int capacity) {
+        this(type, position, capacity, 1, 1);
+    }
+
+    /**
+     * @param width  Breite der Grundfläche in Zellen, ab der Position nach rechts
+     * @param height Höhe der Grundfläche in Zellen, ab der Position nach unten
+     */
+    public Zone(ZoneType type, Int2D position, int capacity, int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Grundfläche muss mindestens 1x1 sein: " + width + "x" + height);
+        }
         this.type = type;
         this.position = position;
         this.capacity = capacity;
+        this.width = width;
+        this.height = height;
     }
 
     public ZoneType getType() {
@@ -40,6 +73,25 @@ public class Zone {
         return position;
     }
 
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return {@code true}, wenn die Zelle zur Grundfläche der Zone gehört
+     */
+    public boolean covers(int x, int y) {
+        return x >= position.x && y >= position.y && x < position.x + width && y < position.y + height;
+    }
+
+    public boolean covers(Int2D cell) {
+        return cell != null && covers(cell.x, cell.y);
+    }
+
     public int getCapacity() {
         return capacity;
     }
@@ -53,14 +105,163 @@ public class Zone {
     }
 
     public void enter(Agent agent) {
-        currentOccupants.add(agent);
+        if (currentOccupants.add(agent)) {
+            loadChanged();
+        }
     }
 
     public void leave(Agent agent) {
-        currentOccupants.remove(agent);
+        if (currentOccupants.remove(agent)) {
+            loadChanged();
+            wakeHead();
+        }
+    }
+
+    /**
+     * @return Anzahl der Agenten, die vor der Zone warten
+     */
+    public int getQueueLength() {
+        return tickets.size();
+    }
+
+    /**
+     * @return Besucher in der Zone plus Wartende
+     */
+    public int getLoad() {
+        return currentOccupants.size() + tickets.size();
+    }
+
+    /**
+     * Platz des Agenten in der Schlange (0 = vorne) oder -1, wenn er nicht wartet. Vorzeitig Gegangene
+     * zählen als Lücke mit, bis der Kopf an ihnen vorbeigerückt ist.
+     */
+    public int queuePlace(Agent agent) {
+        Ticket ticket = tickets.get(agent);
+        return ticket == null ? -1 : (int) (ticket.number() - head().number());
+    }
+
+    /**
+     * @return vorderster Agent der Warteschlange oder {@code null}
+     */
+    public Agent peekQueue() {
+        Ticket head = head();
+        return head == null ? null : head.agent();
+    }
+
+    /**
+     * Stellt einen Agenten hinten an; ist er schon in der Schlange, behält er seinen Platz.
+     */
+    public void joinQueue(Agent agent) {
+        if (!tickets.containsKey(agent)) {
+            Ticket ticket = new Ticket(agent, nextTicket++);
+            tickets.put(agent, ticket);
+            line.addLast(ticket);
+            loadChanged();
+        }
+    }
+
+    /**
+     * Nimmt einen Agenten aus der Schlange. Rückt dadurch ein neuer Kopf nach, wird dieser geweckt,
+     * damit er nach vorne tritt und eingelassen wird, sobald Platz frei ist.
+     */
+    public void leaveQueue(Agent agent) {
+        Ticket ticket = tickets.remove(agent);
+        if (ticket == null) {
+            return;
+        }
+        loadChanged();
+        if (line.peekFirst() == ticket) {
+            Ticket head = head();
+            if (head != null) {
+                head.agent().wakeUp();
+            }
+        }
+    }
+
+    // Überspringt Einträge vorzeitig Gegangener; jeder Eintrag wird höchstens einmal entfernt
+    private Ticket head() {
+        Ticket head = line.peekFirst();
+        while (head != null && tickets.get(head.agent()) != head) {
+            line.pollFirst();
+            head = line.peekFirst();
+        }
+        return head;
+    }
+
+    /**
+     * Prüft, ob ein Agent jetzt eintreten darf: Es ist Platz frei und niemand steht vor ihm in der
+     * Warteschlange. Wer schon in der Zone ist, darf immer.
+     */
+    public boolean admits(Agent agent) {
+        if (currentOccupants.contains(agent)) {
+            return true;
+        }
+        if (isFull()) {
+            return false;
+        }
+        Agent head = peekQueue();
+        return head == null || head == agent;
+    }
+
+    /**
+     * @return Ticks zwischen zwei Einlässen aus der Warteschlange
+     */
+    public int getServiceInterval() {
+        return serviceInterval;
+    }
+
+    public void setServiceInterval(int serviceInterval) {
+        if (serviceInterval < 1) {
+            throw new IllegalArgumentException("Einlassintervall muss mindestens 1 Tick sein: " + serviceInterval);
+        }
+        this.serviceInterval = serviceInterval;
+    }
+
+    /**
+     * @return {@code true}, wenn zu diesem Tick der nächste Wartende eingelassen werden darf
+     */
+    public boolean canServe(long tick) {
+        return tick >= nextAdmissionTick;
+    }
+
+    public long getNextAdmissionTick() {
+        return nextAdmissionTick;
+    }
+
+    /**
+     * Vermerkt einen Einlass aus der Warteschlange; der nächste folgt frühestens nach dem Einlassintervall.
+     */
+    public void served(long tick) {
+        nextAdmissionTick = tick + serviceInterval;
+    }
+
+    // Der Kopf der Schlange schläft, bis ein Platz frei wird
+    private void wakeHead() {
+        if (!isFull()) {
+            Agent head = peekQueue();
+            if (head != null) {
+                head.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * Setzt den Empfänger für Laständerungen; eine Zone meldet sich immer nur bei einem Index.
+     */
+    public void setLoadListener(ZoneLoadListener loadListener) {
+        this.loadListener = loadListener;
+    }
+
+    private void loadChanged() {
+        if (loadListener != null) {
+            loadListener.loadChanged(this);
+        }
     }
 
     public boolean contains(Agent agent) {
         return currentOccupants.contains(agent);
     }
+
+    private record Ticket(Agent agent, long number) implements Serializable {
+    }
 }
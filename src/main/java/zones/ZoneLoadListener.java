@@ -0,0 +1,12 @@
+package zones;
+
+import java.io.Serializable;
+
+/**
+ * Wird benachrichtigt, wenn sich die Last einer {@link Zone} ändert (Besucher in der Zone oder in
+ * ihrer Warteschlange). Hält Indizes, die Zonen nach Last ordnen, ohne Durchlauf aktuell.
+ */
+public interface ZoneLoadListener extends Serializable {
+
+    void loadChanged(Zone zone);
+}
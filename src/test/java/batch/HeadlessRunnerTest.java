@@ -0,0 +1,59 @@
+package batch;
+
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.Test;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import sim.util.Int2D;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für den HeadlessRunner.
+ * Prüft Tick-Horizont, Abbruch bei leerem Gelände, das Sammeln von Metriken ohne GUI und die
+ * Zusammenfassung der Wegplanung.
+ */
+class HeadlessRunnerTest {
+
+    @Test
+    void testRunStopsAtTickHorizon() {
+        RunResult result = HeadlessRunner.run(new EventConfig(20, 2, 2), 42L, 30);
+
+        assertEquals(30, result.getTicks(), "Lauf sollte genau bis zum Tick-Horizont gehen");
+        assertFalse(result.isAllVisitorsLeft());
+        assertNotNull(result.getCollector());
+        assertTrue(result.getCollector().getAllMetrics().containsKey("QueueWait_FOOD"),
+                "Standard-Metriken sollten registriert sein");
+    }
+
+    @Test
+    void testRunStopsWhenNoVisitorsAreLeft() {
+        RunResult result = HeadlessRunner.run(new EventConfig(0, 1, 1), 7L, 100);
+
+        assertTrue(result.isAllVisitorsLeft(), "Ohne Besucher sollte der Lauf sofort enden");
+        assertEquals(1, result.getTicks());
+    }
+
+    @Test
+    void testCallerConfigIsNotModified() {
+        EventConfig config = new EventConfig(5, 1, 1);
+        HeadlessRunner.run(config, 1L, 5);
+
+        assertFalse(config.isHeadless(), "Die übergebene Konfiguration darf nicht verändert werden");
+    }
+
+    @Test
+    void testPlanningSummaryCoversOnlyThisRun() {
+        EventConfig config = new EventConfig(0, 1, 1);
+        config.setHeadless(true);
+        Event sim = new Event(3L, config, new DefaultMetricsCollector());
+        sim.start();
+        sim.getPathPlanner().route(new Int2D(1, 1), new Int2D(60, 40));
+
+        RunResult result = HeadlessRunner.resume(sim, 5);
+
+        assertEquals(sim.getPathPlanner().getSearchCount() - 1, result.getPathSearches(),
+                "Suchen vor dem Lauf zählen nicht mit");
+        assertTrue(result.getPlanningNanos() <= sim.getPathPlanner().getPlanningNanos());
+    }
+}
@@ -0,0 +1,106 @@
+package batch;
+
+import org.junit.jupiter.api.Test;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import zones.Zone;
+
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für die Parameterstudie.
+ * Prüft Versuchsdesigns, Übernahme der Parameter in die Konfiguration und den fortlaufenden CSV-Export.
+ */
+class ParameterSweepTest {
+
+    @Test
+    void testFullFactorialCoversEveryCombination() {
+        List<ParameterRange> ranges = List.of(
+                ParameterRange.parse("VISITORS=10:30:10"),
+                ParameterRange.parse("MEDICS=1:2"));
+
+        List<SweepPoint> points = SweepDesign.fullFactorial(ranges);
+
+        assertEquals(6, points.size());
+        Set<String> combinations = new HashSet<>();
+        for (SweepPoint p : points) {
+            combinations.add(p.getValues().get(SweepParameter.VISITORS) + "/" + p.getValues().get(SweepParameter.MEDICS));
+        }
+        assertEquals(6, combinations.size(), "Jede Kombination sollte genau einmal vorkommen");
+    }
+
+    @Test
+    void testLatinHypercubeHitsEveryStratumOnce() {
+        ParameterRange visitors = new ParameterRange(SweepParameter.VISITORS, 0, 99, 1);
+
+        List<SweepPoint> points = SweepDesign.latinHypercube(List.of(visitors), 10, 7L);
+
+        assertEquals(10, points.size());
+        Set<Integer> strata = new HashSet<>();
+        for (SweepPoint p : points) {
+            strata.add(p.getValues().get(SweepParameter.VISITORS) / 10);
+        }
+        assertEquals(10, strata.size(), "Jede der 10 Schichten sollte genau einmal getroffen werden");
+        assertEquals(points.get(3).getValues(), SweepDesign.latinHypercube(List.of(visitors), 10, 7L).get(3).getValues());
+    }
+
+    @Test
+    void testSweepPointAppliesValuesToCopy() {
+        EventConfig base = new EventConfig(50, 1, 1);
+        SweepPoint point = new SweepPoint(0, Map.of(
+                SweepParameter.WC_CAPACITY, 7,
+                SweepParameter.FIRE_TICK, 12));
+
+        EventConfig config = point.toConfig(base);
+
+        assertEquals(7, config.getZoneCapacity(Zone.ZoneType.WC, 0));
+        assertEquals(12, config.getFireTick());
+        assertEquals(50, config.getVisitorCount(), "Nicht variierte Parameter stammen aus der Basis");
+        assertEquals(3, base.getZoneCapacity(Zone.ZoneType.WC, 0), "Basiskonfiguration darf nicht verändert werden");
+    }
+
+    @Test
+    void testConfiguredZoneCapacityIsUsed() {
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setZoneCapacity(Zone.ZoneType.FOOD, 9);
+        Event event = new Event(1L, config, null);
+        event.start();
+
+        for (Zone zone : event.zones) {
+            if (zone.getType() == Zone.ZoneType.FOOD) {
+                assertEquals(9, zone.getCapacity());
+            }
+        }
+        event.finish();
+    }
+
+    @Test
+    void testSweepWritesOneBlockPerPoint() throws Exception {
+        List<ParameterRange> ranges = List.of(ParameterRange.parse("VISITORS=2:6:2"));
+        StringWriter out = new StringWriter();
+
+        ParameterSweep.run(new EventConfig(0, 0, 0), SweepDesign.fullFactorial(ranges), ranges, 1L, 5, 2, out);
+
+        String[] lines = out.toString().split("\\R");
+        assertEquals("point,seed,VISITORS,metric,value", lines[0]);
+        Set<String> pointsSeen = new HashSet<>();
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].contains(",Ticks,")) {
+                pointsSeen.add(lines[i].split(",")[0]);
+            }
+        }
+        assertEquals(Set.of("0", "1", "2"), pointsSeen);
+    }
+
+    @Test
+    void testRejectsInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> ParameterRange.parse("VISITORS=10:5"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterRange.parse("UNKNOWN=1:2"));
+    }
+}
@@ -0,0 +1,60 @@
+package batch;
+
+import metrics.DefaultMetricsCollector;
+import metrics.MetricStatistics;
+import org.junit.jupiter.api.Test;
+import org.simulation.EventConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für den ReplicationRunner.
+ * Prüft Seed-Ableitung, parallele Ausführung und die Verdichtung der Metriken.
+ */
+class ReplicationRunnerTest {
+
+    @Test
+    void testDerivedSeedsAreStableAndDistinct() {
+        assertEquals(SeedStreams.derive(42L, 3), SeedStreams.derive(42L, 3));
+        assertNotEquals(SeedStreams.derive(42L, 0), SeedStreams.derive(42L, 1));
+        assertNotEquals(SeedStreams.derive(42L, 0), SeedStreams.derive(43L, 0));
+    }
+
+    @Test
+    void testRunsAllReplicationsInParallel() {
+        ReplicationReport report = ReplicationRunner.run(new EventConfig(10, 1, 1), 42L, 4, 20, 2);
+
+        assertEquals(4, report.getReplications());
+        assertEquals(4, report.getPerRun().size());
+        assertEquals(4, Arrays.stream(report.getSeeds()).distinct().count(), "Jede Replikation braucht einen eigenen Seed");
+
+        MetricStatistics entries = report.get("ZoneEntry_FOOD");
+        assertNotNull(entries, "Zähl-Metriken sollten in jedem Lauf vorhanden sein");
+        assertEquals(4, entries.getN());
+    }
+
+    @Test
+    void testSummarizeCountsCountersAndAveragesValues() {
+        DefaultMetricsCollector collector = new DefaultMetricsCollector();
+        collector.recordMetric("ZoneEntry_WC", 123456);
+        collector.recordMetric("ZoneEntry_WC", 654321);
+        collector.recordQueueWait("WC", 10);
+        collector.recordQueueWait("WC", 20);
+        collector.registerMetric("TimeInZone_WC");
+
+        Map<String, Double> summary = ReplicationRunner.summarize(collector);
+
+        assertEquals(2.0, summary.get("ZoneEntry_WC"), "Zähl-Metriken werden gezählt, nicht gemittelt");
+        assertEquals(15.0, summary.get("QueueWait_WC"));
+        assertFalse(summary.containsKey("TimeInZone_WC"), "Leere Messreihen haben keinen Mittelwert");
+    }
+
+    @Test
+    void testRejectsZeroReplications() {
+        EventConfig config = new EventConfig(1, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> ReplicationRunner.run(config, 1L, 0, 10, 1));
+    }
+}
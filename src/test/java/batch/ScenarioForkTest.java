@@ -0,0 +1,69 @@
+package batch;
+
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.Test;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import sim.util.Int2D;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für ScenarioFork.
+ * Prüft, dass ein vorgewärmtes Event in unabhängige Zweige mit unterschiedlichen Störungen verzweigt wird.
+ */
+class ScenarioForkTest {
+
+    private Event warmEvent(boolean headless) {
+        EventConfig config = new EventConfig(20, 2, 2);
+        config.setHeadless(headless);
+        DefaultMetricsCollector collector = new DefaultMetricsCollector();
+        Event.registerDefaultMetrics(collector);
+        Event event = new Event(3L, config, collector);
+        event.start();
+        for (int i = 0; i < 25; i++) {
+            event.schedule.step(event);
+        }
+        return event;
+    }
+
+    @Test
+    void testEachBranchGetsOnlyItsOwnDisturbances() {
+        Event warmed = warmEvent(true);
+        double tick = warmed.schedule.getTime();
+
+        Map<String, RunResult> results = ScenarioFork.run(warmed, List.of(
+                new ScenarioBranch("baseline"),
+                new ScenarioBranch("fire").addFire(new Int2D(50, 45)),
+                new ScenarioBranch("fights").addFight(new Int2D(20, 20)).addFight(new Int2D(70, 70)),
+                new ScenarioBranch("storm").addStorm()), 10, 2);
+
+        assertEquals(List.of("baseline", "fire", "fights", "storm"), List.copyOf(results.keySet()));
+        assertEquals(0, triggered(results.get("baseline"), "FIRE"));
+        assertEquals(1, triggered(results.get("fire"), "FIRE"));
+        assertEquals(2, triggered(results.get("fights"), "FIGHT"));
+        assertEquals(1, triggered(results.get("storm"), "STORM"));
+        assertEquals(tick, warmed.schedule.getTime(), "Das vorgewärmte Event selbst darf nicht weiterlaufen");
+        assertEquals(0, triggered(warmed, "FIRE"));
+    }
+
+    @Test
+    void testRejectsEventWithGui() {
+        Event warmed = warmEvent(false);
+        List<ScenarioBranch> branches = List.of(new ScenarioBranch("baseline"));
+
+        assertThrows(IllegalArgumentException.class, () -> ScenarioFork.run(warmed, branches, 1, 1));
+        warmed.finish();
+    }
+
+    private int triggered(RunResult result, String label) {
+        return result.getCollector().getAllMetrics().get("EventTriggered_" + label).size();
+    }
+
+    private int triggered(Event event, String label) {
+        return event.getCollector().getAllMetrics().get("EventTriggered_" + label).size();
+    }
+}
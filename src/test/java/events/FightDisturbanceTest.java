@@ -172,10 +172,10 @@ class FightDisturbanceTest {
 
         fight.step(event);
 
-        assertEquals(fightPos, s1.getTargetPosition(), "Security #1 sollte ins Zentrum laufen.");
+        assertEquals(fightPos, s3.getTargetPosition(), "Die nächstgelegene Security sollte ins Zentrum laufen.");
 
+        assertNotEquals(fightPos, s1.getTargetPosition(), "Security #1 sollte am Perimeter positioniert werden.");
         assertNotEquals(fightPos, s2.getTargetPosition(), "Security #2 sollte am Perimeter positioniert werden.");
-        assertNotEquals(fightPos, s3.getTargetPosition(), "Security #3 sollte am Perimeter positioniert werden.");
     }
 
     @Test
@@ -195,8 +195,8 @@ class FightDisturbanceTest {
 
         fight.step(event);
 
-        assertEquals(fightPos, security1.getTargetPosition(), "Security #1 sollte ins Zentrum laufen.");
-        assertNotEquals(fightPos, security2.getTargetPosition(), "Security #2 sollte nicht ins Zentrum laufen.");
+        assertEquals(fightPos, security2.getTargetPosition(), "Die nächstgelegene Security sollte ins Zentrum laufen.");
+        assertNotEquals(fightPos, security1.getTargetPosition(), "Security #1 sollte nicht ins Zentrum laufen.");
     }
 
     @Test
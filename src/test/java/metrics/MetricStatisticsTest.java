@@ -0,0 +1,41 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für MetricStatistics.
+ * Überprüft Mittelwert, Stichprobenvarianz und Konfidenzintervall.
+ */
+class MetricStatisticsTest {
+
+    @Test
+    void testMeanAndSampleVariance() {
+        MetricStatistics s = MetricStatistics.of(List.of(2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0));
+
+        assertEquals(8, s.getN());
+        assertEquals(5.0, s.getMean(), 1e-9);
+        assertEquals(32.0 / 7.0, s.getVariance(), 1e-9);
+    }
+
+    @Test
+    void testConfidenceIntervalUsesStudentT() {
+        MetricStatistics s = MetricStatistics.of(List.of(1.0, 3.0));
+
+        // df = 1 → t = 12.706, s = sqrt(2), n = 2
+        assertEquals(12.706, s.getHalfWidth95(), 1e-9);
+        assertEquals(2.0 - 12.706, s.getCiLow95(), 1e-9);
+    }
+
+    @Test
+    void testSingleSampleHasNoSpread() {
+        MetricStatistics s = MetricStatistics.of(List.of(3.5));
+
+        assertEquals(0.0, s.getVariance());
+        assertEquals(3.5, s.getCiLow95());
+        assertEquals(3.5, s.getCiHigh95());
+    }
+}
@@ -0,0 +1,49 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für den MetricsExporter.
+ * Stellt sicher, dass Zusammenfassung und Rohdaten korrekt als CSV geschrieben werden.
+ */
+class MetricsExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSummaryContainsStatistics() throws Exception {
+        DefaultMetricsCollector collector = new DefaultMetricsCollector();
+        collector.recordQueueWait("FOOD", 10);
+        collector.recordQueueWait("FOOD", 30);
+        collector.registerMetric("TimeInZone_WC");
+
+        Path file = tempDir.resolve("out/summary.csv");
+        MetricsExporter.writeSummaryCsv(collector, file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(MetricsExporter.SUMMARY_HEADER, lines.get(0));
+        assertTrue(lines.contains("QueueWait_FOOD,2,40.0000,20.0000,10.0000,30.0000"));
+        assertTrue(lines.contains("TimeInZone_WC,0,,,,"), "Leere Metriken sollten mit Anzahl 0 erscheinen");
+    }
+
+    @Test
+    void testRawCsvContainsEveryValue() throws Exception {
+        DefaultMetricsCollector collector = new DefaultMetricsCollector();
+        collector.recordMetric("PanicDuration", 1.5);
+        collector.recordMetric("PanicDuration", 2.0);
+
+        Path file = tempDir.resolve("raw.csv");
+        MetricsExporter.writeRawCsv(collector, file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(List.of("metric,index,value", "PanicDuration,0,1.5", "PanicDuration,1,2.0"), lines);
+    }
+}
@@ -0,0 +1,112 @@
+package org.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für die AgentRegistry.
+ * Prüft Enthalten-Prüfung, Entfernen, stabile IDs und die Sichten nach Rolle.
+ */
+class AgentRegistryTest {
+
+    private final AgentRegistry registry = new AgentRegistry();
+
+    @Test
+    void testAddContainsRemove() {
+        Agent a = new Agent();
+        Agent b = new Agent();
+        Agent c = new Agent();
+        registry.addAll(List.of(a, b, c));
+
+        assertTrue(registry.remove(a));
+
+        assertFalse(registry.contains(a));
+        assertTrue(registry.contains(b));
+        assertTrue(registry.contains(c));
+        assertEquals(2, registry.size());
+        assertFalse(registry.remove(a), "Doppeltes Entfernen sollte nichts tun");
+        assertFalse(registry.add(b), "Doppeltes Eintragen sollte nichts tun");
+    }
+
+    @Test
+    void testIdsAreStable() {
+        Agent a = new Agent();
+        Agent b = new Agent();
+        registry.add(a);
+        registry.add(b);
+        int idB = b.getId();
+
+        registry.remove(a);
+
+        assertEquals(idB, b.getId(), "Entfernen anderer Agenten ändert keine IDs");
+        assertSame(b, registry.getById(idB));
+        assertNull(registry.getById(a.getId()));
+        assertEquals(-1, new Agent().getId());
+    }
+
+    @Test
+    void testRoleViews() {
+        Agent visitor = new Agent();
+        Person personVisitor = new Person(Person.PersonType.VISITOR);
+        Person security = new Person(Person.PersonType.SECURITY);
+        Person medic = new Person(Person.PersonType.MEDIC);
+        registry.addAll(List.of(visitor, security, personVisitor, medic));
+
+        assertEquals(List.of(visitor, personVisitor), registry.getVisitors());
+        assertEquals(List.of(security), registry.getSecurity());
+        assertEquals(List.of(medic), registry.getMedics());
+
+        registry.remove(visitor);
+        assertEquals(List.of(personVisitor), registry.getVisitors());
+        assertThrows(UnsupportedOperationException.class, () -> registry.getSecurity().clear());
+    }
+
+    @Test
+    void testIteratorRemoveVisitsEveryAgent() {
+        Agent a = new Agent();
+        Agent b = new Agent();
+        Agent c = new Agent();
+        registry.addAll(List.of(a, b, c));
+
+        int visited = 0;
+        for (Iterator<Agent> it = registry.iterator(); it.hasNext(); ) {
+            it.next();
+            visited++;
+            it.remove();
+        }
+
+        assertEquals(3, visited);
+        assertTrue(registry.isEmpty());
+        assertTrue(registry.getVisitors().isEmpty());
+    }
+
+    @Test
+    void testClearAndReAdd() {
+        Agent a = new Agent();
+        registry.add(a);
+        int id = a.getId();
+
+        registry.clear();
+        assertFalse(registry.contains(a));
+
+        registry.add(a);
+        assertTrue(registry.contains(a));
+        assertEquals(id, a.getId());
+    }
+
+    @Test
+    void testAgentFromOtherRegistryIsNotContained() {
+        AgentRegistry other = new AgentRegistry();
+        Agent a = new Agent();
+        Agent b = new Agent();
+        registry.add(a);
+        other.add(b);
+
+        assertFalse(registry.contains(b));
+        assertFalse(other.contains(a));
+    }
+}
@@ -0,0 +1,87 @@
+package org.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für CrowdDensity.
+ * Prüft, dass die Zähler jedem Zug über den PositionStore folgen und die Summentabelle
+ * Rechtecke korrekt aufsummiert.
+ */
+class CrowdDensityTest {
+
+    private Event event;
+    private CrowdDensity density;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        event.agents.clear();
+        density = event.getDensity();
+    }
+
+    private Agent place(int x, int y) {
+        Agent a = new Agent();
+        a.setEvent(event);
+        event.agents.add(a);
+        event.getPositions().setLocation(a, x, y);
+        return a;
+    }
+
+    @Test
+    void testCountsFollowMovesAndRemoval() {
+        Agent a = place(10, 10);
+        place(10, 10);
+        assertEquals(2, density.countAt(10, 10));
+
+        event.getPositions().setLocation(a, 11, 10);
+        assertEquals(1, density.countAt(10, 10));
+        assertEquals(1, density.countAt(11, 10));
+
+        event.getPositions().setLocation(a, 11, 10);
+        assertEquals(1, density.countAt(11, 10), "Gleiche Zelle darf nicht doppelt zählen");
+
+        event.getPositions().remove(a);
+        assertEquals(0, density.countAt(11, 10));
+        assertEquals(1, density.getTotal());
+    }
+
+    @Test
+    void testRectangleSumsUseLastRebuild() {
+        place(0, 0);
+        place(5, 5);
+        place(5, 6);
+        place(99, 99);
+        density.rebuild();
+
+        assertEquals(4, density.sum(0, 0, 99, 99));
+        assertEquals(2, density.sum(5, 5, 5, 6));
+        assertEquals(3, density.sumAround(3, 3, 3));
+        assertEquals(1, density.sum(90, 90, 200, 200), "Rechteck wird auf das Raster beschnitten");
+        assertEquals(0, density.sum(6, 6, 5, 5));
+
+        place(5, 5);
+        assertEquals(2, density.sum(5, 5, 5, 6), "Summen ändern sich erst nach dem nächsten Neuaufbau");
+        assertEquals(2, density.countAt(5, 5));
+        event.schedule.step(event);
+        assertEquals(3, density.sum(5, 5, 5, 6));
+    }
+
+    @Test
+    void testDenseBackendIsTrackedIncludingClamping() {
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setHeadless(true);
+        config.setDensePositions(true);
+        event = new Event(2L, config, null);
+        event.start();
+        density = event.getDensity();
+
+        Agent a = place(-5, 200);
+        assertEquals(1, density.countAt(0, 99));
+        assertEquals(event.cell(0, 99), event.getPositions().getLocation(a));
+        assertEquals(event.getPositions().countAt(0, 99), density.countAt(0, 99));
+    }
+}
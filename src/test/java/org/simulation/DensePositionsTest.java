@@ -0,0 +1,112 @@
+package org.simulation;
+
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.Test;
+import sim.util.Int2D;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für DensePositions.
+ * Prüft Platzieren, Verschieben und Entfernen, die Zellenlisten sowie einen headless Lauf mit diesem Speicher.
+ */
+class DensePositionsTest {
+
+    private final AgentRegistry registry = new AgentRegistry();
+    private final DensePositions positions = new DensePositions(20, 20);
+
+    private Agent agent() {
+        Agent agent = new Agent();
+        registry.add(agent);
+        return agent;
+    }
+
+    @Test
+    void testPlaceMoveRemove() {
+        Agent a = agent();
+        Agent b = agent();
+        Agent c = agent();
+        positions.setLocation(a, 3, 4);
+        positions.setLocation(b, 3, 4);
+        positions.setLocation(c, 3, 4);
+
+        assertEquals(new Int2D(3, 4), positions.getLocation(a));
+        assertEquals(3, positions.countAt(3, 4));
+
+        positions.setLocation(b, 5, 5);
+        positions.remove(a);
+
+        assertEquals(1, positions.countAt(3, 4));
+        assertEquals(1, positions.countAt(5, 5));
+        assertNull(positions.getLocation(a));
+        assertEquals(new Int2D(3, 4), positions.getLocation(c));
+    }
+
+    @Test
+    void testCollectWithinKeepsArrivalOrder() {
+        Agent a = agent();
+        Agent b = agent();
+        Agent far = agent();
+        positions.setLocation(a, 10, 10);
+        positions.setLocation(b, 10, 10);
+        positions.setLocation(far, 19, 19);
+
+        List<Agent> found = new ArrayList<>();
+        positions.collectWithin(10, 11, 2, found);
+
+        assertEquals(List.of(a, b), found);
+    }
+
+    @Test
+    void testUnregisteredAgentIsRejectedAndOutsideIsClamped() {
+        assertThrows(IllegalArgumentException.class, () -> positions.setLocation(new Agent(), 1, 1));
+
+        Agent a = agent();
+        positions.setLocation(a, 25, -3);
+        assertEquals(new Int2D(19, 0), positions.getLocation(a));
+    }
+
+    @Test
+    void testCoordinatesAreReadWithoutCellObjects() {
+        DensePositions large = new DensePositions(2000, 2000);
+        CrowdDensity density = new CrowdDensity(2000, 2000);
+        DensityTrackingPositions tracked = new DensityTrackingPositions(large, density);
+        assertFalse(CellTable.supports(2000, 2000), "Ohne vorab angelegte Zellen");
+        Agent a = agent();
+
+        assertEquals(PositionStore.NOT_PLACED, tracked.getX(a));
+        tracked.setLocation(a, 1999, 1500);
+        tracked.setLocation(a, 2500, 1501);
+        assertEquals(1999, large.getX(a));
+        assertEquals(1501, large.getY(a));
+        assertEquals(1, density.countAt(1999, 1501));
+        assertEquals(0, density.countAt(1999, 1500));
+
+        tracked.remove(a);
+        assertEquals(PositionStore.NOT_PLACED, tracked.getY(a));
+        assertEquals(0, density.getTotal());
+    }
+
+    @Test
+    void testHeadlessEventRunsWithDensePositions() {
+        EventConfig config = new EventConfig(100, 3, 3);
+        config.setHeadless(true);
+        config.setDensePositions(true);
+        Event event = new Event(3L, config, new DefaultMetricsCollector());
+        event.start();
+        for (int i = 0; i < 200; i++) {
+            event.schedule.step(event);
+        }
+
+        PositionStore store = event.getPositions();
+        assertInstanceOf(DensePositions.class, ((DensityTrackingPositions) store).getDelegate());
+        assertFalse(event.agents.isEmpty());
+        for (Agent agent : event.agents) {
+            assertNotNull(event.getPositions().getLocation(agent));
+            assertNull(event.grid.getObjectLocation(agent), "Agenten liegen nicht im SparseGrid2D");
+        }
+    }
+}
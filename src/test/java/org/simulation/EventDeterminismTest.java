@@ -0,0 +1,81 @@
+package org.simulation;
+
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.Test;
+import sim.util.Int2D;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für den deterministischen Ablauf eines Events.
+ * Prüft, dass gleiche Seeds gleiche Läufe ergeben und extern ausgelöste Störungen
+ * über das Befehlsprotokoll exakt wiederholt werden können.
+ */
+class EventDeterminismTest {
+
+    private Event newEvent(long seed) {
+        EventConfig config = new EventConfig(40, 2, 2);
+        config.setHeadless(true);
+        config.setFightTick(15);
+        Event event = new Event(seed, config, new DefaultMetricsCollector());
+        event.start();
+        return event;
+    }
+
+    private List<Int2D> run(Event event, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            event.schedule.step(event);
+        }
+        List<Int2D> positions = new ArrayList<>();
+        for (Agent agent : event.agents) {
+            positions.add(event.grid.getObjectLocation(agent));
+        }
+        return positions;
+    }
+
+    @Test
+    void testSameSeedGivesIdenticalRuns() {
+        assertEquals(run(newEvent(11L), 120), run(newEvent(11L), 120));
+    }
+
+    @Test
+    void testEnqueuedDisturbanceIsLoggedWithTick() {
+        Event event = newEvent(5L);
+        run(event, 10);
+
+        event.enqueueDisturbance("FIRE", Event.defaultDisturbanceFactory("FIRE"));
+        assertTrue(event.getCommandLog().isEmpty(), "Befehle werden erst im nächsten Tick übernommen");
+        run(event, 1);
+
+        List<ExternalCommand> log = event.getCommandLog();
+        assertEquals(1, log.size());
+        assertEquals("FIRE", log.get(0).getLabel());
+        assertEquals((long) event.schedule.getTime(), log.get(0).getTick());
+    }
+
+    @Test
+    void testReplayReproducesRunWithExternalCommands() {
+        Event original = newEvent(9L);
+        run(original, 20);
+        original.enqueueDisturbance("FIRE", Event.defaultDisturbanceFactory("FIRE"));
+        run(original, 10);
+        original.enqueueDisturbance("STORM", Event.defaultDisturbanceFactory("STORM"));
+        original.enqueueDisturbance("FIGHT", Event.defaultDisturbanceFactory("FIGHT"));
+        List<Int2D> expected = run(original, 40);
+
+        Event replay = newEvent(9L);
+        replay.replayCommands(original.getCommandLog());
+        List<Int2D> actual = run(replay, 70);
+
+        assertEquals(original.getCommandLog().toString(), replay.getCommandLog().toString());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testUnknownCommandIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Event.defaultDisturbanceFactory("FLOOD"));
+    }
+}
@@ -0,0 +1,129 @@
+package org.simulation;
+
+import events.FireDisturbance;
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.util.Int2D;
+import zones.EmergencyRouteLinks;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für EventSnapshot.
+ * Prüft, dass ein laufendes Event gesichert, mehrfach unabhängig wiederhergestellt
+ * und danach identisch weitergerechnet werden kann.
+ */
+class EventSnapshotTest {
+
+    private Event warmEvent() {
+        EventConfig config = new EventConfig(30, 2, 2);
+        config.setHeadless(true);
+        Event event = new Event(7L, config, new DefaultMetricsCollector());
+        event.start();
+        for (int i = 0; i < 40; i++) {
+            event.schedule.step(event);
+        }
+        return event;
+    }
+
+    private List<Int2D> positions(Event event) {
+        List<Int2D> result = new ArrayList<>();
+        for (Agent agent : event.agents) {
+            result.add(event.grid.getObjectLocation(agent));
+        }
+        return result;
+    }
+
+    private void step(Event event, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            event.schedule.step(event);
+        }
+    }
+
+    @Test
+    void testRestoreContinuesAtSnapshotTick() {
+        Event event = warmEvent();
+        EventSnapshot snapshot = EventSnapshot.capture(event);
+
+        Event copy = snapshot.restore();
+
+        assertEquals(event.schedule.getTime(), snapshot.getTime());
+        assertEquals(event.schedule.getTime(), copy.schedule.getTime());
+        assertEquals(event.agents.size(), copy.agents.size());
+        assertEquals(positions(event), positions(copy));
+        assertNotSame(event.grid, copy.grid);
+        assertTrue(snapshot.size() > 0);
+    }
+
+    @Test
+    void testRestoredCopiesRunIdenticallyAndIndependently() {
+        Event event = warmEvent();
+        EventSnapshot snapshot = EventSnapshot.capture(event);
+        Event first = snapshot.restore();
+        Event second = snapshot.restore();
+
+        step(first, 50);
+        assertEquals(positions(event), positions(second), "Weiterrechnen einer Kopie darf die anderen nicht verändern");
+
+        step(second, 50);
+        step(event, 50);
+        assertEquals(positions(first), positions(second), "Gleicher Abzug muss gleich weiterlaufen");
+        assertEquals(positions(event), positions(first), "Kopie muss wie das Original weiterlaufen");
+    }
+
+    @Test
+    void testDisturbancesAndRestrictedAreasSurvive() {
+        Event event = warmEvent();
+        event.spawn(new FireDisturbance(new Int2D(50, 50)));
+        step(event, 2);
+        int areas = event.getRestrictedAreas().size();
+
+        Event copy = EventSnapshot.capture(event).restore();
+
+        assertEquals(areas, copy.getRestrictedAreas().size());
+        assertNull(copy.getSoundSystem(), "Headless Kopien brauchen kein Sound-System");
+        assertNotSame(event.getCollector(), copy.getCollector());
+        step(copy, 5);
+    }
+
+    @Test
+    void testForkSharedObjectsAreNotCopied() {
+        Event event = warmEvent();
+        EventSnapshot snapshot = EventSnapshot.capture(event);
+
+        Object first = route(snapshot.restore());
+        Object second = route(snapshot.restore());
+
+        assertTrue(snapshot.getSharedCount() > 0);
+        assertNotNull(first);
+        assertSame(first, second, "Unveränderliche Notfallrouten werden von allen Kopien geteilt");
+        assertSame(route(event), first);
+    }
+
+    private Object route(Event event) {
+        for (Object o : event.grid.getAllObjects()) {
+            if (o instanceof EmergencyRouteLinks) {
+                return o;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void testFileRoundTrip(@TempDir Path dir) throws Exception {
+        Event event = warmEvent();
+        EventSnapshot snapshot = EventSnapshot.capture(event);
+        Path file = dir.resolve("warm.snapshot");
+
+        snapshot.writeTo(file);
+        EventSnapshot loaded = EventSnapshot.readFrom(file);
+
+        assertEquals(snapshot.getTime(), loaded.getTime());
+        assertEquals(positions(event), positions(loaded.restore()));
+    }
+}
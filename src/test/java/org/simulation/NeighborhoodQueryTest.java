@@ -0,0 +1,64 @@
+package org.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sim.util.Int2D;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für die NeighborhoodQuery.
+ * Prüft Radius, Rollenfilter und dass nur eingetragene Agenten gefunden werden.
+ */
+class NeighborhoodQueryTest {
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        event.agents.clear();
+    }
+
+    private Agent place(Agent agent, int x, int y) {
+        agent.setEvent(event);
+        event.agents.add(agent);
+        event.grid.setObjectLocation(agent, new Int2D(x, y));
+        return agent;
+    }
+
+    @Test
+    void testAgentsWithinUsesEuclideanRadius() {
+        Agent inside = place(new Agent(), 13, 14);
+        Agent edge = place(new Agent(), 10, 15);
+        place(new Agent(), 14, 14);
+        place(new Agent(), 30, 30);
+
+        List<Agent> found = event.getNeighborhood().agentsWithin(new Int2D(10, 10), 5);
+
+        assertEquals(2, found.size());
+        assertTrue(found.contains(inside));
+        assertTrue(found.contains(edge), "Abstand genau gleich dem Radius zählt dazu");
+    }
+
+    @Test
+    void testVisitorsWithinSkipsStaff() {
+        Agent visitor = place(new Person(Person.PersonType.VISITOR), 2, 2);
+        place(new Person(Person.PersonType.SECURITY), 2, 3);
+        place(new Person(Person.PersonType.MEDIC), 3, 2);
+
+        assertEquals(List.of(visitor), event.getNeighborhood().visitorsWithin(new Int2D(2, 2), 2));
+        assertEquals(3, event.getNeighborhood().agentsWithin(new Int2D(2, 2), 2).size());
+    }
+
+    @Test
+    void testUnregisteredAgentsAreIgnored() {
+        Agent ghost = new Agent();
+        event.grid.setObjectLocation(ghost, new Int2D(50, 50));
+
+        assertTrue(event.getNeighborhood().agentsWithin(new Int2D(50, 50), 3).isEmpty());
+    }
+}
@@ -0,0 +1,80 @@
+package org.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sim.util.Int2D;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für den ResponderPool.
+ * Prüft die Auswahl der nächstgelegenen freien Einsatzkraft sowie Belegen und Freigeben.
+ */
+class ResponderPoolTest {
+
+    private Event event;
+    private ResponderPool pool;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        event.agents.clear();
+        pool = event.getResponders();
+    }
+
+    private Person place(Person.PersonType type, int x, int y) {
+        Person p = new Person(type);
+        p.setEvent(event);
+        event.agents.add(p);
+        event.grid.setObjectLocation(p, new Int2D(x, y));
+        return p;
+    }
+
+    @Test
+    void testNearestIdleIgnoresOtherRolesAndBusy() {
+        Person far = place(Person.PersonType.MEDIC, 40, 40);
+        Person near = place(Person.PersonType.MEDIC, 12, 12);
+        place(Person.PersonType.SECURITY, 10, 10);
+
+        assertSame(near, pool.nearestIdle(Person.PersonType.MEDIC, new Int2D(10, 10)));
+
+        pool.markBusy(near);
+        assertSame(far, pool.nearestIdle(Person.PersonType.MEDIC, new Int2D(10, 10)));
+        assertEquals(1, pool.idleCount(Person.PersonType.MEDIC));
+    }
+
+    @Test
+    void testDispatchAndRelease() {
+        Person medic = place(Person.PersonType.MEDIC, 5, 5);
+        Int2D target = new Int2D(20, 20);
+
+        assertSame(medic, pool.dispatch(Person.PersonType.MEDIC, target));
+        assertEquals(target, medic.getTargetPosition());
+        assertTrue(pool.isBusy(medic));
+        assertNull(pool.dispatch(Person.PersonType.MEDIC, target), "Keine freie Einsatzkraft mehr");
+
+        pool.release(medic);
+
+        assertFalse(pool.isBusy(medic));
+        assertNull(medic.getTargetPosition());
+        assertTrue(pool.isIdle(medic));
+    }
+
+    @Test
+    void testIdleByDistanceIsSorted() {
+        Person a = place(Person.PersonType.SECURITY, 30, 30);
+        Person b = place(Person.PersonType.SECURITY, 2, 2);
+        Person c = place(Person.PersonType.SECURITY, 10, 10);
+
+        assertEquals(List.of(b, c, a), pool.idleByDistance(Person.PersonType.SECURITY, new Int2D(0, 0)));
+    }
+
+    @Test
+    void testVisitorRoleIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> pool.nearestIdle(Person.PersonType.VISITOR, new Int2D(0, 0)));
+    }
+}
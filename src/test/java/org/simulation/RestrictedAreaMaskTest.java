@@ -0,0 +1,80 @@
+package org.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für das Sperrzonen-Raster.
+ * Prüft, dass Aktivieren und Deaktivieren von Sperrzonen im Raster nachgeführt werden.
+ */
+class RestrictedAreaMaskTest {
+
+    @Test
+    void testMaskFollowsActivation() {
+        Event event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        RestrictedArea ra = new RestrictedArea(10, 10, 2);
+        event.addRestrictedArea(ra);
+
+        assertTrue(event.isRestricted(10, 12));
+        assertFalse(event.isRestricted(12, 12), "Ecke liegt außerhalb des Radius");
+
+        ra.deactivate();
+        assertFalse(event.isRestricted(10, 10));
+
+        ra.activate();
+        assertTrue(event.isRestricted(10, 10));
+    }
+
+    @Test
+    void testOverlappingAreasAreCounted() {
+        Event event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        RestrictedArea first = new RestrictedArea(10, 10, 3);
+        RestrictedArea second = new RestrictedArea(12, 10, 3);
+        event.addRestrictedArea(first);
+        event.addRestrictedArea(second);
+
+        first.deactivate();
+        first.deactivate();
+
+        assertTrue(event.isRestricted(11, 10), "Zweite Zone sperrt die Überlappung weiterhin");
+        assertFalse(event.isRestricted(8, 10));
+    }
+
+    @Test
+    void testAreasAddedBeforeStartAreRasterized() {
+        Event event = new Event(1L, 0, 0, 0, null);
+        RestrictedArea ra = new RestrictedArea(5, 5, 1);
+        event.addRestrictedArea(ra);
+        assertTrue(event.isRestricted(5, 5));
+
+        event.start();
+        ra.deactivate();
+
+        assertFalse(event.isRestricted(5, 5));
+    }
+
+    @Test
+    void testChangesAreLoggedAsRectangles() {
+        RestrictedAreaMask mask = new RestrictedAreaMask(50, 50);
+        RestrictedArea ra = new RestrictedArea(2, 10, 3);
+        ra.attach(mask);
+        long afterAdd = mask.getVersion();
+        ra.deactivate();
+
+        assertEquals(List.of(new RestrictedAreaMask.Change(0, 7, 5, 13)), mask.changesSince(afterAdd));
+        assertEquals(2, mask.changesSince(0).size());
+        assertTrue(mask.changesSince(mask.getVersion()).isEmpty());
+
+        for (int i = 0; i < RestrictedAreaMask.MAX_LOGGED_CHANGES / 2; i++) {
+            ra.activate();
+            ra.deactivate();
+        }
+        assertNull(mask.changesSince(afterAdd), "Zu alte Stände müssen das Raster neu lesen");
+        assertEquals(1, mask.changesSince(mask.getVersion() - 1).size());
+    }
+}
@@ -0,0 +1,54 @@
+package org.simulation;
+
+import org.junit.jupiter.api.Test;
+import sim.util.Int2D;
+import zones.EmergencyRouteLinks;
+import zones.EmergencyRouteRechts;
+import zones.EmergencyRouteStraight;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für die RouteRegistry.
+ * Prüft die Suche nach dem nächsten Sammelpunkt und die Einrichtung der Routen in Event.start().
+ */
+class RouteRegistryTest {
+
+    @Test
+    void testNearestRallyPoint() {
+        RouteRegistry registry = new RouteRegistry(100, 100);
+        EmergencyRouteLinks links = new EmergencyRouteLinks(new Int2D(9, 50));
+        EmergencyRouteRechts rechts = new EmergencyRouteRechts(new Int2D(83, 50));
+        registry.add(links, new Int2D(20, 50));
+        registry.add(rechts);
+
+        assertEquals(new Int2D(20, 50), registry.nearestRallyPoint(new Int2D(0, 0)));
+        assertEquals(new Int2D(83, 50), registry.nearestRallyPoint(new Int2D(70, 90)));
+        assertSame(rechts, registry.nearestRoute(new Int2D(99, 99)));
+        assertEquals(new Int2D(83, 50), registry.nearestRallyPoint(new Int2D(150, 50)), "Außerhalb des Grids");
+    }
+
+    @Test
+    void testEmptyRegistryHasNoRoute() {
+        RouteRegistry registry = new RouteRegistry(10, 10);
+        assertNull(registry.nearestRallyPoint(new Int2D(1, 1)));
+    }
+
+    @Test
+    void testEventRegistersEachRouteOnce() {
+        Event event = new Event(1L, 0, 0, 0, null);
+        event.start();
+
+        int markers = 0;
+        for (Object o : event.grid.getAllObjects()) {
+            if (o instanceof EmergencyRouteLinks || o instanceof EmergencyRouteRechts
+                    || o instanceof EmergencyRouteStraight) {
+                markers++;
+            }
+        }
+
+        assertEquals(3, event.getEmergencyRoutes().getRoutes().size());
+        assertEquals(3, markers, "Jede Route liegt genau einmal im Grid");
+        assertEquals(new Int2D(50, 20), event.getEmergencyRoutes().nearestRallyPoint(new Int2D(50, 0)));
+    }
+}
@@ -0,0 +1,76 @@
+package org.simulation;
+
+import org.junit.jupiter.api.Test;
+import sim.engine.Schedule;
+import sim.engine.SimState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für das TimerWheel.
+ * Prüft exaktes Feuern über alle Stufen, die Reihenfolge bei gleichem Tick und ungültige Zeitpunkte.
+ */
+class TimerWheelTest {
+
+    private final SimState state = new SimState(1L);
+    private final TimerWheel wheel = new TimerWheel();
+    private final List<String> fired = new ArrayList<>();
+
+    private void at(long tick, String name) {
+        wheel.scheduleAt(tick, s -> fired.add(name + "@" + (long) s.schedule.getTime()));
+    }
+
+    private void runUntil(long tick) {
+        state.schedule.scheduleRepeating(Schedule.EPOCH, 0, wheel, 1);
+        while (state.schedule.getTime() < tick) {
+            state.schedule.step(state);
+        }
+    }
+
+    @Test
+    void testTimersFireAtExactTickOnEveryLevel() {
+        at(0, "sofort");
+        at(255, "grenze");
+        at(300, "stufe1");
+        at(16_000, "spät");
+        at(40_000, "überlauf");
+
+        runUntil(40_000);
+
+        assertEquals(List.of("sofort@0", "grenze@255", "stufe1@300", "spät@16000", "überlauf@40000"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testSameTickFiresInInsertionOrder() {
+        at(5_000, "a");
+        at(10, "früh");
+        at(5_000, "b");
+        at(5_000, "c");
+
+        runUntil(5_000);
+
+        assertEquals(List.of("früh@10", "a@5000", "b@5000", "c@5000"), fired);
+    }
+
+    @Test
+    void testTimerScheduledFromTimerFires() {
+        wheel.scheduleAt(3, s -> wheel.scheduleAt(600, s2 -> fired.add("folge@" + (long) s2.schedule.getTime())));
+
+        runUntil(700);
+
+        assertEquals(List.of("folge@600"), fired);
+    }
+
+    @Test
+    void testRejectsPastTick() {
+        at(1, "x");
+        runUntil(2);
+
+        assertThrows(IllegalArgumentException.class, () -> at(2, "zu spät"));
+        assertEquals(1, fired.size());
+    }
+}
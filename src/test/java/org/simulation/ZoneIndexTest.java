@@ -0,0 +1,210 @@
+package org.simulation;
+
+import org.junit.jupiter.api.Test;
+import org.simulation.navigation.DistanceField;
+import sim.util.Int2D;
+import states.PanicRunState;
+import zones.Zone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für den ZoneIndex.
+ * Prüft die Suche nach Position und Typ, das Raster der Grundflächen, die Auswahl nach Last und Lage sowie
+ * den Neuaufbau nach Änderungen der Liste.
+ */
+class ZoneIndexTest {
+
+    private final ZoneIndex zones = new ZoneIndex();
+
+    private static int footprintDistance(Zone zone, Int2D from) {
+        Int2D p = zone.getPosition();
+        int dx = Math.max(0, Math.max(p.x - from.x, from.x - (p.x + zone.getWidth() - 1)));
+        int dy = Math.max(0, Math.max(p.y - from.y, from.y - (p.y + zone.getHeight() - 1)));
+        return Math.max(dx, dy);
+    }
+
+    @Test
+    void testLookupByPositionAndType() {
+        Zone food = new Zone(Zone.ZoneType.FOOD, new Int2D(5, 15), 3);
+        Zone wc = new Zone(Zone.ZoneType.WC, new Int2D(90, 25), 3);
+        zones.addAll(List.of(food, wc));
+
+        assertSame(food, zones.getByPosition(new Int2D(5, 15)));
+        assertSame(wc, zones.getByPosition(new Int2D(90, 25)));
+        assertNull(zones.getByPosition(new Int2D(6, 15)));
+        assertNull(zones.getByPosition(new Int2D(-1, 200)), "Außerhalb aller Zonen");
+        assertNull(zones.getByPosition(null));
+        assertSame(wc, zones.getFirstByType(Zone.ZoneType.WC));
+        assertNull(zones.getFirstByType(Zone.ZoneType.EXIT));
+    }
+
+    @Test
+    void testWholeFootprintIsIndexed() {
+        Zone stage = new Zone(Zone.ZoneType.ACT_MAIN, new Int2D(50, 45), 20, 8, 6);
+        Zone food = new Zone(Zone.ZoneType.FOOD, new Int2D(57, 50), 3, 4, 3);
+        zones.addAll(List.of(stage, food));
+
+        assertSame(stage, zones.getByPosition(new Int2D(50, 45)));
+        assertSame(stage, zones.getByPosition(new Int2D(57, 50)), "Überlappung: zuerst eingetragene Zone");
+        assertSame(food, zones.getByPosition(new Int2D(60, 52)));
+        assertNull(zones.getByPosition(new Int2D(58, 45)));
+        assertNull(zones.getByPosition(new Int2D(61, 52)));
+        assertTrue(stage.covers(57, 50));
+        assertFalse(stage.covers(58, 50));
+    }
+
+    @Test
+    void testLeastLoadedWeighsDistanceAgainstLoad() {
+        Zone near = new Zone(Zone.ZoneType.FOOD, new Int2D(10, 10), 3);
+        Zone far = new Zone(Zone.ZoneType.FOOD, new Int2D(40, 10), 3);
+        zones.addAll(List.of(near, far));
+        Int2D from = new Int2D(0, 10);
+        ToIntFunction<Zone> distance = z -> Math.abs(z.getPosition().x - from.x);
+
+        assertSame(near, zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 10));
+
+        // 3 Besucher und 1 Wartender: 10 + 4 * 10 > 40
+        for (int i = 0; i < 3; i++) {
+            near.enter(new Agent());
+        }
+        Agent waiting = new Agent();
+        near.joinQueue(waiting);
+        assertEquals(4, near.getLoad());
+        assertSame(far, zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 10));
+        assertSame(near, zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 0), "Ohne Lastgewicht zählt nur der Abstand");
+
+        near.leaveQueue(waiting);
+        assertSame(near, zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 10), "Gleiche Kosten: zuerst eingetragene Zone");
+        assertNull(zones.leastLoaded(Zone.ZoneType.WC, from, distance, 10));
+    }
+
+    @Test
+    void testEquallyLoadedZonesAreNotAllMeasured() {
+        for (int i = 0; i < 40; i++) {
+            zones.add(new Zone(Zone.ZoneType.FOOD, new Int2D(5 + 10 * i, 10 + 7 * (i % 3)), 3));
+        }
+        Int2D from = new Int2D(200, 12);
+        int[] evaluations = {0};
+        ToIntFunction<Zone> distance = z -> {
+            evaluations[0]++;
+            return Math.max(Math.abs(z.getPosition().x - from.x), Math.abs(z.getPosition().y - from.y));
+        };
+
+        Zone chosen = zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 10);
+
+        assertEquals(new Int2D(195, 17), chosen.getPosition());
+        assertTrue(evaluations[0] <= 3, "Abstand für " + evaluations[0] + " von 40 Zonen abgefragt");
+    }
+
+    @Test
+    void testBucketSearchMatchesCheckingEveryZone() {
+        Random random = new Random(5);
+        List<Zone> all = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Zone zone = new Zone(Zone.ZoneType.WC, new Int2D(random.nextInt(200), random.nextInt(120)), 10,
+                    1 + random.nextInt(12), 1 + random.nextInt(6));
+            for (int v = random.nextInt(4); v > 0; v--) {
+                zone.enter(new Agent());
+            }
+            all.add(zone);
+        }
+        zones.addAll(all);
+        for (int q = 0; q < 200; q++) {
+            Int2D from = new Int2D(random.nextInt(200), random.nextInt(120));
+            // Umwege wie auf einem Gelände mit Hindernissen: Chebyshev-Abstand plus ein fester Aufschlag je Zone
+            ToIntFunction<Zone> distance = z -> {
+                int detour = z.getPosition().x * 7 % 13;
+                return detour == 0 ? DistanceField.UNREACHABLE : footprintDistance(z, from) + detour;
+            };
+            Zone expected = null;
+            long expectedCost = Long.MAX_VALUE;
+            for (Zone zone : all) {
+                int d = distance.applyAsInt(zone);
+                if (d != DistanceField.UNREACHABLE && d + 10L * zone.getLoad() < expectedCost) {
+                    expected = zone;
+                    expectedCost = d + 10L * zone.getLoad();
+                }
+            }
+
+            assertSame(expected, zones.leastLoaded(Zone.ZoneType.WC, from, distance, 10), "Anfrage von " + from);
+        }
+    }
+
+    @Test
+    void testPanickedQueueMembersNoLongerCountAsLoad() {
+        Zone near = new Zone(Zone.ZoneType.FOOD, new Int2D(10, 10), 3);
+        Zone far = new Zone(Zone.ZoneType.FOOD, new Int2D(40, 10), 3);
+        zones.addAll(List.of(near, far));
+        Int2D from = new Int2D(0, 10);
+        ToIntFunction<Zone> distance = z -> z.getPosition().x;
+        List<Agent> queued = List.of(new Agent(), new Agent(), new Agent(), new Agent());
+        for (Agent a : queued) {
+            a.joinQueue(near);
+        }
+        assertEquals(4, near.getLoad());
+        assertSame(far, zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 10));
+
+        for (Agent a : queued) {
+            a.setPanicking(true);
+            a.setCurrentState(new PanicRunState());
+        }
+
+        assertEquals(0, near.getLoad());
+        assertSame(near, zones.leastLoaded(Zone.ZoneType.FOOD, from, distance, 10));
+    }
+
+    @Test
+    void testUnreachableZonesAreSkipped() {
+        Zone blocked = new Zone(Zone.ZoneType.WC, new Int2D(10, 10), 3);
+        Zone open = new Zone(Zone.ZoneType.WC, new Int2D(80, 10), 3);
+        zones.addAll(List.of(blocked, open));
+
+        Zone chosen = zones.leastLoaded(Zone.ZoneType.WC, new Int2D(10, 10),
+                z -> z == blocked ? DistanceField.UNREACHABLE : 70, 10);
+        assertSame(open, chosen);
+    }
+
+    @Test
+    void testFirstAddedZoneWins() {
+        Zone first = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(5, 50), 5);
+        Zone second = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(5, 50), Integer.MAX_VALUE);
+        zones.add(first);
+        zones.add(second);
+
+        assertSame(first, zones.getByPosition(new Int2D(5, 50)));
+        assertEquals(List.of(first, second), zones.getByType(Zone.ZoneType.EMERGENCY_EXIT));
+    }
+
+    @Test
+    void testIndexFollowsChanges() {
+        Zone food = new Zone(Zone.ZoneType.FOOD, new Int2D(5, 15), 3);
+        zones.add(food);
+        assertSame(food, zones.getByPosition(new Int2D(5, 15)));
+
+        zones.clear();
+        assertNull(zones.getByPosition(new Int2D(5, 15)));
+
+        Zone moved = new Zone(Zone.ZoneType.FOOD, new Int2D(40, 40), 3);
+        zones.add(moved);
+        assertSame(moved, zones.getFirstByType(Zone.ZoneType.FOOD));
+        assertSame(moved, zones.getByPosition(new Int2D(40, 40)));
+    }
+
+    @Test
+    void testEventStartsWithoutDuplicateZones() {
+        Event event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        int count = event.zones.size();
+
+        event.start();
+
+        assertEquals(8, count);
+        assertEquals(count, event.zones.size(), "Neustart darf die Zonen nicht verdoppeln");
+    }
+}
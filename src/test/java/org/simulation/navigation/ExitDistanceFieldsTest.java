@@ -0,0 +1,87 @@
+package org.simulation.navigation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simulation.Event;
+import org.simulation.RestrictedArea;
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für DistanceField und ExitDistanceFields.
+ * Prüft Schrittabstände, Umwege um Sperrzonen und das Neuberechnen nach Änderungen.
+ */
+class ExitDistanceFieldsTest {
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        event.zones.clear();
+    }
+
+    @Test
+    void testDistanceCountsDiagonalSteps() {
+        DistanceField field = DistanceField.compute(event, new Int2D(10, 10));
+
+        assertEquals(0, field.distance(10, 10));
+        assertEquals(5, field.distance(15, 15));
+        assertEquals(7, field.distance(3, 12));
+        assertEquals(DistanceField.UNREACHABLE, field.distance(-1, 0));
+    }
+
+    // Reihe überlappender Sperrzonen, die eine waagrechte Wand von fromX - 3 bis toX + 3 bilden
+    private List<RestrictedArea> wall(int fromX, int toX, int y) {
+        List<RestrictedArea> areas = new ArrayList<>();
+        for (int x = fromX; x <= toX; x += 5) {
+            RestrictedArea ra = new RestrictedArea(x, y, 3);
+            event.addRestrictedArea(ra);
+            areas.add(ra);
+        }
+        return areas;
+    }
+
+    @Test
+    void testRestrictedAreaForcesDetour() {
+        wall(10, 40, 20);
+        DistanceField field = DistanceField.compute(event, new Int2D(25, 26));
+
+        assertTrue(field.distance(25, 14) > 12, "Weg muss um die Sperrzone herumführen");
+        assertEquals(DistanceField.UNREACHABLE, field.distance(25, 20), "Innerhalb der Sperrzone");
+    }
+
+    @Test
+    void testNearestExitRespectsObstaclesAndUpdates() {
+        Zone north = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(50, 30), 5);
+        Zone south = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(50, 75), 5);
+        event.zones.add(north);
+        event.zones.add(south);
+        Int2D from = new Int2D(50, 50);
+
+        assertSame(north, event.getNearestAvailableEmergencyExit(from));
+
+        // Wand zwischen Agent und Nordausgang
+        List<RestrictedArea> areas = wall(30, 70, 40);
+        assertSame(south, event.getNearestAvailableEmergencyExit(from));
+
+        areas.forEach(RestrictedArea::deactivate);
+        assertSame(north, event.getNearestAvailableEmergencyExit(from));
+    }
+
+    @Test
+    void testFallsBackToManhattanWhenUnreachable() {
+        Zone exit = new Zone(Zone.ZoneType.EXIT, new Int2D(80, 80), Integer.MAX_VALUE);
+        event.zones.add(exit);
+        event.addRestrictedArea(new RestrictedArea(10, 10, 3));
+
+        assertSame(exit, event.getNearestAvailableExit(new Int2D(10, 10)),
+                "Agent in einer Sperrzone bekommt trotzdem einen Ausgang");
+    }
+}
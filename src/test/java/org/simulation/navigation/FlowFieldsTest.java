@@ -0,0 +1,117 @@
+package org.simulation.navigation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simulation.Agent;
+import org.simulation.Event;
+import org.simulation.RestrictedArea;
+import org.simulation.utils.MovementUtils;
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für FlowField und FlowFields.
+ * Prüft die Schrittrichtung, das Umgehen von Sperrzonen, Zonen mit größerer Grundfläche und dass
+ * nachgezogene Felder einer vollständigen Neuberechnung entsprechen.
+ */
+class FlowFieldsTest {
+
+    private Event event;
+    private Zone zone;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event(1L, 0, 0, 0, null);
+        event.start();
+        event.zones.clear();
+        zone = new Zone(Zone.ZoneType.FOOD, new Int2D(50, 70), 5);
+        event.zones.add(zone);
+    }
+
+    @Test
+    void testOpenFieldStepsStraightTowardsZone() {
+        FlowFields flows = event.getFlowFields();
+
+        int direction = flows.direction(zone.getPosition(), 40, 60);
+        assertEquals(1, FlowField.dx(direction));
+        assertEquals(1, FlowField.dy(direction));
+        assertEquals(FlowField.NONE, flows.direction(zone.getPosition(), 50, 70), "Ziel erreicht");
+        assertEquals(FlowField.NONE, flows.direction(new Int2D(3, 3), 40, 60), "Kein Feld für Nicht-Zonen-Ziele");
+    }
+
+    @Test
+    void testAgentWalksAroundRestrictedAreas() {
+        for (int x = 30; x <= 70; x += 5) {
+            event.addRestrictedArea(new RestrictedArea(x, 60, 3));
+        }
+        Agent agent = new Agent();
+        agent.setEvent(event);
+        event.agents.add(agent);
+        event.getPositions().setLocation(agent, 50, 50);
+        int expected = event.getFlowFields().distance(zone.getPosition(), 50, 50);
+
+        for (int i = 0; i < expected; i++) {
+            assertTrue(MovementUtils.moveAgentTowards(agent, event, zone.getPosition()));
+            Int2D pos = event.getPositions().getLocation(agent);
+            assertFalse(event.isRestricted(pos.x, pos.y), "Agent darf keine Sperrzone betreten: " + pos);
+        }
+        assertEquals(zone.getPosition(), event.getPositions().getLocation(agent));
+    }
+
+    @Test
+    void testAgentsEnterFootprintWhereTheyMeetIt() {
+        event.zones.clear();
+        Zone stage = new Zone(Zone.ZoneType.ACT_MAIN, new Int2D(40, 40), 20, 10, 6);
+        event.zones.add(stage);
+        FlowFields flows = event.getFlowFields();
+
+        assertTrue(flows.isFlowTarget(new Int2D(49, 45)));
+        assertSame(flows.get(stage.getPosition()), flows.get(new Int2D(49, 45)), "Ein Feld pro Zone");
+        assertEquals(0, flows.distance(stage.getPosition(), 47, 43));
+        assertEquals(5, flows.distance(stage.getPosition(), 45, 50));
+
+        Agent agent = new Agent();
+        agent.setEvent(event);
+        event.agents.add(agent);
+        event.getPositions().setLocation(agent, 90, 43);
+        for (int i = 0; i < 100 && !MovementUtils.hasReached(event, event.getPositions().getLocation(agent),
+                stage.getPosition()); i++) {
+            MovementUtils.moveAgentTowards(agent, event, stage.getPosition());
+        }
+        assertEquals(new Int2D(49, 43), event.getPositions().getLocation(agent), "Betritt die Zone am nächsten Rand");
+    }
+
+    @Test
+    void testRepairMatchesFullRecomputation() {
+        FlowFields flows = event.getFlowFields();
+        Int2D target = zone.getPosition();
+        flows.get(target);
+
+        List<RestrictedArea> areas = new ArrayList<>();
+        for (int round = 0; round < 12; round++) {
+            if (round % 3 == 2) {
+                areas.remove(event.random.nextInt(areas.size())).deactivate();
+            } else {
+                RestrictedArea ra = new RestrictedArea(event.random.nextInt(100), event.random.nextInt(100),
+                        2 + event.random.nextInt(6));
+                event.addRestrictedArea(ra);
+                areas.add(ra);
+            }
+
+            FlowField repaired = flows.get(target);
+            FlowField fresh = FlowField.compute(event, target);
+            for (int y = 0; y < 100; y++) {
+                for (int x = 0; x < 100; x++) {
+                    assertEquals(fresh.distance(x, y), repaired.distance(x, y), "Abstand in Runde " + round);
+                    assertEquals(fresh.direction(x, y), repaired.direction(x, y), "Richtung in Runde " + round);
+                }
+            }
+        }
+        assertEquals(1, flows.size(), "Feld wird nachgezogen, nicht neu angelegt");
+    }
+}
@@ -0,0 +1,150 @@
+package org.simulation.navigation;
+
+import org.junit.jupiter.api.Test;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import org.simulation.RestrictedArea;
+import org.simulation.venue.VenueText;
+import sim.util.Int2D;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für HierarchicalPathfinder.
+ * Prüft Wege über mehrere Cluster, das Umgehen von Sperrzonen und Wänden, den Teilneuaufbau nach
+ * Änderungen und die Wahl der Clustergröße nach Speicherbudget.
+ */
+class HierarchicalPathfinderTest {
+
+    private static Event event(int width, int height) {
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setHeadless(true);
+        config.setGridSize(width, height);
+        Event event = new Event(1L, config, null);
+        event.start();
+        return event;
+    }
+
+    private static void assertConnected(List<Int2D> path, Int2D start, Int2D goal) {
+        assertEquals(start, path.get(0));
+        for (int i = 1; i < path.size(); i++) {
+            Int2D a = path.get(i - 1);
+            Int2D b = path.get(i);
+            assertTrue(Math.abs(a.x - b.x) <= 1 && Math.abs(a.y - b.y) <= 1, "Lücke im Weg bei " + b);
+        }
+        assertEquals(goal, path.get(path.size() - 1));
+    }
+
+    @Test
+    void testOpenFieldRouteIsNearlyShortest() {
+        Event event = event(300, 300);
+        HierarchicalPathfinder finder = new HierarchicalPathfinder(event, 16);
+        Int2D start = new Int2D(5, 7);
+        Int2D goal = new Int2D(290, 250);
+
+        List<Int2D> path = finder.route(start, goal);
+
+        assertConnected(path, start, goal);
+        assertTrue(path.size() - 1 <= 285 * 1.1, "Weg zu lang: " + (path.size() - 1));
+        assertTrue(finder.getPortalCount() > 0);
+    }
+
+    @Test
+    void testRoutesAroundAreasAddedLater() {
+        Event event = event(300, 300);
+        HierarchicalPathfinder finder = new HierarchicalPathfinder(event, 16);
+        Int2D start = new Int2D(40, 150);
+        Int2D goal = new Int2D(260, 150);
+        assertConnected(finder.route(start, goal), start, goal);
+        int portals = finder.getPortalCount();
+
+        event.addRestrictedArea(new RestrictedArea(150, 150, 12));
+        List<Int2D> path = finder.route(start, goal);
+
+        assertConnected(path, start, goal);
+        assertTrue(path.stream().noneMatch(c -> event.isRestricted(c.x, c.y)), "Sperrzone wird umgangen");
+        assertNotEquals(portals, finder.getPortalCount(), "Berührte Cluster bekommen neue Portale");
+    }
+
+    @Test
+    void testWallsHaveNoPortals() {
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setHeadless(true);
+        config.setLayout(VenueText.parse("""
+                grid 300 300
+                entrance 5 290
+                zone EXIT 5 290 cap unlimited
+                wall 150 0 150 280
+                """));
+        Event event = new Event(1L, config, null);
+        event.start();
+        HierarchicalPathfinder finder = new HierarchicalPathfinder(event, 16);
+        Int2D start = new Int2D(140, 20);
+        Int2D goal = new Int2D(160, 20);
+
+        List<Int2D> path = finder.route(start, goal);
+
+        assertConnected(path, start, goal);
+        assertTrue(path.stream().noneMatch(c -> event.isWall(c.x, c.y)), "Weg führt nicht durch die Wand");
+        assertTrue(path.size() - 1 >= 2 * 260, "Umweg um das Wandende: " + (path.size() - 1));
+    }
+
+    @Test
+    void testReusedBuffersDoNotLeakBetweenQueries() {
+        Event event = event(300, 300);
+        event.addRestrictedArea(new RestrictedArea(150, 150, 12));
+        event.addRestrictedArea(new RestrictedArea(40, 260, 8));
+        HierarchicalPathfinder finder = new HierarchicalPathfinder(event, 16);
+        Int2D start = new Int2D(20, 150);
+        Int2D goal = new Int2D(280, 140);
+
+        List<Int2D> first = finder.route(start, goal);
+        finder.route(new Int2D(45, 250), new Int2D(30, 275));
+        finder.route(new Int2D(290, 5), new Int2D(3, 298));
+
+        assertEquals(first, finder.route(start, goal), "Gleiche Anfrage, gleicher Weg");
+        assertConnected(first, start, goal);
+    }
+
+    @Test
+    void testLongQueryExpandsOnlyPortalsAlongTheWay() {
+        Event event = event(2000, 2000);
+        HierarchicalPathfinder finder = new HierarchicalPathfinder(event, 16);
+        Int2D start = new Int2D(5, 5);
+        Int2D goal = new Int2D(1995, 1200);
+
+        List<Int2D> path = finder.route(start, goal);
+
+        assertConnected(path, start, goal);
+        assertTrue(path.size() - 1 <= 1990 * 1.1, "Weg zu lang: " + (path.size() - 1));
+        // 125 Cluster auf dem Weg; eine exakte Schätzung öffnete hier über 16000 Portale
+        assertTrue(finder.getLastExpansions() <= 4 * 125, "Expandiert: " + finder.getLastExpansions());
+    }
+
+    @Test
+    void testBudgetSelectsClusterSize() {
+        Event event = event(2000, 2000);
+
+        assertEquals(16, HierarchicalPathfinder.forBudget(event, 64L * 1024 * 1024).getClusterSize());
+        assertEquals(128, HierarchicalPathfinder.forBudget(event, 1024).getClusterSize());
+        assertTrue(HierarchicalPathfinder.estimateBytes(2000, 2000, 16)
+                > HierarchicalPathfinder.estimateBytes(2000, 2000, 64));
+    }
+
+    @Test
+    void testPlannerUsesHierarchyOnLargeGrid() {
+        Event event = event(2000, 2000);
+        PathPlanner planner = event.getPathPlanner();
+        Int2D start = new Int2D(10, 10);
+        Int2D goal = new Int2D(1900, 1500);
+
+        List<Int2D> route = planner.route(start, goal);
+
+        assertEquals(goal, route.get(route.size() - 1));
+        assertTrue(route.size() <= 1890 * 1.1);
+        HierarchicalPathfinder hierarchy = planner.hierarchy(2000, 2000);
+        assertTrue(hierarchy.estimatedBytes() <= PathPlanner.DEFAULT_MEMORY_BUDGET);
+    }
+}
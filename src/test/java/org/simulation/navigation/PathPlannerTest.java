@@ -0,0 +1,162 @@
+package org.simulation.navigation;
+
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import org.simulation.Person;
+import org.simulation.RestrictedArea;
+import org.simulation.venue.VenueText;
+import sim.util.Int2D;
+import states.EmergencyState;
+import states.IStates;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für PathPlanner.
+ * Prüft kürzeste Wege, das Umgehen fremder Sperrzonen und Wände, den Wege-Cache und die Wegmetrik.
+ */
+class PathPlannerTest {
+
+    private Event event;
+    private DefaultMetricsCollector collector;
+    private PathPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        collector = new DefaultMetricsCollector();
+        event = new Event(1L, 0, 0, 0, collector);
+        event.start();
+        planner = event.getPathPlanner();
+    }
+
+    private static void assertConnected(Int2D start, List<Int2D> path, Int2D goal) {
+        Int2D previous = start;
+        for (Int2D cell : path) {
+            assertTrue(Math.abs(cell.x - previous.x) <= 1 && Math.abs(cell.y - previous.y) <= 1,
+                    "Lücke im Weg bei " + cell);
+            previous = cell;
+        }
+        assertEquals(goal, previous);
+    }
+
+    @Test
+    void testOpenFieldPathIsShortest() {
+        Int2D start = new Int2D(10, 10);
+        Int2D goal = new Int2D(30, 15);
+
+        List<Int2D> path = planner.route(start, goal);
+
+        assertEquals(20, path.size());
+        assertConnected(start, path, goal);
+        assertTrue(planner.route(goal, goal).isEmpty());
+    }
+
+    @Test
+    void testAvoidsForeignAreasButEntersTargetArea() {
+        event.addRestrictedArea(new RestrictedArea(50, 50, 6));
+        Int2D start = new Int2D(30, 50);
+
+        List<Int2D> around = planner.route(start, new Int2D(70, 50));
+        assertConnected(start, around, new Int2D(70, 50));
+        assertTrue(around.stream().noneMatch(c -> event.isRestricted(c.x, c.y)), "Fremde Sperrzone wird umgangen");
+
+        List<Int2D> inside = planner.route(start, new Int2D(50, 50));
+        assertConnected(start, inside, new Int2D(50, 50));
+        assertTrue(inside.stream().filter(c -> event.isRestricted(c.x, c.y)).count() <= 7,
+                "In die Zielsperrzone nur auf kürzestem Weg");
+    }
+
+    @Test
+    void testResponderWalksAroundWallInsteadOfThroughIt() {
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setHeadless(true);
+        config.setLayout(VenueText.parse("""
+                grid 40 30
+                entrance 5 28
+                zone EXIT 5 28 cap unlimited
+                wall 20 0 20 25
+                """));
+        Event walled = new Event(1L, config, null);
+        walled.start();
+        Person medic = new Person(Person.PersonType.MEDIC);
+        medic.setEvent(walled);
+        Int2D start = new Int2D(10, 5);
+        Int2D goal = new Int2D(30, 5);
+        walled.getPositions().setLocation(medic, start);
+        medic.setTargetPosition(goal);
+
+        List<Int2D> path = walled.getPathPlanner().route(start, goal);
+        assertConnected(start, path, goal);
+        assertTrue(path.stream().noneMatch(c -> walled.isWall(c.x, c.y)), "Weg führt nicht durch die Wand");
+        assertTrue(path.size() > 40, "Umweg um das Wandende statt 20 Schritte geradeaus: " + path.size());
+
+        IStates state = new EmergencyState();
+        for (int i = 0; i < 100 && !goal.equals(walled.getPositions().getLocation(medic)); i++) {
+            state = state.act(medic, walled);
+            Int2D pos = walled.getPositions().getLocation(medic);
+            assertFalse(walled.isWall(pos.x, pos.y), "Sanitäter steht in der Wand: " + pos);
+        }
+        assertEquals(goal, walled.getPositions().getLocation(medic));
+    }
+
+    @Test
+    void testSameRegionReusesCachedPathUntilAreasChange() {
+        Int2D goal = new Int2D(80, 80);
+        Int2D first = new Int2D(9, 9);
+        Int2D second = new Int2D(12, 14);
+
+        planner.route(first, goal);
+        List<Int2D> joined = planner.route(second, goal);
+
+        assertEquals(1, planner.getSearchCount());
+        assertEquals(1, planner.getCacheHits());
+        assertConnected(second, joined, goal);
+        assertTrue(joined.size() <= 71 + PathPlanner.REGION_SIZE, "Anschluss kostet höchstens einen Regionsumweg");
+
+        event.addRestrictedArea(new RestrictedArea(40, 40, 3));
+        planner.route(second, goal);
+        assertEquals(2, planner.getSearchCount(), "Nach einer Änderung der Sperrzonen wird neu geplant");
+        List<Object> expanded = collector.getAllMetrics().get(PathPlanner.METRIC);
+        assertEquals(2, expanded.size());
+        assertInstanceOf(Integer.class, expanded.get(0),
+                "Expandierte Knoten statt Rechenzeit, damit gleiche Seeds gleiche Metriken liefern");
+        assertTrue((Integer) expanded.get(0) >= 71, "Mindestens eine Zelle je Schritt des Weges");
+        assertEquals((Integer) expanded.get(0) + (Integer) expanded.get(1), planner.getExpansionCount());
+    }
+
+    @Test
+    void testJoinDoesNotCutThroughAreas() {
+        Int2D goal = new Int2D(40, 8);
+        event.addRestrictedArea(new RestrictedArea(15, 11, 1));
+        planner.route(new Int2D(8, 8), goal);
+
+        // Der direkte Zugang zum vorhandenen Weg liefe durch die Sperrzone
+        Int2D second = new Int2D(12, 14);
+        List<Int2D> path = planner.route(second, goal);
+
+        assertConnected(second, path, goal);
+        assertTrue(path.stream().noneMatch(c -> event.isRestricted(c.x, c.y)), "Weg: " + path);
+        assertEquals(2, planner.getSearchCount(), "Statt Anschluss eine eigene Suche");
+    }
+
+    @Test
+    void testFollowerStepsAlongPath() {
+        PathFollower follower = new PathFollower();
+        Int2D pos = new Int2D(5, 5);
+        Int2D goal = new Int2D(9, 7);
+
+        int steps = 0;
+        for (Int2D next = follower.next(event, pos, goal); next != null; next = follower.next(event, pos, goal)) {
+            pos = next;
+            steps++;
+        }
+
+        assertEquals(goal, pos);
+        assertEquals(4, steps);
+    }
+}
@@ -5,11 +5,16 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.simulation.Agent;
 import org.simulation.Event;
+import org.simulation.EventConfig;
 import org.simulation.Person;
 import org.simulation.RestrictedArea;
+import org.simulation.venue.VenueText;
 import sim.util.Int2D;
 
+import java.lang.management.ManagementFactory;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Unit-Tests für die MovementUtils Klasse.
@@ -104,6 +109,25 @@ class MovementUtilsTest {
         assertFalse(MovementUtils.isBlocked(event, 5, 5, medic), "Medic should never be blocked");
     }
 
+    @Test
+    void testIsBlocked_wallsBlockEveryone() {
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setHeadless(true);
+        config.setLayout(VenueText.parse("""
+                grid 30 30
+                entrance 5 25
+                zone EXIT 5 25 cap unlimited
+                wall 15 0 15 29
+                """));
+        Event walled = new Event(1L, config, null);
+        walled.start();
+
+        assertTrue(MovementUtils.isBlocked(walled, 15, 10, new Person(Person.PersonType.MEDIC)));
+        assertTrue(MovementUtils.isBlocked(walled, 15, 10, new Person(Person.PersonType.SECURITY)));
+        assertTrue(MovementUtils.isBlocked(walled, 15, 10, agent));
+        assertFalse(MovementUtils.isBlocked(walled, 14, 10, agent));
+    }
+
     @Test
     void testIsBlocked_returnsTrueWhenInActiveRestrictedArea() {
         RestrictedArea ra = new RestrictedArea(10, 10, 1);
@@ -132,4 +156,48 @@ class MovementUtilsTest {
         boolean placed = MovementUtils.placeQueueAgent(agent, event, pos);
         assertFalse(placed, "Should not place agent into active RestrictedArea");
     }
+
+    @Test
+    void testDenseMovementDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "JVM kann Allokationen pro Thread nicht messen");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        EventConfig config = new EventConfig(0, 0, 0);
+        config.setHeadless(true);
+        config.setDensePositions(true);
+        Event dense = new Event(5L, config, null);
+        dense.start();
+        dense.addRestrictedArea(new RestrictedArea(50, 50, 5));
+
+        Agent[] agents = new Agent[1000];
+        for (int i = 0; i < agents.length; i++) {
+            agents[i] = new Agent();
+            agents[i].setEvent(dense);
+            dense.agents.add(agents[i]);
+            dense.getPositions().setLocation(agents[i], i % 100, i / 10);
+        }
+        Int2D target = dense.cell(50, 50);
+
+        // Aufwärmen, damit JIT und Zellentabelle nicht mitgemessen werden
+        moveAll(agents, dense, target, 200);
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        moveAll(agents, dense, target, 200);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        double perMove = allocated / (2.0 * 200 * agents.length);
+        assertTrue(perMove < 0.5, "Bewegung sollte keine Objekte erzeugen, gemessen: " + allocated + " Bytes");
+    }
+
+    private static void moveAll(Agent[] agents, Event event, Int2D target, int rounds) {
+        for (int r = 0; r < rounds; r++) {
+            for (Agent a : agents) {
+                MovementUtils.randomMove(a, event);
+                MovementUtils.moveAgentTowards(a, event, target);
+            }
+        }
+    }
 }
@@ -0,0 +1,235 @@
+package org.simulation.venue;
+
+import batch.BatchOptions;
+import events.FightDisturbance;
+import events.FireDisturbance;
+import metrics.DefaultMetricsCollector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.simulation.Agent;
+import org.simulation.Event;
+import org.simulation.EventConfig;
+import sim.util.Int2D;
+import zones.Zone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testklasse für VenueLayout, VenueText und VenueBinary.
+ * Prüft Standardgelände, Text- und Binärformat, Fehlermeldungen, die Prüfung gegen die Gridgröße sowie den
+ * Start eines Events aus einem Layout.
+ */
+class VenueLayoutTest {
+
+    private static final String SMALL = """
+            # kleines Testgelände
+            grid 40 30
+            entrance 20 28
+            zone FOOD 3 3 cap 2 size 2 2
+            zone EXIT 20 28 cap unlimited
+            zone EMERGENCY_EXIT 38 15 cap 4
+            route RIGHT 35 15 rally 30 15
+            wall 10 0 10 20
+            """;
+
+    @Test
+    void testStandardLayoutMatchesBuiltInVenue() {
+        VenueLayout layout = VenueLayout.standard();
+
+        assertSame(layout, VenueLayout.standard());
+        assertEquals(100, layout.getWidth());
+        assertEquals(new Int2D(60, 90), layout.getEntrance());
+        assertEquals(new Int2D(95, 70), layout.getFireStation());
+        assertEquals(8, layout.getZones().size());
+        assertEquals(new VenueLayout.ZoneSpec(Zone.ZoneType.ACT_MAIN, 50, 45, 8, 6, 20), layout.getZones().get(2));
+        assertEquals(VenueLayout.UNLIMITED, layout.getZones().get(4).capacity());
+        assertEquals(List.of(
+                new VenueLayout.RouteSpec(VenueLayout.RouteKind.STRAIGHT, 50, 10, 50, 20),
+                new VenueLayout.RouteSpec(VenueLayout.RouteKind.RIGHT, 83, 50, 83, 50),
+                new VenueLayout.RouteSpec(VenueLayout.RouteKind.LEFT, 9, 50, 20, 50)), layout.getRoutes());
+        assertTrue(layout.getWalls().isEmpty());
+    }
+
+    @Test
+    void testParseText() {
+        VenueLayout layout = VenueText.parse(SMALL);
+
+        assertEquals(40, layout.getWidth());
+        assertEquals(30, layout.getHeight());
+        assertNull(layout.getFireStation());
+        assertEquals(new VenueLayout.ZoneSpec(Zone.ZoneType.FOOD, 3, 3, 2, 2, 2), layout.getZones().get(0));
+        assertEquals(List.of(new VenueLayout.Wall(10, 0, 10, 20)), layout.getWalls());
+    }
+
+    @Test
+    void testSyntaxErrorsNameTheLine() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> VenueText.parse("grid 10 10\nentrance 1 1\nzone NOPE 1 1 cap 2\n"));
+        assertTrue(e.getMessage().contains("Zeile 3"), e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> VenueText.parse("entrance 1 1\n"));
+        assertThrows(IllegalArgumentException.class, () -> VenueText.parse("grid 10 10\nentrance 1 1\nwall 5 5 4 4\n"));
+    }
+
+    @Test
+    void testTextPositionsOutsideTheGridAreRejected() {
+        String head = "grid 10 10\nentrance 1 1\n";
+        for (String line : List.of("zone FOOD 8 8 cap 2 size 3 1", "zone WC -1 2 cap 1", "wall 5 5 5 10",
+                "route LEFT 2 2 rally 10 2", "firestation 12 3")) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> VenueText.parse(head + line + "\n"), line);
+            assertTrue(e.getMessage().startsWith("Zeile 3:") && e.getMessage().contains("außerhalb"), e.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> VenueText.parse("entrance 1 1\ngrid 10 10\n"));
+        assertEquals(1, VenueText.parse(head + "zone FOOD 8 8 cap 2 size 2 2\n").getZones().size());
+    }
+
+    @Test
+    void testBinaryPositionsOutsideTheGridAreRejected(@TempDir Path dir) throws IOException {
+        Path binary = dir.resolve("klein.vbin");
+        VenueBinary.write(VenueText.parse(SMALL), binary);
+        byte[] bytes = Files.readAllBytes(binary);
+        // Höhe (nach Kennung, Version und Breite) auf 5 verkleinern: der Eingang bei y=28 liegt dann außerhalb
+        ByteBuffer.wrap(bytes).putInt(12, 5);
+        Files.write(binary, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> VenueBinary.read(binary));
+        assertTrue(e.getMessage().contains("außerhalb"), e.getMessage());
+    }
+
+    @Test
+    void testBinaryCountsBeyondTheFileAreRejected(@TempDir Path dir) throws IOException {
+        Path binary = dir.resolve("klein.vbin");
+        VenueBinary.write(VenueText.parse(SMALL), binary);
+        byte[] bytes = Files.readAllBytes(binary);
+        // Zonenanzahl hinter Kopf, Eingang und Feuerwache
+        ByteBuffer.wrap(bytes).putInt(33, Integer.MAX_VALUE);
+        Files.write(binary, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> VenueBinary.read(binary));
+        assertTrue(e.getMessage().contains("Bytes übrig"), e.getMessage());
+    }
+
+    @Test
+    void testBinaryRoundTrip(@TempDir Path dir) throws IOException {
+        Path text = dir.resolve("klein.venue");
+        Path binary = dir.resolve("klein.vbin");
+        Files.writeString(text, SMALL);
+        VenueLayout layout = VenueLayout.load(text);
+
+        VenueBinary.write(layout, binary);
+        VenueBinary.write(VenueLayout.standard(), dir.resolve("standard.vbin"));
+
+        assertFalse(VenueBinary.isBinary(text));
+        assertTrue(VenueBinary.isBinary(binary));
+        assertEquals(layout, VenueLayout.load(binary));
+        assertEquals(VenueLayout.standard(), VenueLayout.load(dir.resolve("standard.vbin")));
+    }
+
+    @Test
+    void testTruncatedBinaryIsRejected(@TempDir Path dir) throws IOException {
+        Path binary = dir.resolve("kaputt.vbin");
+        VenueBinary.write(VenueLayout.standard(), binary);
+        byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 7));
+
+        assertThrows(IOException.class, () -> VenueBinary.read(binary));
+    }
+
+    @Test
+    void testEventStartsFromLayout() {
+        EventConfig config = new EventConfig(5, 0, 0);
+        config.setHeadless(true);
+        config.setLayout(VenueText.parse(SMALL));
+        Event event = new Event(1L, config, new DefaultMetricsCollector());
+        event.start();
+
+        assertEquals(40, event.grid.getWidth());
+        assertEquals(3, event.zones.size());
+        assertEquals(2, event.getZoneByType(Zone.ZoneType.FOOD).getCapacity());
+        assertNull(event.getFireStation());
+        assertEquals(1, event.getEmergencyRoutes().getRoutes().size());
+        assertTrue(event.isWall(10, 0));
+        assertTrue(event.isWall(10, 20));
+        assertFalse(event.isWall(10, 21));
+        assertFalse(event.isRestricted(10, 0), "Wände sind keine Sperrzonen");
+
+        event.schedule.step(event);
+        Int2D spawned = event.getPositions().getLocation(event.agents.iterator().next());
+        assertTrue(spawned.distance(new Int2D(20, 28)) < 2, "Besucher erscheinen am Eingang des Layouts: " + spawned);
+    }
+
+    @Test
+    void testNobodyStandsOnWallsAndIncidentsAvoidThem() {
+        EventConfig config = new EventConfig(60, 3, 3);
+        config.setHeadless(true);
+        config.setLayout(VenueText.parse("""
+                grid 40 40
+                entrance 5 35
+                zone FOOD 30 5 cap 4 size 3 3
+                zone WC 30 30 cap 2
+                zone EXIT 5 35 cap unlimited
+                wall 15 0 16 30
+                wall 20 20 39 21
+                """));
+        Event event = new Event(7L, config, new DefaultMetricsCollector());
+        event.start();
+
+        int onWall = 0;
+        for (int tick = 0; tick < 300; tick++) {
+            event.schedule.step(event);
+            for (Agent agent : event.agents) {
+                Int2D pos = event.getPositions().getLocation(agent);
+                if (pos != null && event.isWall(pos.x, pos.y)) {
+                    onWall++;
+                }
+            }
+        }
+        assertEquals(0, onWall, "Agenten-Ticks auf Wandzellen");
+        for (int i = 0; i < 200; i++) {
+            Int2D fire = FireDisturbance.createRandom(event).getPosition();
+            Int2D fight = FightDisturbance.createRandom(event).getPosition();
+            assertFalse(event.isWall(fire.x, fire.y), "Feuer auf Wand: " + fire);
+            assertFalse(event.isWall(fight.x, fight.y), "Schlägerei auf Wand: " + fight);
+        }
+    }
+
+    @Test
+    void testConfigCopySharesLayoutAndKeepsOverrides() {
+        EventConfig config = new EventConfig();
+        VenueLayout layout = VenueText.parse(SMALL);
+        config.setLayout(layout);
+        config.setZoneCapacity(Zone.ZoneType.FOOD, 9);
+
+        EventConfig copy = new EventConfig(config);
+
+        assertSame(layout, copy.getLayout());
+        assertEquals(9, copy.getZoneCapacity(Zone.ZoneType.FOOD, 2));
+        assertEquals(4, copy.getZoneCapacity(Zone.ZoneType.EMERGENCY_EXIT, 4));
+
+        copy.setGridSize(80, 60);
+        assertEquals(80, copy.getLayout().getWidth());
+        assertSame(layout, config.getLayout());
+    }
+
+    @Test
+    void testShrinkingBelowTheLayoutIsRejected() {
+        EventConfig config = new EventConfig();
+        config.setGridSize(50, 50);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, config::getLayout);
+        assertTrue(e.getMessage().contains("passt nicht in 50x50"), e.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchOptions.parse(new String[]{"--grid", "50x50", "--ticks", "10"}));
+
+        VenueLayout small = VenueText.parse(SMALL);
+        assertEquals(39, small.withSize(39, 29).getWidth(), "Alles liegt noch im kleineren Grid");
+        assertThrows(IllegalArgumentException.class, () -> small.withSize(38, 29), "Notausgang bei x=38");
+    }
+}
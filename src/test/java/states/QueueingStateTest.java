@@ -8,6 +8,8 @@ import org.simulation.Event;
 import zones.Zone;
 import sim.util.Int2D;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -95,4 +97,170 @@ public class QueueingStateTest {
         state.act(agent, event);
         assertTrue(agent.isInQueue());
     }
-}
\ No newline at end of file
+
+    private Agent visitor(int x, int y) {
+        Agent a = new Agent();
+        a.setEvent(event);
+        event.grid.setObjectLocation(a, new Int2D(x, y));
+        return a;
+    }
+
+    @Test
+    public void testLaterArrivalsCannotOvertakeTheQueue() {
+        Agent blocker = visitor(5, 5);
+        testZone.enter(blocker);
+        Agent first = visitor(5, 6);
+        Agent second = visitor(5, 7);
+        QueueingState firstState = new QueueingState(first, testZone, new HungryThirstyState(event));
+        QueueingState secondState = new QueueingState(second, testZone, new HungryThirstyState(event));
+        firstState.act(first, event);
+        secondState.act(second, event);
+        assertSame(first, testZone.peekQueue());
+        assertEquals(2, testZone.getQueueLength());
+
+        testZone.leave(blocker);
+        Agent newcomer = visitor(4, 5);
+        assertFalse(newcomer.tryEnterZone(testZone), "Freier Platz gehört dem Kopf der Schlange");
+        assertSame(secondState, secondState.act(second, event), "Der Zweite wartet weiter");
+        assertNotSame(firstState, firstState.act(first, event));
+
+        assertTrue(testZone.contains(first));
+        assertTrue(testZone.covers(event.getPositions().getLocation(first)), "Eingelassene stehen in der Zone");
+        assertSame(second, testZone.peekQueue());
+        assertEquals(2, testZone.getLoad());
+    }
+
+    @Test
+    public void testServiceIntervalSpacesAdmissions() {
+        testZone.setServiceInterval(5);
+        assertTrue(testZone.canServe(10));
+
+        testZone.served(10);
+        assertFalse(testZone.canServe(14));
+        assertTrue(testZone.canServe(15));
+        assertThrows(IllegalArgumentException.class, () -> testZone.setServiceInterval(0));
+    }
+
+    @Test
+    public void testHeadSleepsUntilAPlaceFreesUp() {
+        Agent blocker = visitor(5, 5);
+        testZone.enter(blocker);
+        agent.setStopper(event.schedule.scheduleRepeating(agent));
+        QueueingState state = new QueueingState(agent, testZone, new ExitFinalizedState());
+
+        state.act(agent, event);
+        assertTrue(agent.isSuspended(), "Wartende werden nicht jeden Tick ausgeführt");
+
+        testZone.leave(blocker);
+        assertFalse(agent.isSuspended(), "Die Zone weckt den Kopf der Schlange");
+    }
+
+    @Test
+    public void testQueueWaitIsRecordedOnAdmission() {
+        QueueingState state = new QueueingState(agent, testZone, new HungryThirstyState(event));
+        state.act(agent, event);
+        state.act(agent, event);
+
+        List<Object> waits = event.getCollector().getAllMetrics().get("QueueWait_FOOD");
+        assertEquals(1, waits.size());
+        assertEquals(1L, waits.get(0));
+        assertEquals(-1, agent.getQueueStartTick());
+    }
+
+    @Test
+    public void testPanickedHeadDoesNotBlockTheLine() {
+        Agent blocker = visitor(5, 5);
+        testZone.enter(blocker);
+        Agent head = visitor(5, 6);
+        Agent next = visitor(5, 7);
+        new QueueingState(head, testZone, new HungryThirstyState(event)).act(head, event);
+        QueueingState nextState = new QueueingState(next, testZone, new HungryThirstyState(event));
+        nextState.act(next, event);
+
+        // Reihenfolge wie in den Störungen: erst Panik-Flag, dann Zustandswechsel
+        head.setPanicking(true);
+        head.setCurrentState(new PanicRunState());
+        testZone.leave(blocker);
+
+        assertFalse(head.isInQueue());
+        assertSame(next, testZone.peekQueue());
+        assertEquals(1, testZone.getLoad(), "Nur noch der Zweite zählt zur Last");
+        assertNotSame(nextState, nextState.act(next, event), "Der Zweite rückt nach und wird eingelassen");
+    }
+
+    @Test
+    public void testWaitingSpotsStayInsideTheGrid() {
+        Zone eastExit = new Zone(Zone.ZoneType.EMERGENCY_EXIT, new Int2D(99, 95), 5);
+        for (int slot = 0; slot < 300; slot++) {
+            Int2D spot = QueueingState.spot(eastExit, slot, 100, 100);
+            assertTrue(spot.x >= 0 && spot.x < 100 && spot.y >= 0 && spot.y < 100, "Platz " + slot + ": " + spot);
+            assertFalse(eastExit.covers(spot));
+        }
+        assertEquals(new Int2D(99, 99), QueueingState.spot(eastExit, 3, 100, 100));
+        assertEquals(new Int2D(99, 94), QueueingState.spot(eastExit, 4, 100, 100), "Danach oberhalb der Zone weiter");
+    }
+
+    @Test
+    public void testLineMovesUpWhenTheHeadIsAdmitted() {
+        Agent blocker = visitor(5, 5);
+        testZone.enter(blocker);
+        Agent first = visitor(0, 0);
+        Agent second = visitor(0, 0);
+        QueueingState firstState = new QueueingState(first, testZone, new HungryThirstyState(event));
+        firstState.act(first, event);
+        QueueingState secondState = new QueueingState(second, testZone, new HungryThirstyState(event));
+        secondState.act(second, event);
+        assertEquals(new Int2D(5, 6), event.getPositions().getLocation(first));
+        assertEquals(new Int2D(5, 7), event.getPositions().getLocation(second));
+        assertEquals(1, testZone.queuePlace(second));
+
+        testZone.leave(blocker);
+        firstState.act(first, event);
+        assertEquals(0, testZone.queuePlace(second));
+        assertEquals(new Int2D(5, 7), event.getPositions().getLocation(second), "Umgesetzt wird erst beim Aufwachen");
+        secondState.act(second, event);
+        assertEquals(new Int2D(5, 6), event.getPositions().getLocation(second), "Der Zweite rückt auf");
+
+        Agent third = visitor(0, 0);
+        new QueueingState(third, testZone, new HungryThirstyState(event)).act(third, event);
+        assertEquals(new Int2D(5, 7), event.getPositions().getLocation(third), "Neuer Platz hinter dem letzten Wartenden");
+    }
+
+    @Test
+    public void testNeverServedFreeZoneAdmitsOnTheNextTick() {
+        for (int i = 0; i < 5; i++) {
+            event.schedule.step(event);
+        }
+        long joined = (long) event.schedule.getTime();
+        assertTrue(joined >= 1, "Anstellen nach Tick 0");
+        agent.setCurrentState(new QueueingState(agent, testZone, new HungryThirstyState(event)));
+        agent.setStopper(event.schedule.scheduleRepeating(agent));
+
+        for (int i = 0; i < 20 && !testZone.contains(agent); i++) {
+            event.schedule.step(event);
+        }
+
+        assertTrue(testZone.contains(agent));
+        assertTrue(event.schedule.getTime() - joined <= 2, "Eingelassen nach " + (event.schedule.getTime() - joined));
+        List<Object> waits = event.getCollector().getAllMetrics().get("QueueWait_FOOD");
+        assertEquals(List.of(1L), waits, "Ein Tick Wartezeit, nicht die ganze Geduld");
+    }
+
+    @Test
+    public void testPlaceInLineCountsFromTheCurrentHead() {
+        Agent blocker = visitor(5, 5);
+        testZone.enter(blocker);
+        Agent[] line = new Agent[4];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = visitor(0, 0);
+            new QueueingState(line[i], testZone, new HungryThirstyState(event)).act(line[i], event);
+            assertEquals(i, testZone.queuePlace(line[i]));
+        }
+
+        line[0].setInQueue(false);
+        assertSame(line[1], testZone.peekQueue());
+        assertEquals(2, testZone.queuePlace(line[3]));
+        assertEquals(-1, testZone.queuePlace(line[0]));
+        assertEquals(3, testZone.getQueueLength());
+    }
+}
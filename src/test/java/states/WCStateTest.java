@@ -131,6 +131,59 @@ class WCStateTest {
     }
 
 
+    @Test
+    void testAgentSleepsInZoneUntilWaitTimeEnds() throws Exception {
+        Field enteredZoneField = WCState.class.getDeclaredField("enteredZone");
+        enteredZoneField.setAccessible(true);
+        enteredZoneField.set(state, true);
+        Field waitTimeField = WCState.class.getDeclaredField("waitTime");
+        waitTimeField.setAccessible(true);
+        int waitTime = waitTimeField.getInt(state);
+
+        Field initializedField = WCState.class.getDeclaredField("initialized");
+        initializedField.setAccessible(true);
+        initializedField.set(state, true);
+        wcZone.enter(agent);
+        agent.setCurrentZone(wcZone);
+        agent.setCurrentState(state);
+        event.agents.add(agent);
+        agent.setStopper(event.schedule.scheduleRepeating(agent));
+
+        event.schedule.step(event);
+        assertTrue(agent.isSuspended(), "Agent in der Zone sollte schlafen gelegt werden");
+        double firstAct = event.schedule.getTime();
+
+        while (agent.getCurrentState() == state) {
+            event.schedule.step(event);
+        }
+
+        assertEquals(firstAct + waitTime - 1, event.schedule.getTime(), "Aufwachen genau am Ende der Wartezeit");
+        assertInstanceOf(RoamingState.class, agent.getCurrentState());
+        assertFalse(wcZone.contains(agent));
+    }
+
+    @Test
+    void testStateChangeWakesSuspendedAgent() {
+        event.agents.add(agent);
+        agent.setStopper(event.schedule.scheduleRepeating(agent));
+        event.schedule.step(event);
+        assertTrue(agent.suspendFor(100));
+
+        int[] calls = {0};
+        IStates probe = new IStates() {
+            @Override
+            public IStates act(Agent g, Event e) {
+                calls[0]++;
+                return this;
+            }
+        };
+        agent.setCurrentState(probe);
+        event.schedule.step(event);
+
+        assertFalse(agent.isSuspended());
+        assertEquals(1, calls[0], "Geweckter Agent sollte im nächsten Tick wieder handeln");
+    }
+
     @Test
     void testAgentTrappedInRestrictedArea() {
         // RestrictedArea direkt unter Agent